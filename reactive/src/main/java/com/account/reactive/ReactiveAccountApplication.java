@@ -0,0 +1,20 @@
+package com.account.reactive;
+
+import com.account.config.TransactionIdConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 거래 API(잔액 사용/취소/거래 확인)의 WebFlux + R2DBC 버전
+ * 요청/응답, 검증 규칙(TransactionRules), 거래 id 발급(TransactionIdConfig), 스키마는 서블릿 앱(com.account)과 같다.
+ */
+@SpringBootApplication
+@Import(TransactionIdConfig.class)
+public class ReactiveAccountApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAccountApplication.class, args);
+    }
+
+}
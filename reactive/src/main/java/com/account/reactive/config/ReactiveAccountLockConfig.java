@@ -0,0 +1,32 @@
+package com.account.reactive.config;
+
+import com.account.reactive.service.NoOpReactiveAccountLock;
+import com.account.reactive.service.ReactiveAccountLock;
+import com.account.reactive.service.RedisReactiveAccountLock;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * account.lock.provider 로 계좌 lock 을 고른다. (redis | none)
+ */
+@Configuration
+public class ReactiveAccountLockConfig {
+    @Bean
+    @ConditionalOnProperty(name = "account.lock.provider", havingValue = "redis", matchIfMissing = true)
+    public ReactiveAccountLock redisReactiveAccountLock(
+            RedissonReactiveClient redissonReactiveClient,
+            @Value("${account.lock.wait-millis:5000}") long waitMillis,
+            @Value("${account.lock.lease-millis:10000}") long leaseMillis
+    ) {
+        return new RedisReactiveAccountLock(redissonReactiveClient, waitMillis, leaseMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.lock.provider", havingValue = "none")
+    public ReactiveAccountLock noOpReactiveAccountLock() {
+        return new NoOpReactiveAccountLock();
+    }
+}
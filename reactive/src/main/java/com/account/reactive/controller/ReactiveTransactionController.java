@@ -0,0 +1,74 @@
+package com.account.reactive.controller;
+
+import com.account.dto.CancelBalance;
+import com.account.dto.QueryTransactionResposce;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.reactive.service.ReactiveAccountLock;
+import com.account.reactive.service.ReactiveTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * 잔액 관련 컨트롤러 (com.account.controller.TransactionController 와 같은 요청/응답)
+ * 1. 잔액 사용
+ * 2. 잔액 사용 취소
+ * 3. 거래 확인
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService reactiveTransactionService;
+    private final ReactiveAccountLock reactiveAccountLock;
+
+    @PostMapping("/transaction/use")
+    public Mono<UseBalance.Response> useBalance(
+            @Valid @RequestBody UseBalance.Request request
+    ) {
+        return reactiveAccountLock.withLock(
+                        request.getAccountNumber(),
+                        reactiveTransactionService.useBalance(
+                                        request.getUserId(),
+                                        request.getAccountNumber(),
+                                        request.getAmount())
+                                // lock 을 잡지 못한 경우는 실패 거래로 남기지 않는다. (LockAopAspect 와 같다)
+                                .doOnError(AccountException.class, e -> {
+                                    log.error("Failed to use balance.");
+                                    reactiveTransactionService.recordFailedTransaction(
+                                            USE, request.getAccountNumber(), request.getAmount());
+                                }))
+                .map(UseBalance.Response::from);
+    }
+
+    @PostMapping("/transaction/cancel")
+    public Mono<CancelBalance.Response> cancelBalance(
+            @Valid @RequestBody CancelBalance.Request request
+    ) {
+        return reactiveAccountLock.withLock(
+                        request.getAccountNumber(),
+                        reactiveTransactionService.cancelBalance(
+                                        request.getTransactionId(),
+                                        request.getAccountNumber(),
+                                        request.getAmount())
+                                .doOnError(AccountException.class, e -> {
+                                    log.error("Failed to use balance.");
+                                    reactiveTransactionService.recordFailedTransaction(
+                                            CANCEL, request.getAccountNumber(), request.getAmount());
+                                }))
+                .map(CancelBalance.Response::from);
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public Mono<QueryTransactionResposce> queryTransaction(
+            @PathVariable String transactionId
+    ) {
+        return reactiveTransactionService.queryTransaction(transactionId);
+    }
+}
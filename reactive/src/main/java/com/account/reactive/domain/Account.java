@@ -0,0 +1,37 @@
+package com.account.reactive.domain;
+
+import com.account.type.AccountStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * account 테이블 (com.account.domain.Account 와 같은 컬럼)
+ * 잔액은 AccountRepository 의 조건부 update 로만 바꾼다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account")
+public class Account {
+    @Id
+    private Long id;
+    // 소유주는 id 만 필요하다.
+    private Long accountUserId;
+    private String accountNumber;
+
+    private AccountStatus accountStatus;
+    private Long balance;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+
+    private Long version;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
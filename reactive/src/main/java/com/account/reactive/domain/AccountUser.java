@@ -0,0 +1,22 @@
+package com.account.reactive.domain;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account_user")
+public class AccountUser {
+    @Id
+    private Long id;
+    private String name;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.account.reactive.domain;
+
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * transaction 테이블 (com.account.domain.Transaction 와 같은 컬럼)
+ * id 를 TransactionRepository.nextId 로 미리 채워서 R2dbcEntityTemplate.insert 로 저장한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("transaction")
+public class Transaction {
+    @Id
+    private Long id;
+
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+
+    private Long accountId;
+
+    private Long amount;
+    private Long balanceSnapshot;
+
+    // binary(16), API 에서는 TransactionIdCodec 의 문자열로 바꿔서 쓴다.
+    private byte[] transactionId;
+
+    private LocalDateTime transactedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,77 @@
+package com.account.reactive.exception;
+
+import com.account.dto.ErrorResponse;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+
+import static com.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
+import static com.account.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * com.account.exception.GlobalExceptionHandler 와 같은 에러 응답과 account.errors {errorCode, endpoint}
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler(AccountException.class)
+    public ErrorResponse handleAccountException(AccountException e, ServerWebExchange exchange) {
+        log.error("{} is occurred.", e.getErrorCode());
+
+        return errorResponse(e.getErrorCode(), e.getErrorMessage(), exchange);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ErrorResponse handleDataIntegrityViolationException(
+            DataIntegrityViolationException e, ServerWebExchange exchange) {
+        log.error("DataIntegrityViolationException is occurred.", e);
+
+        return errorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription(), exchange);
+    }
+
+    // @Valid 검증 실패 (서블릿의 MethodArgumentNotValidException)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ErrorResponse handleWebExchangeBindException(
+            WebExchangeBindException e, ServerWebExchange exchange) {
+        log.error("WebExchangeBindException is occurred.", e);
+
+        return errorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription(), exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ErrorResponse handleException(Exception e, ServerWebExchange exchange) {
+        log.error("Exception is occurred.", e);
+
+        return errorResponse(INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.getDescription(), exchange);
+    }
+
+    private ErrorResponse errorResponse(ErrorCode errorCode, String errorMessage, ServerWebExchange exchange) {
+        Counter.builder("account.errors")
+                .tag("errorCode", errorCode.name())
+                .tag("endpoint", endpoint(exchange))
+                .register(meterRegistry)
+                .increment();
+
+        return new ErrorResponse(errorCode, errorMessage);
+    }
+
+    private static String endpoint(ServerWebExchange exchange) {
+        Object handler = exchange.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethod().getName()
+                : "unknown";
+    }
+}
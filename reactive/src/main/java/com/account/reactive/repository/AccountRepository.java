@@ -0,0 +1,31 @@
+package com.account.reactive.repository;
+
+import com.account.reactive.domain.Account;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * com.account.repository.AccountRepository 의 R2DBC 버전 (거래 API 에 필요한 것만)
+ */
+@Repository
+public interface AccountRepository extends ReactiveCrudRepository<Account, Long> {
+    Mono<Account> findByAccountNumber(String accountNumber);
+
+    // 잔액이 충분하고 사용 중인 계좌인 경우에만 차감, 바뀐 row 수를 돌려준다.
+    @Modifying
+    @Query("update account set balance = balance - :amount, version = version + 1, "
+            + "updated_at = current_timestamp "
+            + "where account_number = :accountNumber and balance >= :amount "
+            + "and account_status = 'IN_USE'")
+    Mono<Integer> debitBalance(@Param("accountNumber") String accountNumber, @Param("amount") Long amount);
+
+    @Modifying
+    @Query("update account set balance = balance + :amount, version = version + 1, "
+            + "updated_at = current_timestamp "
+            + "where account_number = :accountNumber")
+    Mono<Integer> creditBalance(@Param("accountNumber") String accountNumber, @Param("amount") Long amount);
+}
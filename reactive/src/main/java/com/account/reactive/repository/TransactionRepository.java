@@ -0,0 +1,35 @@
+package com.account.reactive.repository;
+
+import com.account.dto.QueryTransactionResposce;
+import com.account.reactive.domain.Transaction;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * com.account.repository.TransactionRepository 의 R2DBC 버전 (거래 API 에 필요한 것만)
+ */
+@Repository
+public interface TransactionRepository extends ReactiveCrudRepository<Transaction, Long> {
+    Mono<Transaction> findByTransactionId(byte[] transactionId);
+
+    /**
+     * 거래 조회 응답용 projection (거래와 계좌번호를 join 으로 한 번에 조회)
+     * transaction_id 는 binary 라서 조회하지 않고 호출하는 쪽에서 요청한 id 로 채운다.
+     */
+    @Query("select a.account_number, t.transaction_type, t.transaction_result_type, "
+            + "t.amount, t.transacted_at "
+            + "from transaction t join account a on a.id = t.account_id "
+            + "where t.transaction_id = :transactionId")
+    Mono<QueryTransactionResposce> findResponseByTransactionId(
+            @Param("transactionId") byte[] transactionId);
+
+    /**
+     * 서블릿 앱(Hibernate pooled optimizer)과 같은 transaction_seq 를 쓴다.
+     * Hibernate 는 받은 값 v 로 (v - 50, v] 구간을 쓰고, 여기서는 받은 값 v 하나만 쓰므로 id 가 겹치지 않는다.
+     */
+    @Query("select next value for transaction_seq")
+    Mono<Long> nextId();
+}
@@ -0,0 +1,14 @@
+package com.account.reactive.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 계좌 lock 을 잡지 않는다. (account.lock.provider=none)
+ * 잔액은 조건부 update 라서 lock 없이도 음수가 되지 않는다.
+ */
+public class NoOpReactiveAccountLock implements ReactiveAccountLock {
+    @Override
+    public <T> Mono<T> withLock(String accountNumber, Mono<T> action) {
+        return action;
+    }
+}
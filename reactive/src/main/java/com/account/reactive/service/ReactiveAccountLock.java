@@ -0,0 +1,15 @@
+package com.account.reactive.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 계좌 lock 을 잡은 상태에서 action 을 실행 (com.account.service.AccountLockProvider 의 reactive 버전)
+ * lock 을 기다리는 동안 스레드를 막지 않는다.
+ */
+public interface ReactiveAccountLock {
+    /**
+     * action 이 끝나면(성공, 실패, 취소) lock 을 푼다.
+     * wait 안에 lock 을 잡지 못하면 ACCOUNT_TRANSACTION_LOCK
+     */
+    <T> Mono<T> withLock(String accountNumber, Mono<T> action);
+}
@@ -0,0 +1,154 @@
+package com.account.reactive.service;
+
+import com.account.domain.TransactionIdCodec;
+import com.account.dto.QueryTransactionResposce;
+import com.account.dto.TransactionDto;
+import com.account.exception.AccountException;
+import com.account.reactive.domain.Account;
+import com.account.reactive.domain.Transaction;
+import com.account.reactive.repository.AccountRepository;
+import com.account.reactive.repository.AccountUserRepository;
+import com.account.reactive.repository.TransactionRepository;
+import com.account.service.TransactionIdGenerator;
+import com.account.service.TransactionRules;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * com.account.service.TransactionService 의 잔액 사용/취소/거래 확인을 R2DBC 로 처리
+ * 검증은 TransactionRules, 거래 id 는 TransactionIdGenerator 를 같이 쓰고, 잔액은 조건부 update 로 바꾼다. (account.balance.engine=atomic 과 같다)
+ * 계좌 lock 은 호출하는 쪽(ReactiveAccountLock)에서 잡는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final TransactionIdGenerator transactionIdGenerator;
+
+    @Transactional
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        return accountUserRepository.existsById(userId)
+                .flatMap(exists -> exists
+                        ? findAccount(accountNumber)
+                        : Mono.<Account>error(new AccountException(ErrorCode.USER_NOT_FOUND)))
+                .flatMap(account -> {
+                    TransactionRules.validateUseBalance(
+                            userId, account.getAccountUserId(), account.getAccountStatus());
+
+                    return accountRepository.debitBalance(accountNumber, amount)
+                            .flatMap(updated -> updated == 0
+                                    ? rejectReason(accountNumber)
+                                    : findAccount(accountNumber));
+                })
+                .flatMap(account -> saveTransaction(USE, S, account, amount));
+    }
+
+    @Transactional
+    public Mono<TransactionDto> cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return decodeTransactionId(transactionId)
+                .flatMap(transactionRepository::findByTransactionId)
+                .switchIfEmpty(Mono.error(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)))
+                .flatMap(transaction -> findAccount(accountNumber)
+                        .flatMap(account -> {
+                            TransactionRules.validateCancelBalance(
+                                    transaction.getAccountId(), account.getId(),
+                                    transaction.getAmount(), amount, transaction.getTransactedAt());
+
+                            return accountRepository.creditBalance(accountNumber, amount)
+                                    .flatMap(updated -> updated == 0
+                                            ? Mono.<Account>error(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND))
+                                            : findAccount(accountNumber));
+                        }))
+                .flatMap(account -> saveTransaction(CANCEL, S, account, amount));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<QueryTransactionResposce> queryTransaction(String transactionId) {
+        return decodeTransactionId(transactionId)
+                .flatMap(transactionRepository::findResponseByTransactionId)
+                .doOnNext(response -> response.setTransactionId(TransactionIdCodec.normalize(transactionId)))
+                .switchIfEmpty(Mono.error(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)));
+    }
+
+    /**
+     * 실패 거래를 요청과 따로 저장한다. (응답은 저장을 기다리지 않는다)
+     * 계좌가 없으면 남기지 않는다. (FailedTransactionRecorder 와 같다)
+     */
+    public void recordFailedTransaction(TransactionType transactionType, String accountNumber, Long amount) {
+        accountRepository.findByAccountNumber(accountNumber)
+                .flatMap(account -> saveTransaction(transactionType, F, account, amount))
+                .subscribe(
+                        saved -> {
+                        },
+                        e -> log.error("Failed to record failed transaction of {}", accountNumber, e));
+    }
+
+    // 형식이 맞지 않는 id 는 없는 거래로 본다. (TransactionService.findPending 과 같다)
+    private static Mono<byte[]> decodeTransactionId(String transactionId) {
+        return TransactionIdCodec.isValid(transactionId)
+                ? Mono.just(TransactionIdCodec.decode(transactionId))
+                : Mono.empty();
+    }
+
+    private Mono<Account> findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .switchIfEmpty(Mono.error(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    // 차감하지 못한 이유 (AtomicBalanceEngine 처럼 계좌를 다시 읽어서 판단한다)
+    private Mono<Account> rejectReason(String accountNumber) {
+        return findAccount(accountNumber)
+                .flatMap(account -> Mono.error(new AccountException(
+                        account.getAccountStatus() != AccountStatus.IN_USE
+                                ? ErrorCode.ACCOUNT_ALREADY_UNREGISTERED
+                                : ErrorCode.AMOUNT_EXCEED_BALANCE)));
+    }
+
+    private Mono<TransactionDto> saveTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount
+    ) {
+        String transactionId = transactionIdGenerator.newTransactionId();
+        return transactionRepository.nextId()
+                .flatMap(id -> r2dbcEntityTemplate.insert(Transaction.builder()
+                        .id(id)
+                        .transactionType(transactionType)
+                        .transactionResultType(transactionResultType)
+                        .accountId(account.getId())
+                        .amount(amount)
+                        .balanceSnapshot(account.getBalance())
+                        .transactionId(TransactionIdCodec.decode(transactionId))
+                        .transactedAt(LocalDateTime.now())
+                        .build()))
+                .map(transaction -> TransactionDto.builder()
+                        .accountNumber(account.getAccountNumber())
+                        .transactionType(transaction.getTransactionType())
+                        .transactionResultType(transaction.getTransactionResultType())
+                        .amount(transaction.getAmount())
+                        .balanceSnapshot(transaction.getBalanceSnapshot())
+                        .transactionId(transactionId)
+                        .transactedAt(transaction.getTransactedAt())
+                        .build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.account.reactive.service;
+
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redisson RLockReactive 로 잡는 계좌 lock (RedisLockService 와 같은 key 라서 서블릿 앱과 같은 계좌를 나눠 쓸 수 있다)
+ * reactive 체인은 스레드가 바뀌기 때문에 스레드 id 대신 요청마다 만든 lock id 로 잡고 푼다.
+ */
+@Slf4j
+public class RedisReactiveAccountLock implements ReactiveAccountLock {
+    private final RedissonReactiveClient redissonReactiveClient;
+    private final long waitMillis;
+    private final long leaseMillis;
+
+    public RedisReactiveAccountLock(
+            RedissonReactiveClient redissonReactiveClient, long waitMillis, long leaseMillis
+    ) {
+        this.redissonReactiveClient = redissonReactiveClient;
+        this.waitMillis = waitMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Override
+    public <T> Mono<T> withLock(String accountNumber, Mono<T> action) {
+        return Mono.defer(() -> {
+            RLockReactive lock = redissonReactiveClient.getLock(getLockKey(accountNumber));
+            long lockId = ThreadLocalRandom.current().nextLong();
+
+            // lease 가 없으면(-1) Redisson watchdog 이 lock 을 잡고 있는 동안 계속 연장해준다.
+            Mono<RLockReactive> acquire = lock.tryLock(
+                            waitMillis, leaseMillis > 0 ? leaseMillis : -1L, TimeUnit.MILLISECONDS, lockId)
+                    .flatMap(locked -> {
+                        if (!locked) {
+                            log.error("==========Lock acquisition failed==========");
+                            return Mono.error(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+                        }
+                        return Mono.just(lock);
+                    });
+
+            return Mono.usingWhen(acquire, ignored -> action, acquired -> acquired.unlock(lockId));
+        });
+    }
+
+    private static String getLockKey(String accountNumber) {
+        return "ACLK:" + accountNumber;
+    }
+}
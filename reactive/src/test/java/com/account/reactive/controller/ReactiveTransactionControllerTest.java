@@ -0,0 +1,207 @@
+package com.account.reactive.controller;
+
+import com.account.dto.CancelBalance;
+import com.account.dto.QueryTransactionResposce;
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.reactive.service.ReactiveAccountLock;
+import com.account.reactive.service.ReactiveTransactionService;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactiveTransactionController.class)
+@Import(ReactiveTransactionControllerTest.TestConfig.class)
+class ReactiveTransactionControllerTest {
+    @MockBean
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @MockBean
+    private ReactiveAccountLock reactiveAccountLock;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        given(reactiveAccountLock.withLock(anyString(), any()))
+                .willAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    void successUseBalance() {
+        // given
+        given(reactiveTransactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(Mono.just(transactionDto()));
+
+        // when
+        // then
+        webTestClient.post().uri("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UseBalance.Request(1L, "1111111111", 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo("1234567890")
+                .jsonPath("$.transactionResultType").isEqualTo("S")
+                .jsonPath("$.transactionId").isEqualTo("transactionId")
+                .jsonPath("$.amount").isEqualTo(12345);
+    }
+
+    @Test
+    void failUseBalance() {
+        // given
+        given(reactiveTransactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(Mono.error(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE)));
+
+        // when
+        // then
+        webTestClient.post().uri("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UseBalance.Request(1L, "1111111111", 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("AMOUNT_EXCEED_BALANCE");
+        verify(reactiveTransactionService).recordFailedTransaction(USE, "1111111111", 3000L);
+    }
+
+    @Test
+    void failUseBalance_lock() {
+        // given
+        given(reactiveAccountLock.withLock(anyString(), any()))
+                .willReturn(Mono.error(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK)));
+        given(reactiveTransactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(Mono.just(transactionDto()));
+
+        // when
+        // then
+        webTestClient.post().uri("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UseBalance.Request(1L, "1111111111", 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ACCOUNT_TRANSACTION_LOCK");
+        verify(reactiveTransactionService, never())
+                .recordFailedTransaction(any(), anyString(), anyLong());
+    }
+
+    @Test
+    void invalidUseBalanceRequest() {
+        // given
+        // when
+        // then
+        webTestClient.post().uri("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UseBalance.Request(1L, "111", 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INVALID_REQUEST");
+    }
+
+    @Test
+    void successCancelBalance() {
+        // given
+        given(reactiveTransactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willReturn(Mono.just(transactionDto()));
+
+        // when
+        // then
+        webTestClient.post().uri("/transaction/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CancelBalance.Request("transactionId", "1111111111", 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo("1234567890")
+                .jsonPath("$.transactionId").isEqualTo("transactionId");
+    }
+
+    @Test
+    void failCancelBalance() {
+        // given
+        given(reactiveTransactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willReturn(Mono.error(new AccountException(ErrorCode.CANCEL_MUST_FULLY)));
+
+        // when
+        // then
+        webTestClient.post().uri("/transaction/cancel")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CancelBalance.Request("transactionId", "1111111111", 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("CANCEL_MUST_FULLY");
+        verify(reactiveTransactionService)
+                .recordFailedTransaction(eq(CANCEL), eq("1111111111"), eq(3000L));
+    }
+
+    @Test
+    void successQueryTransaction() {
+        // given
+        given(reactiveTransactionService.queryTransaction(anyString()))
+                .willReturn(Mono.just(QueryTransactionResposce.builder()
+                        .accountNumber("1234567890")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(12345L)
+                        .transactedAt(LocalDateTime.now())
+                        .build()));
+
+        // when
+        // then
+        webTestClient.get().uri("/transaction/transactionId")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo("1234567890")
+                .jsonPath("$.transactionType").isEqualTo("USE")
+                .jsonPath("$.transactionId").isEqualTo("transactionId");
+    }
+
+    private static TransactionDto transactionDto() {
+        return TransactionDto.builder()
+                .accountNumber("1234567890")
+                .transactedAt(LocalDateTime.now())
+                .amount(12345L)
+                .transactionId("transactionId")
+                .transactionResultType(S)
+                .build();
+    }
+}
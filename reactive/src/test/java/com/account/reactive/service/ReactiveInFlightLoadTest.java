@@ -0,0 +1,189 @@
+package com.account.reactive.service;
+
+import com.account.config.TransactionIdConfig;
+import com.account.exception.AccountException;
+import com.account.reactive.config.R2dbcAuditingConfig;
+import com.account.reactive.domain.Account;
+import com.account.reactive.domain.AccountUser;
+import com.account.type.AccountStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WebFlux + R2DBC 에서 동시에 처리 중인 요청마다 드는 스레드, DB 커넥션, heap (./gradlew :reactive:loadTest)
+ * 루트 모듈의 ServletInFlightLoadTest 와 같은 조건(계좌 수, 요청 수, lock 대기)으로 재고 결과를 로그로 비교한다.
+ * 요청을 한 번에 모두 구독하고, 요청마다 lock 대기(Redis 왕복, Mono.delay) 후 useBalance 를 실행한다.
+ * lock 대기는 트랜잭션 밖이라 커넥션을 잡지 않는다.
+ * heap 은 (사용 중인 heap - 시작 전 heap) / 처리 중인 요청 수 의 중앙값이라 아직 수거되지 않은 garbage 가 섞인 근사치다.
+ */
+@Slf4j
+@Tag("load")
+@DataR2dbcTest
+@Import({ReactiveTransactionService.class, R2dbcAuditingConfig.class, TransactionIdConfig.class})
+@TestPropertySource(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-in-flight;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.flyway.url=jdbc:h2:mem:reactive-in-flight;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+})
+class ReactiveInFlightLoadTest {
+    private static final int ACCOUNTS = 200;
+    private static final int REQUESTS = 20_000;
+    private static final long AMOUNT = 100L;
+    private static final long LOCK_ROUND_TRIP_MILLIS = 2L;
+    private static final long SAMPLE_MILLIS = 5L;
+
+    @Autowired
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Test
+    void connectionsAndHeapPerInFlightRequest() throws Exception {
+        // given
+        AccountUser user = r2dbcEntityTemplate.insert(AccountUser.builder()
+                        .id(nextId("account_user_seq"))
+                        .name("Pororo")
+                        .build())
+                .block();
+        List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers.add(r2dbcEntityTemplate.insert(Account.builder()
+                            .id(nextId("account_seq"))
+                            .accountUserId(user.getId())
+                            .accountNumber(String.valueOf(1_000_000_000L + i))
+                            .accountStatus(AccountStatus.IN_USE)
+                            .balance(REQUESTS * AMOUNT)
+                            .registeredAt(LocalDateTime.now())
+                            .version(0L)
+                            .build())
+                    .block()
+                    .getAccountNumber());
+        }
+        ReactiveAccountLock lock = new RemoteLatencyLock();
+        PoolMetrics poolMetrics = ((ConnectionPool) connectionFactory).getMetrics().orElseThrow();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger maxConnections = new AtomicInteger();
+        List<Long> heapPerRequest = new ArrayList<>();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxConnections.accumulateAndGet(poolMetrics.acquiredSize(), Math::max);
+            int current = inFlight.get();
+            if (current > 0 && current >= maxInFlight.get() / 2) {
+                heapPerRequest.add((memory.getHeapMemoryUsage().getUsed() - baselineHeap) / current);
+            }
+        }, 0L, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        LongAdder failed = new LongAdder();
+
+        // when
+        long startedAt = System.nanoTime();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> {
+                    String accountNumber = accountNumbers.get(i % ACCOUNTS);
+                    return lock.withLock(accountNumber,
+                                    reactiveTransactionService.useBalance(user.getId(), accountNumber, AMOUNT))
+                            .doOnSubscribe(subscription ->
+                                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                            .doFinally(signal -> inFlight.decrementAndGet())
+                            .onErrorResume(AccountException.class, e -> {
+                                failed.increment();
+                                return Mono.empty();
+                            });
+                }, REQUESTS)
+                .blockLast(Duration.ofMinutes(1));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+
+        // then
+        Result result = new Result(
+                maxInFlight.get(),
+                threads.getPeakThreadCount() - baselineThreads,
+                maxConnections.get(),
+                median(heapPerRequest) / 1024,
+                failed.sum(),
+                Math.round(REQUESTS / seconds));
+        log.info("reactive : {}", result);
+        assertEquals(0L, result.failed());
+        assertTrue(result.maxConnections() <= poolMetrics.getMaxAllocatedSize());
+        // 처리 중인 요청 수가 스레드 수에 묶이지 않는다. (서블릿은 Tomcat 스레드 수 200 이 상한)
+        assertTrue(result.maxInFlight() > 200);
+        assertTrue(result.peakExtraThreads() < 200);
+    }
+
+    private long nextId(String sequence) {
+        return r2dbcEntityTemplate.getDatabaseClient()
+                .sql("select next value for " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return 0L;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Redis lock 처럼 lock 을 잡기 전에 네트워크 왕복만큼 기다리는 lock (스레드를 막지 않는다)
+     */
+    private static class RemoteLatencyLock implements ReactiveAccountLock {
+        @Override
+        public <T> Mono<T> withLock(String accountNumber, Mono<T> action) {
+            return Mono.delay(Duration.ofMillis(LOCK_ROUND_TRIP_MILLIS))
+                    .then(action);
+        }
+    }
+
+    private record Result(
+            int maxInFlight,
+            int peakExtraThreads,
+            int maxConnections,
+            long heapKbPerInFlight,
+            long failed,
+            long requestsPerSecond
+    ) {
+    }
+}
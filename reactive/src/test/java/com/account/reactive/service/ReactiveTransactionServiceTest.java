@@ -0,0 +1,239 @@
+package com.account.reactive.service;
+
+import com.account.config.TransactionIdConfig;
+import com.account.dto.TransactionDto;
+import com.account.exception.AccountException;
+import com.account.reactive.config.R2dbcAuditingConfig;
+import com.account.reactive.domain.Account;
+import com.account.reactive.domain.AccountUser;
+import com.account.reactive.domain.Transaction;
+import com.account.reactive.repository.AccountRepository;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * Flyway 로 만든 스키마(db/migration)에서 R2DBC 로 잔액 사용/취소/거래 확인
+ */
+@DataR2dbcTest
+@Import({ReactiveTransactionService.class, R2dbcAuditingConfig.class, TransactionIdConfig.class})
+class ReactiveTransactionServiceTest {
+    private static final AtomicLong ACCOUNT_NUMBERS = new AtomicLong(8_000_000_000L);
+
+    @Autowired
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    private AccountUser user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = r2dbcEntityTemplate.insert(AccountUser.builder()
+                        .id(nextId("account_user_seq"))
+                        .name("Pororo")
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build())
+                .block();
+        account = account(AccountStatus.IN_USE, 10_000L);
+    }
+
+    @Test
+    void successUseBalance() {
+        // given
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.useBalance(
+                        user.getId(), account.getAccountNumber(), 1000L))
+                .assertNext(transactionDto -> {
+                    assertEquals(account.getAccountNumber(), transactionDto.getAccountNumber());
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(S, transactionDto.getTransactionResultType());
+                    assertEquals(1000L, transactionDto.getAmount());
+                    assertEquals(9000L, transactionDto.getBalanceSnapshot());
+                })
+                .verifyComplete();
+        assertEquals(9000L, balance());
+    }
+
+    @Test
+    @DisplayName("잔액 부족 - 잔액 사용 실패, 잔액은 그대로")
+    void useBalance_ExceedBalance() {
+        // given
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.useBalance(
+                        user.getId(), account.getAccountNumber(), 20_000L))
+                .verifyErrorSatisfies(e -> assertErrorCode(ErrorCode.AMOUNT_EXCEED_BALANCE, e));
+        assertEquals(10_000L, balance());
+    }
+
+    @Test
+    @DisplayName("계좌 소유주 다름 - 잔액 사용 실패")
+    void useBalance_userUnMatch() {
+        // given
+        AccountUser other = r2dbcEntityTemplate.insert(AccountUser.builder()
+                        .id(nextId("account_user_seq"))
+                        .name("Harry")
+                        .build())
+                .block();
+
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.useBalance(
+                        other.getId(), account.getAccountNumber(), 1000L))
+                .verifyErrorSatisfies(e -> assertErrorCode(ErrorCode.USER_ACCOUNT_UN_MATCH, e));
+    }
+
+    @Test
+    @DisplayName("해지 계좌 - 잔액 사용 실패")
+    void useBalance_AlreadyUnregistered() {
+        // given
+        Account unregistered = account(AccountStatus.UNREGISTERED, 10_000L);
+
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.useBalance(
+                        user.getId(), unregistered.getAccountNumber(), 1000L))
+                .verifyErrorSatisfies(e -> assertErrorCode(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, e));
+    }
+
+    @Test
+    void successCancelBalance() {
+        // given
+        TransactionDto used = reactiveTransactionService.useBalance(
+                user.getId(), account.getAccountNumber(), 1000L).block();
+
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.cancelBalance(
+                        used.getTransactionId(), account.getAccountNumber(), 1000L))
+                .assertNext(transactionDto -> {
+                    assertEquals(CANCEL, transactionDto.getTransactionType());
+                    assertEquals(S, transactionDto.getTransactionResultType());
+                    assertEquals(10_000L, transactionDto.getBalanceSnapshot());
+                })
+                .verifyComplete();
+        assertEquals(10_000L, balance());
+    }
+
+    @Test
+    @DisplayName("부분 취소 - 잔액 사용 취소 실패")
+    void cancelBalance_CancelMustFully() {
+        // given
+        TransactionDto used = reactiveTransactionService.useBalance(
+                user.getId(), account.getAccountNumber(), 1000L).block();
+
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.cancelBalance(
+                        used.getTransactionId(), account.getAccountNumber(), 500L))
+                .verifyErrorSatisfies(e -> assertErrorCode(ErrorCode.CANCEL_MUST_FULLY, e));
+        assertEquals(9000L, balance());
+    }
+
+    @Test
+    void successQueryTransaction() {
+        // given
+        TransactionDto used = reactiveTransactionService.useBalance(
+                user.getId(), account.getAccountNumber(), 1000L).block();
+
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.queryTransaction(used.getTransactionId()))
+                .assertNext(response -> {
+                    assertEquals(account.getAccountNumber(), response.getAccountNumber());
+                    assertEquals(USE, response.getTransactionType());
+                    assertEquals(S, response.getTransactionResultType());
+                    assertEquals(1000L, response.getAmount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("해당 거래 없음 - 거래 확인 실패")
+    void queryTransaction_TransactionNotFound() {
+        // given
+        // when
+        // then
+        StepVerifier.create(reactiveTransactionService.queryTransaction("transactionId"))
+                .verifyErrorSatisfies(e -> assertErrorCode(ErrorCode.TRANSACTION_NOT_FOUND, e));
+    }
+
+    @Test
+    void recordFailedTransaction() {
+        // given
+        // when
+        reactiveTransactionService.recordFailedTransaction(USE, account.getAccountNumber(), 20_000L);
+
+        // then
+        // 응답과 따로 저장하므로 저장될 때까지 기다린다.
+        StepVerifier.create(Mono.defer(() -> r2dbcEntityTemplate.select(Transaction.class)
+                                .matching(query(where("account_id").is(account.getId())))
+                                .first())
+                        .repeatWhenEmpty(10, repeats -> repeats.delayElements(Duration.ofMillis(50))))
+                .assertNext(transaction -> {
+                    assertEquals(F, transaction.getTransactionResultType());
+                    assertEquals(10_000L, transaction.getBalanceSnapshot());
+                })
+                .verifyComplete();
+    }
+
+    private Account account(AccountStatus accountStatus, long balance) {
+        return r2dbcEntityTemplate.insert(Account.builder()
+                        .id(nextId("account_seq"))
+                        .accountUserId(user.getId())
+                        .accountNumber(String.valueOf(ACCOUNT_NUMBERS.incrementAndGet()))
+                        .accountStatus(accountStatus)
+                        .balance(balance)
+                        .registeredAt(LocalDateTime.now())
+                        .version(0L)
+                        .build())
+                .block();
+    }
+
+    private long nextId(String sequence) {
+        return r2dbcEntityTemplate.getDatabaseClient()
+                .sql("select next value for " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private long balance() {
+        return accountRepository.findById(account.getId())
+                .map(Account::getBalance)
+                .block();
+    }
+
+    private static void assertErrorCode(ErrorCode errorCode, Throwable e) {
+        assertEquals(AccountException.class, e.getClass());
+        assertEquals(errorCode, ((AccountException) e).getErrorCode());
+    }
+}
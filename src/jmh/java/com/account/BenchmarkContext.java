@@ -0,0 +1,63 @@
+package com.account;
+
+import com.account.config.BalanceEngineConfig;
+import com.account.config.JpaAuditingConfig;
+import com.account.config.TransactionIdConfig;
+import com.account.config.TransactionWriterConfig;
+import com.account.repository.AccountJdbcRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.service.AccountLookupCache;
+import com.account.service.OptimisticRetryAspect;
+import com.account.service.TransactionService;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 벤치마크용 Spring context
+ * 내장 H2 와 서비스 계층만 띄우고 Redis 는 사용하지 않는다.
+ */
+public final class BenchmarkContext {
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param name       H2 메모리 DB 이름 (벤치마크마다 다르게)
+     * @param properties 추가 설정 (key=value)
+     */
+    public static ConfigurableApplicationContext start(String name, String... properties) {
+        return new SpringApplicationBuilder(Config.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + name + ";LOCK_TIMEOUT=10000",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN"
+                )
+                .properties(properties)
+                .run();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(excludeName = {
+            "org.redisson.spring.starter.RedissonAutoConfiguration",
+            "org.redisson.spring.starter.RedissonAutoConfigurationV2"
+    })
+    @Import({
+            TransactionService.class,
+            TransactionJdbcRepository.class,
+            AccountJdbcRepository.class,
+            AccountLookupCache.class,
+            BalanceEngineConfig.class,
+            OptimisticRetryAspect.class,
+            JpaAuditingConfig.class,
+            TransactionWriterConfig.class,
+            TransactionIdConfig.class
+    })
+    static class Config {
+    }
+}
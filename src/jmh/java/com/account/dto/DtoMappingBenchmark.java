@@ -0,0 +1,67 @@
+package com.account.dto;
+
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.domain.Transaction;
+import com.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * Entity -> Dto -> Response 변환 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    private Account account;
+    private Transaction transaction;
+    private TransactionDto transactionDto;
+
+    @Setup
+    public void setUp() {
+        AccountUser accountUser = AccountUser.builder().name("Pororo").build();
+        accountUser.setId(1L);
+
+        account = Account.builder()
+                .accountUser(accountUser)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .registeredAt(LocalDateTime.now())
+                .build();
+        transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .transactionId("0123456789abcdef0123456789abcdef")
+                .transactedAt(LocalDateTime.now())
+                .build();
+        transactionDto = TransactionDto.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public AccountDto accountDtoFromEntity() {
+        return AccountDto.fromEntity(account);
+    }
+
+    @Benchmark
+    public TransactionDto transactionDtoFromEntity() {
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public UseBalance.Response useBalanceResponseFromDto() {
+        return UseBalance.Response.from(transactionDto);
+    }
+}
@@ -0,0 +1,183 @@
+package com.account.repository;
+
+import com.account.domain.TransactionIdCodec;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌번호 / 거래 id / 계좌별 거래 내역 조회 지연 (./gradlew jmh)
+ * 마이그레이션(db/migration)으로 만든 H2 파일 DB 에 거래 내역을 채워두고 JPA 가 만드는 것과 같은 쿼리를 실행한다.
+ * indexed=false 는 마이그레이션의 unique 제약/인덱스를 지운 상태 (이전 create-drop 스키마와 같음)
+ * 거래 내역은 첫 페이지와 가장 오래된 쪽의 페이지를 비교한다. (keyset 이면 깊이와 상관없이 같아야 한다)
+ * 데이터는 build/jmh-db 에 남겨두고 다음 실행에서 재사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LookupIndexBenchmark {
+    private static final int TRANSACTIONS_PER_ACCOUNT = 100;
+    private static final int SEED_CHUNK = 1_000_000;
+
+    private static final String FIND_ACCOUNT_SQL =
+            "select * from account where account_number = ?";
+    private static final String FIND_TRANSACTION_SQL =
+            "select * from transaction where transaction_id = ?";
+    private static final String FIND_ACCOUNT_TRANSACTIONS_SQL =
+            "select * from transaction where account_id = ? "
+                    + "and transacted_at <= ? and (transacted_at < ? or id < ?) "
+                    + "order by transacted_at desc, id desc limit 20";
+
+    @Param({"10000000"})
+    public long transactions;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private long accounts;
+    private Connection connection;
+    private PreparedStatement findAccount;
+    private PreparedStatement findTransaction;
+    private PreparedStatement findAccountTransactions;
+    private Timestamp firstPage;
+    private Timestamp deepPage;
+
+    @Setup
+    public void setUp() throws SQLException {
+        accounts = Math.max(1, transactions / TRANSACTIONS_PER_ACCOUNT);
+        firstPage = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        // 계좌마다 이보다 오래된 거래가 한 페이지(20건) 정도 남는 위치
+        deepPage = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(accounts * 21));
+        String url = "jdbc:h2:file:" + Path.of("build", "jmh-db", "lookup-" + transactions)
+                .toAbsolutePath();
+
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, "sa", "");
+        seedIfEmpty();
+        if (indexed) {
+            createIndexes();
+        } else {
+            dropIndexes();
+        }
+
+        findAccount = connection.prepareStatement(FIND_ACCOUNT_SQL);
+        findTransaction = connection.prepareStatement(FIND_TRANSACTION_SQL);
+        findAccountTransactions = connection.prepareStatement(FIND_ACCOUNT_TRANSACTIONS_SQL);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long findByAccountNumber() throws SQLException {
+        findAccount.setString(1, String.valueOf(1_000_000_000L + randomAccountId()));
+        return firstId(findAccount);
+    }
+
+    @Benchmark
+    public long findByTransactionId() throws SQLException {
+        long id = ThreadLocalRandom.current().nextLong(1, transactions + 1);
+        findTransaction.setBytes(1, TransactionIdCodec.toBytes(0L, id));
+        return firstId(findTransaction);
+    }
+
+    @Benchmark
+    public long findAccountTransactionsFirstPage() throws SQLException {
+        return findAccountTransactions(firstPage);
+    }
+
+    @Benchmark
+    public long findAccountTransactionsDeepPage() throws SQLException {
+        return findAccountTransactions(deepPage);
+    }
+
+    private long findAccountTransactions(Timestamp cursor) throws SQLException {
+        findAccountTransactions.setLong(1, randomAccountId());
+        findAccountTransactions.setTimestamp(2, cursor);
+        findAccountTransactions.setTimestamp(3, cursor);
+        findAccountTransactions.setLong(4, Long.MAX_VALUE);
+        return firstId(findAccountTransactions);
+    }
+
+    private long randomAccountId() {
+        return ThreadLocalRandom.current().nextLong(1, accounts + 1);
+    }
+
+    private static long firstId(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong("id") : -1L;
+        }
+    }
+
+    private void seedIfEmpty() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from transaction")) {
+            resultSet.next();
+            if (resultSet.getLong(1) >= transactions) {
+                return;
+            }
+        }
+
+        // 이전 실행이 중간에 끊긴 경우를 위해 처음부터 다시 채운다.
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("delete from transaction");
+            statement.execute("delete from account");
+            statement.execute("delete from account_user");
+            statement.execute("insert into account_user (id, name, created_at, updated_at) "
+                    + "values (1, 'bench', now(), now())");
+            statement.execute("insert into account (id, account_user_id, account_number, account_status, "
+                    + "balance, registered_at, created_at, updated_at) "
+                    + "select x, 1, cast(1000000000 + x as varchar), 'IN_USE', 0, now(), now(), now() "
+                    + "from system_range(1, " + accounts + ")");
+
+            // 한 번에 넣으면 undo log 가 커져서 나눠서 넣는다.
+            for (long from = 1; from <= transactions; from += SEED_CHUNK) {
+                long to = Math.min(transactions, from + SEED_CHUNK - 1);
+                statement.execute("insert into transaction (id, transaction_type, transaction_result_type, "
+                        + "account_id, amount, balance_snapshot, transaction_id, transacted_at, "
+                        + "created_at, updated_at) "
+                        + "select x, 'USE', 'S', mod(x, " + accounts + ") + 1, 1000, 0, "
+                        + "X'0000000000000000' || cast(x as varbinary(8)), "
+                        + "dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'), now(), now() "
+                        + "from system_range(" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    private void createIndexes() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table account add constraint if not exists "
+                    + "uk_account_account_number unique (account_number)");
+            statement.execute("create index if not exists idx_account_account_user_status "
+                    + "on account (account_user_id, account_status)");
+            statement.execute("alter table transaction add constraint if not exists "
+                    + "uk_transaction_transaction_id unique (transaction_id)");
+            statement.execute("create index if not exists idx_transaction_account_transacted_at_id "
+                    + "on transaction (account_id, transacted_at desc, id desc)");
+        }
+    }
+
+    private void dropIndexes() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table account drop constraint if exists uk_account_account_number");
+            statement.execute("drop index if exists idx_account_account_user_status");
+            statement.execute("alter table transaction drop constraint if exists uk_transaction_transaction_id");
+            statement.execute("drop index if exists idx_transaction_account_transacted_at_id");
+        }
+    }
+}
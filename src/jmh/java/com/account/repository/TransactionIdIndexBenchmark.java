@@ -0,0 +1,106 @@
+package com.account.repository;
+
+import com.account.domain.TransactionIdCodec;
+import com.account.service.TimeOrderedTransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 id 종류별로 unique 인덱스가 있는 테이블에 1M 건을 넣는 시간과 DB 파일 크기 (./gradlew jmh -PjmhIncludes=TransactionIdIndexBenchmark)
+ * uuid-string 은 이전 방식 (varchar 32자리 hex), uuid-binary 는 같은 난수 UUID 를 binary(16) 로,
+ * time-ordered 는 TimeOrderedTransactionIdGenerator 의 id 를 binary(16) 로 넣는다.
+ * 난수 id 는 인덱스 곳곳에 끼어들고, 시간순 id 는 인덱스 끝에만 붙는다.
+ * fileBytes 는 다 넣은 뒤 H2 파일(build/jmh-db) 크기이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionIdIndexBenchmark {
+    private static final int BATCH = 1_000;
+
+    @Param({"uuid-string", "uuid-binary", "time-ordered"})
+    public String idType;
+
+    @Param({"1000000"})
+    public int transactions;
+
+    private Path file;
+    private Connection connection;
+    private TimeOrderedTransactionIdGenerator timeOrderedGenerator;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IndexCounters {
+        public long inserts;
+        public long fileBytes;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException, IOException {
+        Path dir = Path.of("build", "jmh-db").toAbsolutePath();
+        file = dir.resolve("transaction-id-" + idType + ".mv.db");
+        Files.createDirectories(dir);
+        Files.deleteIfExists(file);
+
+        connection = DriverManager.getConnection(
+                "jdbc:h2:file:" + dir.resolve("transaction-id-" + idType), "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table transaction_id_index ("
+                    + "id bigint not null primary key, "
+                    + "transaction_id " + ("uuid-string".equals(idType) ? "varchar(32)" : "varbinary(16)") + ", "
+                    + "constraint uk_transaction_id_index unique (transaction_id))");
+        }
+        connection.commit();
+        timeOrderedGenerator = new TimeOrderedTransactionIdGenerator(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long insertTransactionIds(IndexCounters counters) throws SQLException, IOException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into transaction_id_index (id, transaction_id) values (?, ?)")) {
+            for (int i = 1; i <= transactions; i++) {
+                insert.setLong(1, i);
+                if ("uuid-string".equals(idType)) {
+                    insert.setString(2, UUID.randomUUID().toString().replace("-", ""));
+                } else {
+                    insert.setBytes(2, transactionId());
+                }
+                insert.addBatch();
+                if (i % BATCH == 0 || i == transactions) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("checkpoint");
+        }
+
+        counters.inserts += transactions;
+        counters.fileBytes = Files.size(file);
+        return counters.inserts;
+    }
+
+    private byte[] transactionId() {
+        if ("time-ordered".equals(idType)) {
+            return TransactionIdCodec.decode(timeOrderedGenerator.newTransactionId());
+        }
+        UUID uuid = UUID.randomUUID();
+        return TransactionIdCodec.toBytes(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+}
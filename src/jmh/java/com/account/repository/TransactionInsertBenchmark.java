@@ -0,0 +1,118 @@
+package com.account.repository;
+
+import com.account.BenchmarkContext;
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.service.TransactionIdGenerator;
+import com.account.type.AccountStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * JPA 로 거래 1M 건을 저장하는 시간과 DB 로 보낸 statement 수 (./gradlew jmh -PjmhIncludes=TransactionInsertBenchmark)
+ * default 는 기본 설정, high-throughput 은 application-high-throughput.yml (JDBC batch + pooled-lo) 이다.
+ * statements 는 Hibernate 가 준비한 JDBC statement 수 (batch 하나 = 1, 시퀀스 조회 포함) 이다.
+ * 로그 비용은 빼고 보기 위해 두 설정 모두 show_sql 은 끈다. (BenchmarkContext)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionInsertBenchmark {
+    private static final int CHUNK = 10_000;
+
+    @Param({"default", "high-throughput"})
+    public String profile;
+
+    @Param({"1000000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionIdGenerator transactionIdGenerator;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private Account account;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class InsertCounters {
+        public long inserts;
+        public long statements;
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("transaction-insert-" + profile,
+                "spring.profiles.active=" + profile,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionIdGenerator = context.getBean(TransactionIdGenerator.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        account = context.getBean(AccountRepository.class).save(Account.builder()
+                .accountUser(context.getBean(AccountUserRepository.class).findById(1L).orElseThrow())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.execute("truncate table transaction");
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insertTransactions(InsertCounters counters) {
+        for (int from = 0; from < transactions; from += CHUNK) {
+            int to = Math.min(transactions, from + CHUNK);
+            List<Transaction> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(Transaction.builder()
+                        .account(account)
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .balanceSnapshot(0L)
+                        .transactionId(transactionIdGenerator.newTransactionId())
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+            }
+            // 트랜잭션 하나에 CHUNK 건, commit 할 때 flush 된다.
+            transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(chunk));
+        }
+
+        counters.inserts += statistics.getEntityInsertCount();
+        counters.statements += statistics.getPrepareStatementCount();
+        return statistics.getEntityInsertCount();
+    }
+}
@@ -0,0 +1,74 @@
+package com.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계좌 lock 획득/해제 지연 비교 : redis, local (./gradlew jmh)
+ * redis 는 -Dredis.address (기본값 redis://localhost:6379) 의 Redis 가 떠 있어야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountLockProviderBenchmark {
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+    private static final long WAIT_MILLIS = 5_000L;
+    private static final long LEASE_MILLIS = 15_000L;
+
+    @Param({"local", "redis"})
+    public String provider;
+
+    private RedissonClient redissonClient;
+    private AccountLockProvider accountLockProvider;
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        // 스레드마다 다른 계좌를 사용해서 경합이 없는 경우를 측정
+        final String accountNumber =
+                String.valueOf(1_000_000_000L + THREAD_SEQUENCE.getAndIncrement());
+    }
+
+    @Setup
+    public void setUp() {
+        if (!"local".equals(provider)) {
+            Config config = new Config();
+            config.useSingleServer()
+                    .setAddress(System.getProperty("redis.address", "redis://localhost:6379"));
+            redissonClient = Redisson.create(config);
+        }
+
+        accountLockProvider = "local".equals(provider)
+                ? new LocalStripedLockProvider(1024)
+                : new RedisLockService(redissonClient, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void uncontended(ThreadAccount threadAccount) {
+        accountLockProvider.accountLock(threadAccount.accountNumber, WAIT_MILLIS, LEASE_MILLIS);
+        accountLockProvider.accountUnLock(threadAccount.accountNumber);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void hotAccount() {
+        accountLockProvider.accountLock("1000000000", WAIT_MILLIS, LEASE_MILLIS);
+        accountLockProvider.accountUnLock("1000000000");
+    }
+}
@@ -0,0 +1,102 @@
+package com.account.service;
+
+import com.account.aop.AccountLock;
+import com.account.dto.UseBalance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AccountLock 이 붙은 메서드 호출 비용
+ * direct 는 aspect 없이 바로 호출한 경우, 나머지는 LockAopAspect 를 거치면서 해당 lock 을 잡는 경우
+ * redis 는 벤치마크 안에서 띄운 내장 Redis 서버를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LockAopAspectBenchmark {
+    @Param({"direct", "none", "local", "redis"})
+    public String provider;
+
+    private RedisServer redisServer;
+    private RedissonClient redissonClient;
+    private LockedTarget target;
+
+    private final UseBalance.Request request =
+            new UseBalance.Request(1L, "1000000000", 1_000L);
+
+    public static class LockedTarget {
+        @AccountLock
+        public long useBalance(UseBalance.Request request) {
+            return request.getAmount();
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        LockedTarget lockedTarget = new LockedTarget();
+        if ("direct".equals(provider)) {
+            target = lockedTarget;
+            return;
+        }
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(lockedTarget);
+        proxyFactory.addAspect(new LockAopAspect(
+                accountLockProvider(),
+                new AdaptiveLockLease(3.0, 500L, 15_000L, 100),
+                new SimpleMeterRegistry(),
+                null
+        ));
+        target = proxyFactory.getProxy();
+    }
+
+    private AccountLockProvider accountLockProvider() throws IOException {
+        switch (provider) {
+            case "none":
+                return new NoOpLockProvider();
+            case "local":
+                return new LocalStripedLockProvider(1024);
+            default:
+                int port = freePort();
+                redisServer = new RedisServer(port);
+                redisServer.start();
+
+                Config config = new Config();
+                config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+                redissonClient = Redisson.create(config);
+                return new RedisLockService(redissonClient, new SimpleMeterRegistry());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Benchmark
+    public long useBalance() {
+        return target.useBalance(request);
+    }
+}
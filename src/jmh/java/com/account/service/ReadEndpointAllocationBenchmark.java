@@ -0,0 +1,136 @@
+package com.account.service;
+
+import com.account.BenchmarkContext;
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.domain.Transaction;
+import com.account.dto.AccountDto;
+import com.account.dto.AccountInfo;
+import com.account.dto.QueryTransactionResposce;
+import com.account.dto.TransactionDto;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionRepository;
+import com.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * 조회 엔드포인트(GET /account, GET /account/{id}, GET /transaction/{id})의 요청당 할당량
+ * entity 는 이전 방식 (entity 조회 후 DTO 두 번 변환), projection 은 지금 방식 (응답 DTO 를 바로 조회) 이다.
+ * 바이트 수는 GC profiler 로 본다. (./gradlew jmh -PjmhIncludes=ReadEndpointAllocationBenchmark -PjmhProfilers=gc)
+ * gc.alloc.rate.norm 이 요청 하나(op)당 할당한 바이트 수다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadEndpointAllocationBenchmark {
+    private static final int ACCOUNTS = 10;
+
+    @Param({"entity", "projection"})
+    public String read;
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+    private AccountUserRepository accountUserRepository;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readOnlyTemplate;
+    private Long userId;
+    private Long accountId;
+    private String transactionId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("read-endpoint-" + read);
+        accountRepository = context.getBean(AccountRepository.class);
+        accountUserRepository = context.getBean(AccountUserRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        readOnlyTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTemplate.setReadOnly(true);
+
+        // data.sql 의 사용자, 사용자당 최대 계좌 수만큼 만든다.
+        AccountUser accountUser = accountUserRepository.findById(1L).orElseThrow();
+        userId = accountUser.getId();
+        Account account = null;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            account = accountRepository.save(Account.builder()
+                    .accountUser(accountUser)
+                    .accountNumber(String.valueOf(1_000_000_000L + i))
+                    .accountStatus(AccountStatus.IN_USE)
+                    .balance(10_000L)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+        }
+        accountId = account.getId();
+        transactionId = transactionRepository.save(Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId(new TimeOrderedTransactionIdGenerator(0).newTransactionId())
+                .transactedAt(LocalDateTime.now())
+                .build()).getTransactionId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AccountInfo> getAccounts() {
+        return readOnlyTemplate.execute(status -> {
+            if ("projection".equals(read)) {
+                return accountRepository.findInfosByAccountUserId(userId);
+            }
+            AccountUser accountUser = accountUserRepository.findById(userId).orElseThrow();
+            return accountRepository.findByAccountUser(accountUser).stream()
+                    .map(AccountDto::fromEntity)
+                    .map(accountDto -> AccountInfo.builder()
+                            .accountNumber(accountDto.getAccountNumber())
+                            .balance(accountDto.getBalance())
+                            .build())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public AccountInfo getAccount() {
+        return readOnlyTemplate.execute(status -> {
+            if ("projection".equals(read)) {
+                return accountRepository.findInfoById(accountId).orElseThrow();
+            }
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            return AccountInfo.builder()
+                    .accountNumber(account.getAccountNumber())
+                    .balance(account.getBalance())
+                    .build();
+        });
+    }
+
+    @Benchmark
+    public QueryTransactionResposce queryTransaction() {
+        return readOnlyTemplate.execute(status -> {
+            if ("projection".equals(read)) {
+                return transactionRepository.findResponseByTransactionId(transactionId).orElseThrow();
+            }
+            Transaction transaction = transactionRepository
+                    .findWithAccountByTransactionId(transactionId).orElseThrow();
+            return QueryTransactionResposce.from(TransactionDto.fromEntity(transaction));
+        });
+    }
+}
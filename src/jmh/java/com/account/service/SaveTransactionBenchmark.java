@@ -0,0 +1,87 @@
+package com.account.service;
+
+import com.account.BenchmarkContext;
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionRepository;
+import com.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * saveAndGetTransaction 을 단계별로 나눠서 측정
+ * 1. 거래 id 생성 (발급 방식별 비교는 TransactionIdBenchmark)
+ * 2. Transaction entity 생성 (거래 id 포함)
+ * 3. 저장까지 (트랜잭션 하나에 한 건)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveTransactionBenchmark {
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionIdGenerator transactionIdGenerator;
+    private TransactionTemplate transactionTemplate;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("save-transaction");
+
+        account = context.getBean(AccountRepository.class).save(Account.builder()
+                .accountUser(context.getBean(AccountUserRepository.class).findById(1L).orElseThrow())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+
+        transactionIdGenerator = context.getBean(TransactionIdGenerator.class);
+        // 프록시를 거치지 않고 package-private 메서드를 바로 호출하기 위해 직접 만든다.
+        transactionService = new TransactionService(
+                context.getBean(TransactionRepository.class),
+                context.getBean(AccountUserRepository.class),
+                context.getBean(AccountRepository.class),
+                context.getBean(AccountLookupCache.class),
+                context.getBean(BalanceEngine.class),
+                context.getBean(TransactionWriter.class),
+                transactionIdGenerator
+        );
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String newTransactionId() {
+        return transactionIdGenerator.newTransactionId();
+    }
+
+    @Benchmark
+    public Transaction buildTransaction() {
+        return transactionService.buildTransaction(USE, S, account, 100L);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Transaction saveAndGetTransaction() {
+        return transactionTemplate.execute(status ->
+                transactionService.saveAndGetTransaction(USE, S, account, 100L));
+    }
+}
@@ -0,0 +1,93 @@
+package com.account.service;
+
+import com.account.BenchmarkContext;
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 장부(account.balance.engine=sharded) 잔액 사용 처리량
+ * 여러 스레드가 계좌를 골라 동시에 잔액을 사용하고, 응답은 저널 fsync 까지 기다린다.
+ * shard 수에 따라 처리량이 늘어나는지 본다. (목표 : 초당 10만 건 이상)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(128)
+@Fork(1)
+public class ShardedLedgerBenchmark {
+    private static final long AMOUNT = 1L;
+
+    @Param({"1", "4", "8"})
+    public int shards;
+
+    @Param({"1024"})
+    public int accounts;
+
+    @Param({"200"})
+    public long maxDelayMicros;
+
+    private Path ledgerDir;
+    private ConfigurableApplicationContext context;
+    private ShardedLedger shardedLedger;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() throws IOException {
+        ledgerDir = Files.createTempDirectory("account-ledger-benchmark");
+        context = BenchmarkContext.start("sharded-ledger-" + shards,
+                "account.balance.engine=sharded",
+                "account.ledger.dir=" + ledgerDir,
+                "account.ledger.shards=" + shards,
+                "account.ledger.group-commit.max-delay-micros=" + maxDelayMicros);
+
+        // data.sql 의 사용자
+        AccountUser accountUser = context.getBean(AccountUserRepository.class).findById(1L).orElseThrow();
+        List<Account> saved = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            saved.add(Account.builder()
+                    .accountUser(accountUser)
+                    .accountNumber(String.valueOf(1_000_000_000L + i))
+                    .accountStatus(AccountStatus.IN_USE)
+                    // 측정 중에 잔액이 모자라지 않도록 넉넉하게
+                    .balance(Long.MAX_VALUE / 2)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+        }
+        accountNumbers = context.getBean(AccountRepository.class).saveAll(saved).stream()
+                .map(Account::getAccountNumber)
+                .toArray(String[]::new);
+        shardedLedger = context.getBean(ShardedLedger.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(ledgerDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Account useBalance() {
+        String accountNumber = accountNumbers[ThreadLocalRandom.current().nextInt(accountNumbers.length)];
+        return shardedLedger.use(accountNumber, AMOUNT);
+    }
+}
@@ -0,0 +1,161 @@
+package com.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 거래 내보내기 처리량(rows/sec)과 최대 heap 사용량 (./gradlew jmh -PjmhIncludes=TransactionExportBenchmark)
+ * 전체 기간을 한 번 내보내는 시간을 재고, rows / peakHeapMb 보조 지표를 같이 남긴다.
+ * heap 을 256MB 로 제한해서 거래 수가 늘어도 메모리가 일정한지 확인한다.
+ * 데이터는 build/jmh-db 에 남겨두고 다음 실행에서 재사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class TransactionExportBenchmark {
+    private static final int TRANSACTIONS_PER_ACCOUNT = 100;
+    private static final int SEED_CHUNK = 1_000_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"50000000"})
+    public long transactions;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"1000"})
+    public int fetchSize;
+
+    private SingleConnectionDataSource dataSource;
+    private TransactionExportService transactionExportService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ExportCounters {
+        public long rows;
+        public long bytes;
+        public double peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void resetPeak() {
+            ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        @TearDown(Level.Iteration)
+        public void recordPeak() {
+            // 각 heap 영역의 최대값 합 (영역마다 최대인 시점이 달라서 실제보다 조금 크게 나온다)
+            peakHeapMb = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                    .sum() / (1024.0 * 1024.0);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // H2 는 LAZY_QUERY_EXECUTION 이 없으면 결과를 전부 만든 다음에 돌려준다.
+        String url = "jdbc:h2:file:" + Path.of("build", "jmh-db", "export-" + transactions)
+                .toAbsolutePath() + ";LAZY_QUERY_EXECUTION=TRUE";
+
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        seedIfEmpty(jdbcTemplate);
+
+        transactionExportService = new TransactionExportService(
+                jdbcTemplate, new ObjectMapper(), fetchSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public long exportAll(ExportCounters counters) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream();
+        long rows;
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(counting, 64 * 1024)) {
+                rows = transactionExportService.exportTransactions(
+                        BASE, BASE.plusSeconds(transactions + 1), out);
+            }
+        } else {
+            rows = transactionExportService.exportTransactions(
+                    BASE, BASE.plusSeconds(transactions + 1), counting);
+        }
+        counters.rows += rows;
+        counters.bytes += counting.count;
+        return rows;
+    }
+
+    private void seedIfEmpty(JdbcTemplate jdbcTemplate) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from transaction", Long.class);
+        if (count != null && count >= transactions) {
+            return;
+        }
+
+        long accounts = Math.max(1, transactions / TRANSACTIONS_PER_ACCOUNT);
+
+        // 이전 실행이 중간에 끊긴 경우를 위해 처음부터 다시 채운다.
+        jdbcTemplate.execute("delete from transaction");
+        jdbcTemplate.execute("delete from account");
+        jdbcTemplate.execute("delete from account_user");
+        jdbcTemplate.execute("insert into account_user (id, name, created_at, updated_at) "
+                + "values (1, 'bench', now(), now())");
+        jdbcTemplate.execute("insert into account (id, account_user_id, account_number, account_status, "
+                + "balance, registered_at, created_at, updated_at) "
+                + "select x, 1, cast(1000000000 + x as varchar), 'IN_USE', 0, now(), now(), now() "
+                + "from system_range(1, " + accounts + ")");
+
+        // 한 번에 넣으면 undo log 가 커져서 나눠서 넣는다.
+        for (long from = 1; from <= transactions; from += SEED_CHUNK) {
+            long to = Math.min(transactions, from + SEED_CHUNK - 1);
+            jdbcTemplate.execute("insert into transaction (id, transaction_type, transaction_result_type, "
+                    + "account_id, amount, balance_snapshot, transaction_id, transacted_at, "
+                    + "created_at, updated_at) "
+                    + "select x, 'USE', 'S', mod(x, " + accounts + ") + 1, 1000, 0, "
+                    + "X'0000000000000000' || cast(x as varbinary(8)), "
+                    + "dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'), now(), now() "
+                    + "from system_range(" + from + ", " + to + ")");
+        }
+    }
+
+    /**
+     * 내용은 버리고 크기만 센다. (디스크/네트워크 대신)
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
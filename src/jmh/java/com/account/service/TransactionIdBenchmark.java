@@ -0,0 +1,44 @@
+package com.account.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 32 스레드에서 거래 id 를 발급하는 처리량 (./gradlew jmh -PjmhIncludes=TransactionIdBenchmark)
+ * uuid-string 은 이전 방식 (UUID.randomUUID().toString().replace("-", ""))
+ * UUID.randomUUID() 는 모든 스레드가 SecureRandom 하나를 같이 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class TransactionIdBenchmark {
+    @Param({"time-ordered", "uuid", "uuid-string"})
+    public String generator;
+
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Setup
+    public void setUp() {
+        switch (generator) {
+            case "time-ordered":
+                transactionIdGenerator = new TimeOrderedTransactionIdGenerator(0);
+                break;
+            case "uuid":
+                transactionIdGenerator = new UuidTransactionIdGenerator();
+                break;
+            default:
+                transactionIdGenerator = () -> UUID.randomUUID().toString().replace("-", "");
+        }
+    }
+
+    @Benchmark
+    public String newTransactionId() {
+        return transactionIdGenerator.newTransactionId();
+    }
+}
@@ -0,0 +1,97 @@
+package com.account.service;
+
+import com.account.BenchmarkContext;
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionRepository;
+import com.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * 거래 내역 저장 처리량 : 요청마다 JPA insert + commit (jpa) vs 저널 group commit (journal)
+ * 요청마다 DB 트랜잭션 하나에 saveAndGetTransaction 한 번을 동시에 실행한다.
+ * journal 은 저널 fsync 까지 기다리고, Transaction 테이블 반영은 applier 가 백그라운드에서 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class TransactionJournalBenchmark {
+    @Param({"jpa", "journal"})
+    public String writer;
+
+    @Param({"64"})
+    public int maxEntries;
+
+    @Param({"1000"})
+    public long maxDelayMicros;
+
+    private Path journalDir;
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionTemplate transactionTemplate;
+    private Account account;
+
+    @Setup
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("account-journal-benchmark");
+        context = BenchmarkContext.start("transaction-journal-" + writer,
+                "account.transaction.writer=" + writer,
+                "account.journal.dir=" + journalDir,
+                "account.journal.group-commit.max-entries=" + maxEntries,
+                "account.journal.group-commit.max-delay-micros=" + maxDelayMicros);
+
+        account = context.getBean(AccountRepository.class).save(Account.builder()
+                .accountUser(context.getBean(AccountUserRepository.class).findById(1L).orElseThrow())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+
+        // 프록시를 거치지 않고 package-private 메서드를 바로 호출하기 위해 직접 만든다.
+        transactionService = new TransactionService(
+                context.getBean(TransactionRepository.class),
+                context.getBean(AccountUserRepository.class),
+                context.getBean(AccountRepository.class),
+                context.getBean(AccountLookupCache.class),
+                context.getBean(BalanceEngine.class),
+                context.getBean(TransactionWriter.class),
+                context.getBean(TransactionIdGenerator.class)
+        );
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(journalDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Transaction saveAndGetTransaction() {
+        return transactionTemplate.execute(status ->
+                transactionService.saveAndGetTransaction(USE, S, account, 100L));
+    }
+}
@@ -0,0 +1,79 @@
+package com.account.service;
+
+import com.account.BenchmarkContext;
+import com.account.domain.Account;
+import com.account.dto.QueryTransactionResposce;
+import com.account.dto.TransactionDto;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionService 잔액 사용/취소/거래 조회 지연 (내장 H2)
+ * 잔액 변경 방식(account.balance.engine)별로 측정한다.
+ * 계좌 lock 은 컨트롤러의 @AccountLock 에서 잡기 때문에 여기서는 포함하지 않는다. (LockAopAspectBenchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    private static final long AMOUNT = 100L;
+
+    @Param({"entity", "atomic", "optimistic"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private Long userId;
+    private String accountNumber;
+    private String transactionId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("transaction-service-" + engine,
+                "account.balance.engine=" + engine);
+        transactionService = context.getBean(TransactionService.class);
+
+        // data.sql 의 사용자
+        userId = 1L;
+        Account account = context.getBean(AccountRepository.class).save(Account.builder()
+                .accountUser(context.getBean(AccountUserRepository.class).findById(userId).orElseThrow())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                // 측정 중에 잔액이 모자라지 않도록 넉넉하게
+                .balance(Long.MAX_VALUE / 2)
+                .registeredAt(LocalDateTime.now())
+                .build());
+        accountNumber = account.getAccountNumber();
+        transactionId = transactionService.useBalance(userId, accountNumber, AMOUNT).getTransactionId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance() {
+        return transactionService.useBalance(userId, accountNumber, AMOUNT);
+    }
+
+    // 같은 거래를 반복해서 취소해도 검증에 걸리지 않는다.
+    @Benchmark
+    public TransactionDto cancelBalance() {
+        return transactionService.cancelBalance(transactionId, accountNumber, AMOUNT);
+    }
+
+    @Benchmark
+    public QueryTransactionResposce queryTransaction() {
+        return transactionService.queryTranscation(transactionId);
+    }
+}
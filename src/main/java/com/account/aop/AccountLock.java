@@ -7,5 +7,14 @@ import java.lang.annotation.*;
 @Documented
 @Inherited
 public @interface AccountLock {
+    // leaseTime 을 이 값으로 두면 관측한 lock 유지 시간(p99)으로 lease 를 정한다.
+    long ADAPTIVE_LEASE = 0L;
+    // leaseTime 을 이 값으로 두면 lease 없이 Redisson watchdog 이 lock 을 연장한다.
+    long WATCHDOG_LEASE = -1L;
+
+    // lock 을 기다리는 최대 시간 (ms)
     long tryLockTime() default 5000L;
+
+    // lock 을 자동으로 해제할 시간 (ms)
+    long leaseTime() default ADAPTIVE_LEASE;
 }
@@ -0,0 +1,14 @@
+package com.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있으면 같은 키로 다시 들어온 요청에 저장해둔 응답을 돌려준다.
+ * 계좌 lock 보다 먼저 실행되어 중복 요청은 lock 과 DB 를 거치지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+}
@@ -0,0 +1,14 @@
+package com.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * account.balance.engine=optimistic 인 경우
+ * 버전 충돌(OptimisticLockingFailureException)이 나면 트랜잭션을 처음부터 다시 실행한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface OptimisticRetry {
+}
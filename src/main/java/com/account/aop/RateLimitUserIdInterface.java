@@ -0,0 +1,5 @@
+package com.account.aop;
+
+public interface RateLimitUserIdInterface {
+    Long getUserId();
+}
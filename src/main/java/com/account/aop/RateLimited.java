@@ -0,0 +1,14 @@
+package com.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * 사용자(userId), 계좌(accountNumber)별 요청 수를 제한한다.
+ * 멱등 처리와 계좌 lock 보다 먼저 실행되어 한도를 넘은 요청은 lock 과 DB 를 거치지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface RateLimited {
+}
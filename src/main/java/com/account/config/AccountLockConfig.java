@@ -0,0 +1,58 @@
+package com.account.config;
+
+import com.account.service.AccountLockProvider;
+import com.account.service.AccountLockQueue;
+import com.account.service.LocalStripedLockProvider;
+import com.account.service.NoOpLockProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 계좌 lock 설정
+ * account.lock.provider 로 LockAopAspect 가 사용할 lock 을 고른다. (redis | local | none)
+ * redis 인 경우에는 RedisLockService 를 그대로 사용한다. 서버가 여러 대면 redis 를 사용한다.
+ * local 은 다른 서버와 배타적이지 않기 때문에 서버 한 대로 운영할 때만 사용한다.
+ * none 은 account.balance.engine 이 atomic, optimistic, sharded 인 경우에만 사용할 수 있다.
+ * account.lock.queue.enabled=true 면 같은 계좌의 요청을 JVM 안에서 줄 세워서 lock 을 한 번 잡고 차례로 실행한다. (기본값 false)
+ */
+@Configuration
+public class AccountLockConfig {
+    @Value("${account.lock.stripes:1024}")
+    private int stripes;
+
+    @Value("${account.balance.engine:entity}")
+    private String balanceEngine;
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "account.lock.provider", havingValue = "local")
+    public AccountLockProvider localStripedLockProvider() {
+        return new LocalStripedLockProvider(stripes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.lock.queue.enabled", havingValue = "true")
+    public AccountLockQueue accountLockQueue(
+            AccountLockProvider accountLockProvider,
+            @Value("${account.lock.queue.max-depth:256}") int maxDepth,
+            @Value("${account.lock.queue.deadline-millis:3000}") long deadlineMillis,
+            @Value("${account.lock.queue.max-combine:32}") int maxCombine
+    ) {
+        return new AccountLockQueue(accountLockProvider, maxDepth, deadlineMillis, maxCombine);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "account.lock.provider", havingValue = "none")
+    public AccountLockProvider noOpLockProvider() {
+        if (!"atomic".equals(balanceEngine) && !"optimistic".equals(balanceEngine)
+                && !"sharded".equals(balanceEngine)) {
+            throw new IllegalStateException(
+                    "account.lock.provider=none requires account.balance.engine=atomic, optimistic or sharded");
+        }
+        return new NoOpLockProvider();
+    }
+}
@@ -0,0 +1,48 @@
+package com.account.config;
+
+import com.account.service.AccountNumberAllocator;
+import com.account.service.AccountNumberBlockSource;
+import com.account.service.BlockAccountNumberAllocator;
+import com.account.service.RedisAccountNumberBlockSource;
+import com.account.service.SequenceAccountNumberBlockSource;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 계좌번호 발급기 설정
+ * account.number.source 로 구간을 임대할 저장소를 고른다. (sequence | redis)
+ * 두 저장소 모두 구간의 시작 offset 을 저장하므로 block-size 를 바꿔도 이미 임대한 구간과 겹치지 않는다.
+ */
+@Configuration
+public class AccountNumberAllocatorConfig {
+    @Value("${account.number.block-size:100}")
+    private int blockSize;
+
+    @Bean
+    @ConditionalOnProperty(name = "account.number.source", havingValue = "sequence", matchIfMissing = true)
+    public AccountNumberBlockSource sequenceAccountNumberBlockSource(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager
+    ) {
+        return new SequenceAccountNumberBlockSource(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.number.source", havingValue = "redis")
+    public AccountNumberBlockSource redisAccountNumberBlockSource(
+            RedissonClient redissonClient,
+            JdbcTemplate jdbcTemplate
+    ) {
+        return new RedisAccountNumberBlockSource(redissonClient, jdbcTemplate);
+    }
+
+    @Bean
+    public AccountNumberAllocator accountNumberAllocator(AccountNumberBlockSource accountNumberBlockSource) {
+        return new BlockAccountNumberAllocator(accountNumberBlockSource, blockSize);
+    }
+}
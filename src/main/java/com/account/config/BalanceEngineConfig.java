@@ -0,0 +1,81 @@
+package com.account.config;
+
+import com.account.repository.AccountJdbcRepository;
+import com.account.repository.AccountRepository;
+import com.account.service.AtomicBalanceEngine;
+import com.account.service.BalanceEngine;
+import com.account.service.EntityBalanceEngine;
+import com.account.service.OptimisticBalanceEngine;
+import com.account.service.ShardedBalanceEngine;
+import com.account.service.ShardedLedger;
+import com.account.service.TransactionJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+/**
+ * 잔액 변경 방식 설정
+ * account.balance.engine 으로 고른다. (entity | atomic | optimistic | sharded)
+ */
+@Configuration
+public class BalanceEngineConfig {
+    @Bean
+    @ConditionalOnProperty(name = "account.balance.engine", havingValue = "entity", matchIfMissing = true)
+    public BalanceEngine entityBalanceEngine(AccountRepository accountRepository) {
+        return new EntityBalanceEngine(accountRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.balance.engine", havingValue = "atomic")
+    public BalanceEngine atomicBalanceEngine(AccountRepository accountRepository) {
+        return new AtomicBalanceEngine(accountRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.balance.engine", havingValue = "optimistic")
+    public BalanceEngine optimisticBalanceEngine(AccountRepository accountRepository) {
+        return new OptimisticBalanceEngine(accountRepository);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "account.balance.engine", havingValue = "sharded")
+    static class ShardedConfig {
+        @Value("${account.ledger.dir:${java.io.tmpdir}/account-ledger}")
+        private Path dir;
+
+        /**
+         * 잔액 저널은 거래 저널(account.transaction.writer=journal)과 따로 두고 빈으로 등록하지 않는다.
+         */
+        @Bean(destroyMethod = "close")
+        public ShardedLedger shardedLedger(
+                AccountRepository accountRepository,
+                AccountJdbcRepository accountJdbcRepository,
+                PlatformTransactionManager transactionManager,
+                MeterRegistry meterRegistry,
+                @Value("${account.ledger.shards:8}") int shards,
+                @Value("${account.ledger.queue-capacity:65536}") int queueCapacity,
+                @Value("${account.ledger.max-batch:1024}") int maxBatch,
+                @Value("${account.ledger.timeout-millis:5000}") long timeoutMillis,
+                @Value("${account.ledger.checkpoint-interval-millis:1000}") long checkpointIntervalMillis,
+                @Value("${account.ledger.segment-bytes:67108864}") int segmentBytes,
+                @Value("${account.ledger.group-commit.max-delay-micros:200}") long maxDelayMicros
+        ) {
+            // shard 마다 한 번에 한 건씩 남기므로 shard 수만큼 모이면 바로 fsync
+            TransactionJournal transactionJournal = new TransactionJournal(
+                    dir, segmentBytes, shards, maxDelayMicros);
+            return new ShardedLedger(transactionJournal, accountRepository::findByAccountNumber,
+                    accountJdbcRepository, transactionManager, meterRegistry, shards, queueCapacity,
+                    maxBatch, timeoutMillis, checkpointIntervalMillis, dir.resolve("checkpoint"));
+        }
+
+        @Bean
+        public BalanceEngine shardedBalanceEngine(ShardedLedger shardedLedger) {
+            return new ShardedBalanceEngine(shardedLedger);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.account.config;
+
+import com.account.type.DelayDistribution;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 장애 주입 설정 (fault-injection 프로필에서만 사용)
+ * endpoints 의 key 는 컨트롤러 메서드 이름 (ex. useBalance, cancelBalance)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "fault-injection")
+public class FaultInjectionProperties {
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private DelayDistribution delay = DelayDistribution.NONE;
+        // FIXED : 지연 시간, UNIFORM : 최소값, EXPONENTIAL : 평균
+        private long delayMillis;
+        // UNIFORM : 최대값, EXPONENTIAL : 상한 (0 이면 상한 없음)
+        private long maxDelayMillis;
+        // 0.0 ~ 1.0 사이의 확률로 INTERNAL_SERVER_ERROR 를 발생
+        private double errorRate;
+        // 실제 처리 시간의 몇 배 동안 lock 을 잡고 있을지 (1.0 이면 그대로)
+        private double lockHoldMultiplier = 1.0;
+    }
+}
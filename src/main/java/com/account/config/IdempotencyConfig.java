@@ -0,0 +1,42 @@
+package com.account.config;
+
+import com.account.service.IdempotencyStore;
+import com.account.service.LocalIdempotencyStore;
+import com.account.service.RedisIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 저장소 설정
+ * account.idempotency.store 로 저장소를 고른다. (redis | local)
+ */
+@Configuration
+public class IdempotencyConfig {
+    @Value("${account.idempotency.ttl-millis:86400000}")
+    private long ttlMillis;
+
+    @Value("${account.idempotency.pending-ttl-millis:30000}")
+    private long pendingTtlMillis;
+
+    @Value("${account.idempotency.maximum-size:1000000}")
+    private long maximumSize;
+
+    @Bean
+    @ConditionalOnProperty(name = "account.idempotency.store", havingValue = "redis", matchIfMissing = true)
+    public IdempotencyStore redisIdempotencyStore(RedissonClient redissonClient, ObjectMapper objectMapper) {
+        return new RedisIdempotencyStore(redissonClient, objectMapper,
+                Duration.ofMillis(ttlMillis), Duration.ofMillis(pendingTtlMillis));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.idempotency.store", havingValue = "local")
+    public IdempotencyStore localIdempotencyStore() {
+        return new LocalIdempotencyStore(maximumSize, Duration.ofMillis(ttlMillis));
+    }
+}
@@ -0,0 +1,53 @@
+package com.account.config;
+
+import com.account.service.HybridRateLimiter;
+import com.account.service.LocalTokenBucketRateLimiter;
+import com.account.service.RedisRateLimiter;
+import com.account.service.RequestRateLimiter;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 요청 한도 설정
+ * account.rate-limit.provider 로 RateLimitAspect 가 사용할 한도 저장소를 고른다. (local | redis | hybrid | none)
+ * 기본값은 none (한도 없음), local 은 서버마다 한도를 따로 센다.
+ * 서버 여러 대의 전체 한도를 지키려면 hybrid (로컬에서 먼저 거르고 Redis 에서 전체 한도 확인)
+ */
+@Configuration
+public class RateLimitConfig {
+    @Value("${account.rate-limit.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${account.rate-limit.ttl-millis:60000}")
+    private long ttlMillis;
+
+    @Bean
+    @ConditionalOnProperty(name = "account.rate-limit.provider", havingValue = "local")
+    public RequestRateLimiter localTokenBucketRateLimiter() {
+        return localRateLimiter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.rate-limit.provider", havingValue = "redis")
+    public RequestRateLimiter redisRateLimiter(RedissonClient redissonClient) {
+        return new RedisRateLimiter(redissonClient, maximumSize, Duration.ofMillis(ttlMillis));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.rate-limit.provider", havingValue = "hybrid")
+    public RequestRateLimiter hybridRateLimiter(RedissonClient redissonClient) {
+        return new HybridRateLimiter(
+                localRateLimiter(),
+                new RedisRateLimiter(redissonClient, maximumSize, Duration.ofMillis(ttlMillis))
+        );
+    }
+
+    private LocalTokenBucketRateLimiter localRateLimiter() {
+        return new LocalTokenBucketRateLimiter(maximumSize, Duration.ofMillis(ttlMillis));
+    }
+}
@@ -13,10 +13,14 @@ public class RedissonConfig {
     private String redisHost;
     @Value("${spring.data.redis.port}")
     private String redisPort;
+    @Value("${account.lock.watchdog-timeout-millis:10000}")
+    private long lockWatchdogTimeout;
 
     @Bean
     public RedissonClient redissonClient() {
         Config config = new Config();
+        // lease 없이 잡은 lock 은 이 시간의 1/3 마다 연장되고, 서버가 죽으면 이 시간 뒤에 풀린다.
+        config.setLockWatchdogTimeout(lockWatchdogTimeout);
         config.useSingleServer()
                 .setAddress("redis://" + redisHost + ":" + redisPort);
         return Redisson.create(config);
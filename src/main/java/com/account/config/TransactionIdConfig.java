@@ -0,0 +1,32 @@
+package com.account.config;
+
+import com.account.service.TimeOrderedTransactionIdGenerator;
+import com.account.service.TransactionIdGenerator;
+import com.account.service.UuidTransactionIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 거래 id 발급 방식 설정
+ * account.transaction-id.generator 로 고른다. (time-ordered | uuid)
+ */
+@Configuration
+public class TransactionIdConfig {
+    @Bean
+    @ConditionalOnProperty(name = "account.transaction-id.generator", havingValue = "time-ordered",
+            matchIfMissing = true)
+    public TransactionIdGenerator timeOrderedTransactionIdGenerator(
+            @Value("${account.transaction-id.node-id:-1}") int nodeId
+    ) {
+        return new TimeOrderedTransactionIdGenerator(
+                nodeId >= 0 ? nodeId : TimeOrderedTransactionIdGenerator.defaultNodeId());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.transaction-id.generator", havingValue = "uuid")
+    public TransactionIdGenerator uuidTransactionIdGenerator() {
+        return new UuidTransactionIdGenerator();
+    }
+}
@@ -0,0 +1,76 @@
+package com.account.config;
+
+import com.account.repository.TransactionJdbcRepository;
+import com.account.repository.TransactionRepository;
+import com.account.service.JournalTransactionWriter;
+import com.account.service.JpaTransactionWriter;
+import com.account.service.TransactionJournal;
+import com.account.service.TransactionJournalApplier;
+import com.account.service.TransactionWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+/**
+ * 거래 내역 저장 방식 설정
+ * account.transaction.writer 로 고른다. (jpa | journal)
+ */
+@Configuration
+public class TransactionWriterConfig {
+    @Bean
+    @ConditionalOnProperty(name = "account.transaction.writer", havingValue = "jpa", matchIfMissing = true)
+    public TransactionWriter jpaTransactionWriter(
+            TransactionRepository transactionRepository,
+            TransactionJdbcRepository transactionJdbcRepository
+    ) {
+        return new JpaTransactionWriter(transactionRepository, transactionJdbcRepository);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "account.transaction.writer", havingValue = "journal")
+    static class JournalConfig {
+        @Value("${account.journal.dir:${java.io.tmpdir}/account-journal}")
+        private Path dir;
+
+        @Bean(destroyMethod = "close")
+        public TransactionJournal transactionJournal(
+                MeterRegistry meterRegistry,
+                @Value("${account.journal.segment-bytes:67108864}") int segmentBytes,
+                @Value("${account.journal.group-commit.max-entries:64}") int maxEntries,
+                @Value("${account.journal.group-commit.max-delay-micros:1000}") long maxDelayMicros
+        ) {
+            TransactionJournal transactionJournal = new TransactionJournal(
+                    dir, segmentBytes, maxEntries, maxDelayMicros);
+            FunctionCounter.builder("account.journal.syncs", transactionJournal, TransactionJournal::syncCount)
+                    .register(meterRegistry);
+            return transactionJournal;
+        }
+
+        @Bean
+        public TransactionJournalApplier transactionJournalApplier(
+                TransactionJournal transactionJournal,
+                TransactionJdbcRepository transactionJdbcRepository,
+                PlatformTransactionManager transactionManager,
+                MeterRegistry meterRegistry,
+                @Value("${account.journal.apply.batch-size:1000}") int batchSize,
+                @Value("${account.journal.apply.interval-millis:100}") long intervalMillis
+        ) {
+            return new TransactionJournalApplier(transactionJournal, transactionJdbcRepository,
+                    transactionManager, meterRegistry, batchSize, intervalMillis, dir.resolve("checkpoint"));
+        }
+
+        @Bean
+        public TransactionWriter journalTransactionWriter(
+                TransactionJournal transactionJournal,
+                TransactionJournalApplier transactionJournalApplier
+        ) {
+            return new JournalTransactionWriter(transactionJournal, transactionJournalApplier);
+        }
+    }
+}
@@ -1,35 +1,65 @@
 package com.account.controller;
 
 import com.account.aop.AccountLock;
+import com.account.aop.Idempotent;
+import com.account.aop.RateLimited;
 import com.account.dto.CancelBalance;
 import com.account.dto.QueryTransactionResposce;
+import com.account.dto.TransactionHistory;
 import com.account.dto.UseBalance;
+import com.account.dto.UseBalanceBatch;
 import com.account.exception.AccountException;
+import com.account.service.FailedTransactionRecorder;
+import com.account.service.TransactionBatchService;
+import com.account.service.TransactionExportService;
 import com.account.service.TransactionService;
+import com.account.type.ErrorCode;
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
 
 /**
  * 잔액 관련 컨트롤러
  * 1. 잔액 사용
- * 2. 잔액 사용 취소
- * 3. 거래 확인
+ * 2. 잔액 사용 (일괄)
+ * 3. 잔액 사용 취소
+ * 4. 거래 확인
+ * 5. 계좌별 거래 내역
+ * 6. 기간별 거래 내보내기 (정산)
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionExportService transactionExportService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
 
     @PostMapping("/transaction/use")
+    @RateLimited
+    @Idempotent
     @AccountLock
     public UseBalance.Response useBalance(
             @Valid @RequestBody UseBalance.Request request
-    ) throws InterruptedException {
+    ) {
         try {
-            Thread.sleep(3000L);
             return UseBalance.Response.from(transactionService.useBalance(
                     request.getUserId(),
                     request.getAccountNumber(),
@@ -38,7 +68,9 @@ public class TransactionController {
         } catch (AccountException e) {
             log.error("Failed to use balance.");
 
-            transactionService.saveFailedUseTransaction(
+            // 실패 기록은 백그라운드에서 저장해서 에러 응답과 lock 해제가 DB 를 기다리지 않는다.
+            failedTransactionRecorder.record(
+                    USE,
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -47,7 +79,22 @@ public class TransactionController {
         }
     }
 
+    /**
+     * 여러 건의 잔액 사용을 한 번에 처리
+     * 계좌별로 lock 을 한 번씩만 잡기 때문에 @AccountLock 을 달지 않는다.
+     */
+    @PostMapping("/transaction/use/batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @Valid @RequestBody UseBalanceBatch.Request request
+    ) {
+        return UseBalanceBatch.Response.from(
+                transactionBatchService.useBalanceBatch(request.getItems())
+        );
+    }
+
     @PostMapping("/transaction/cancel")
+    @RateLimited
+    @Idempotent
     @AccountLock
     public CancelBalance.Response cancelBalance(
             @Valid @RequestBody CancelBalance.Request request
@@ -61,7 +108,8 @@ public class TransactionController {
         } catch (AccountException e) {
             log.error("Failed to use balance.");
 
-            transactionService.saveFailedCancelTransaction(
+            failedTransactionRecorder.record(
+                    CANCEL,
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -74,8 +122,51 @@ public class TransactionController {
     public QueryTransactionResposce queryTransaction(
             @PathVariable String transactionId
     ) {
-        return QueryTransactionResposce.from(
-                transactionService.queryTranscation(transactionId)
+        return transactionService.queryTranscation(transactionId);
+    }
+
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "transaction_type", required = false) TransactionType transactionType,
+            @RequestParam(value = "transaction_result_type", required = false)
+            TransactionResultType transactionResultType,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return transactionService.getTransactionHistory(
+                accountNumber, transactionType, transactionResultType, cursor, size
         );
     }
+
+    /**
+     * [from, to) 기간의 거래를 NDJSON 으로 내보낸다. (gzip=true 면 gzip 으로 압축)
+     * 응답은 별도 스레드에서 스트림으로 쓰기 때문에 거래 수와 상관없이 메모리를 일정하게 사용한다.
+     */
+    @GetMapping("/transaction/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        if (!from.isBefore(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    transactionExportService.exportTransactions(from, to, gzipOut);
+                }
+            } else {
+                transactionExportService.exportTransactions(from, to, out);
+            }
+        });
+    }
 }
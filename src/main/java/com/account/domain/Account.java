@@ -3,10 +3,7 @@ package com.account.domain;
 import com.account.exception.AccountException;
 import com.account.type.AccountStatus;
 import com.account.type.ErrorCode;
-import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -17,8 +14,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_account_account_number", columnNames = "account_number"),
+        indexes = @Index(
+                name = "idx_account_account_user_status", columnList = "account_user_id, account_status")
+)
 public class Account extends BaseEntity {
-    @ManyToOne
+    // 소유주 id 만 필요한 경우가 대부분이라 지연 로딩 (프록시의 getId() 는 조회하지 않는다)
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
     private String accountNumber;
 
@@ -29,6 +33,10 @@ public class Account extends BaseEntity {
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
+    // 낙관적 lock 모드(account.balance.engine=optimistic)에서 충돌 확인용
+    @Version
+    private Long version;
+
     public void useBalance(Long amount) {
         if (amount > balance) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
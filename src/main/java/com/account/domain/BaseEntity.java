@@ -2,6 +2,7 @@ package com.account.domain;
 
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.*;
@@ -19,8 +20,10 @@ import java.time.LocalDateTime;
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
+    // 엔티티별 시퀀스(<table>_seq, increment 50)에서 50개씩 받아서 insert 마다 시퀀스를 조회하지 않는다.
+    // 받은 값을 어떻게 쓰는지(pooled | pooled-lo)는 hibernate.id.optimizer.pooled.preferred 로 정한다.
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreatedDate
@@ -2,10 +2,7 @@ package com.account.domain;
 
 import com.account.type.TransactionResultType;
 import com.account.type.TransactionType;
-import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -16,18 +13,28 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_transaction_transaction_id", columnNames = "transaction_id"),
+        indexes = @Index(
+                name = "idx_transaction_account_transacted_at_id",
+                columnList = "account_id, transacted_at desc, id desc")
+)
 public class Transaction extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne
+    // 계좌 정보가 필요하면 TransactionRepository.findWithAccountByTransactionId 로 함께 조회한다.
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
 
     private Long amount;
     private Long balanceSnapshot;
 
+    // DB 에는 16 byte 로 저장한다. (TransactionIdCodec)
+    @Convert(converter = TransactionIdConverter.class)
     private String transactionId;
 
     private LocalDateTime transactedAt;
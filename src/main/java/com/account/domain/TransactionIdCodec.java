@@ -0,0 +1,144 @@
+package com.account.domain;
+
+import java.util.Arrays;
+
+/**
+ * 거래 id 의 문자열 <-> 16 byte 변환
+ * DB(transaction.transaction_id)에는 16 byte 로 저장하고, API 와 코드에서는 26자 Crockford base32 문자열로 쓴다. (ULID 와 같은 표기)
+ * 앞 byte 가 큰 값일수록 문자열도 사전순으로 뒤라서 시간순 id 는 문자열로도 시간순이다.
+ * 이전에 발급한 32자리 hex(UUID 에서 '-' 를 뺀 값)도 같은 16 byte 로 읽는다.
+ */
+public final class TransactionIdCodec {
+    public static final int BYTES = 16;
+    public static final int LENGTH = 26;
+    private static final int LEGACY_LENGTH = 32;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = (byte) i;
+            DIGITS[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+    }
+
+    private TransactionIdCodec() {
+    }
+
+    /**
+     * 128 bit 값(상위 msb, 하위 lsb)을 26자로 쓴다. (상위 2 bit 는 0 으로 채운 130 bit 를 5 bit 씩)
+     */
+    public static String encode(long msb, long lsb) {
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            chars[i] = ALPHABET[fiveBits(msb, lsb, 125 - 5 * i)];
+        }
+        return new String(chars);
+    }
+
+    public static String encode(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("transaction id must be " + BYTES + " bytes : " + bytes.length);
+        }
+        return encode(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 26자 base32 나 32자리 hex 가 아닌 경우
+     */
+    public static byte[] decode(String transactionId) {
+        byte[] bytes = decodeOrNull(transactionId);
+        if (bytes == null) {
+            throw new IllegalArgumentException("Invalid transaction id : " + transactionId);
+        }
+        return bytes;
+    }
+
+    public static boolean isValid(String transactionId) {
+        return decodeOrNull(transactionId) != null;
+    }
+
+    /**
+     * 앞뒤 표기가 달라도(소문자, 이전 hex) 같은 id 면 같은 문자열로 바꾼다.
+     */
+    public static String normalize(String transactionId) {
+        return encode(decode(transactionId));
+    }
+
+    public static byte[] toBytes(long msb, long lsb) {
+        byte[] bytes = new byte[BYTES];
+        writeLong(bytes, 0, msb);
+        writeLong(bytes, 8, lsb);
+        return bytes;
+    }
+
+    private static byte[] decodeOrNull(String transactionId) {
+        if (transactionId == null) {
+            return null;
+        }
+        if (transactionId.length() == LENGTH) {
+            return decodeBase32(transactionId);
+        }
+        if (transactionId.length() == LEGACY_LENGTH) {
+            return decodeHex(transactionId);
+        }
+        return null;
+    }
+
+    private static byte[] decodeBase32(String transactionId) {
+        long msb = 0L;
+        long lsb = 0L;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = transactionId.charAt(i);
+            int digit = c < DIGITS.length ? DIGITS[c] : -1;
+            // 첫 글자는 상위 3 bit 만 쓴다. (128 bit 를 넘는 값)
+            if (digit < 0 || (i == 0 && digit > 7)) {
+                return null;
+            }
+            msb = (msb << 5) | (lsb >>> 59);
+            lsb = (lsb << 5) | digit;
+        }
+        return toBytes(msb, lsb);
+    }
+
+    private static byte[] decodeHex(String transactionId) {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            int high = Character.digit(transactionId.charAt(2 * i), 16);
+            int low = Character.digit(transactionId.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    // 128 bit 값에서 shift 번째 bit 부터 5 bit
+    private static int fiveBits(long msb, long lsb, int shift) {
+        if (shift >= Long.SIZE) {
+            return (int) (msb >>> (shift - Long.SIZE)) & 31;
+        }
+        if (shift > Long.SIZE - 5) {
+            return (int) ((msb << (Long.SIZE - shift)) | (lsb >>> shift)) & 31;
+        }
+        return (int) (lsb >>> shift) & 31;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0L;
+        for (int i = offset; i < offset + Long.BYTES; i++) {
+            value = (value << 8) | (bytes[i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = offset + Long.BYTES - 1; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.account.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Transaction.transactionId (문자열) <-> transaction_id 컬럼 (16 byte)
+ * JPQL 의 transactionId 비교 파라미터에도 적용된다.
+ */
+@Converter
+public class TransactionIdConverter implements AttributeConverter<String, byte[]> {
+    @Override
+    public byte[] convertToDatabaseColumn(String transactionId) {
+        return transactionId == null ? null : TransactionIdCodec.decode(transactionId);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : TransactionIdCodec.encode(bytes);
+    }
+}
@@ -0,0 +1,14 @@
+package com.account.dto;
+
+import com.account.type.AccountStatus;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class AccountSnapshot {
+    // 잔액 사용 검증에 필요한 계좌 정보 (잔액은 포함하지 않는다)
+    private Long accountId;
+    private Long ownerId;
+    private AccountStatus accountStatus;
+}
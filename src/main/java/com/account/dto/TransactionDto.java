@@ -1,6 +1,7 @@
 package com.account.dto;
 
 import com.account.domain.Transaction;
+import com.account.type.ErrorCode;
 import com.account.type.TransactionResultType;
 import com.account.type.TransactionType;
 import lombok.*;
@@ -21,6 +22,8 @@ public class TransactionDto {
     private Long balanceSnapshot;
     private String transactionId;
     private LocalDateTime transactedAt;
+    // 일괄 처리에서 실패한 건의 사유
+    private ErrorCode errorCode;
 
     // Dto 는 Entity 를 통해서 만들어지는 경우가 가장 많아서
     // 이렇게 static 메소드로 Entity 에서 Dto 로 변해준다.
@@ -0,0 +1,21 @@
+package com.account.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+public class TransactionHistory {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        // 최근 거래부터
+        private List<TransactionSummary> transactions;
+        // 다음 페이지 조회에 넘겨줄 값, 마지막 페이지면 null
+        private String nextCursor;
+    }
+}
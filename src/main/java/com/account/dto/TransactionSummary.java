@@ -0,0 +1,24 @@
+package com.account.dto;
+
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class TransactionSummary {
+    // 거래 내역 조회용 projection, Account entity 를 읽지 않는다.
+    // id 는 다음 페이지 cursor 를 만들 때만 사용한다.
+    @JsonIgnore
+    private Long id;
+    private String transactionId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+}
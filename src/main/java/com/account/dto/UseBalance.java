@@ -1,6 +1,7 @@
 package com.account.dto;
 
 import com.account.aop.AccountLockIdInterface;
+import com.account.aop.RateLimitUserIdInterface;
 import com.account.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,7 +13,7 @@ public class UseBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockIdInterface {
+    public static class Request implements AccountLockIdInterface, RateLimitUserIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
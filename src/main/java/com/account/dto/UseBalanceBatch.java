@@ -0,0 +1,72 @@
+package com.account.dto;
+
+import com.account.type.ErrorCode;
+import com.account.type.TransactionResultType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UseBalanceBatch {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 1000)
+        private List<@Valid UseBalance.Request> items;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        // 요청한 순서와 같은 순서로 건별 결과를 돌려준다.
+        private List<Item> items;
+
+        public static Response from(List<TransactionDto> transactionDtos) {
+            return Response.builder()
+                    .items(transactionDtos.stream()
+                            .map(Item::from)
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String accountNumber;
+        private TransactionResultType transactionResultType;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        // 실패한 경우에만 값이 있다.
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Item from(TransactionDto transactionDto) {
+            ErrorCode errorCode = transactionDto.getErrorCode();
+            return Item.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResultType(transactionDto.getTransactionResultType())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .errorCode(errorCode)
+                    .errorMessage(errorCode == null ? null : errorCode.getDescription())
+                    .build();
+        }
+    }
+}
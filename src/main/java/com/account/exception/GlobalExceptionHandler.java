@@ -1,50 +1,76 @@
 package com.account.exception;
 
 import com.account.dto.ErrorResponse;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 
 import static com.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
 import static com.account.type.ErrorCode.INVALID_REQUEST;
 
+/**
+ * 응답한 ErrorCode 는 account.errors {errorCode, endpoint} 로 센다.
+ */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final MeterRegistry meterRegistry;
 
     @ExceptionHandler(AccountException.class)
-    public ErrorResponse handleAccountException(AccountException e) {
+    public ErrorResponse handleAccountException(AccountException e, HttpServletRequest request) {
         log.error("{} is occurred.", e.getErrorCode());
 
-        return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
+        return errorResponse(e.getErrorCode(), e.getErrorMessage(), request);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+    public ErrorResponse handleDataIntegrityViolationException(
+            DataIntegrityViolationException e, HttpServletRequest request) {
         log.error("DataIntegrityViolationException is occurred.", e);
 
-        return new ErrorResponse(
-                INVALID_REQUEST, INVALID_REQUEST.getDescription()
-        );
+        return errorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription(), request);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+    public ErrorResponse handleMethodArgumentNotValidException(
+            MethodArgumentNotValidException e, HttpServletRequest request) {
         log.error("MethodArgumentNotValidException is occurred.", e);
 
-        return new ErrorResponse(
-                INVALID_REQUEST, INVALID_REQUEST.getDescription()
-        );
+        return errorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription(), request);
     }
 
     @ExceptionHandler(Exception.class)
-    public ErrorResponse handleException(Exception e) {
+    public ErrorResponse handleException(Exception e, HttpServletRequest request) {
         log.error("Exception is occurred.", e);
 
-        return new ErrorResponse(
-                INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.getDescription()
-        );
+        return errorResponse(INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.getDescription(), request);
+    }
+
+    private ErrorResponse errorResponse(ErrorCode errorCode, String errorMessage, HttpServletRequest request) {
+        Counter.builder("account.errors")
+                .tag("errorCode", errorCode.name())
+                .tag("endpoint", endpoint(request))
+                .register(meterRegistry)
+                .increment();
+
+        return new ErrorResponse(errorCode, errorMessage);
+    }
+
+    // 컨트롤러 메서드 이름 (LockAopAspect, ServiceMetricsAspect 의 endpoint 와 같은 값)
+    private static String endpoint(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethod().getName()
+                : "unknown";
     }
 }
@@ -0,0 +1,41 @@
+package com.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 계좌 잔액을 JDBC batch update 로 저장 (account.balance.engine=sharded 의 checkpoint)
+ * 잔액만 바꾸고 version 은 올리지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountJdbcRepository {
+    private static final int BATCH_SIZE = 500;
+    private static final String UPDATE_BALANCE_SQL =
+            "update account set balance = ?, updated_at = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param balances 계좌 id -> 잔액
+     */
+    public void batchUpdateBalances(Map<Long, Long> balances) {
+        if (balances.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(balances.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setObject(2, now);
+            ps.setLong(3, entry.getKey());
+        });
+    }
+}
@@ -2,19 +2,62 @@ package com.account.repository;
 
 import com.account.domain.Account;
 import com.account.domain.AccountUser;
+import com.account.dto.AccountInfo;
+import com.account.dto.AccountSnapshot;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc();
-
     Integer countByAccountUser(AccountUser accountUser);
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    // 계좌 조회 응답용 projection, entity 를 만들지 않아서 조회 결과는 행마다 AccountInfo 하나다.
+    @Query("select new com.account.dto.AccountInfo(a.accountNumber, a.balance) "
+            + "from Account a where a.accountUser.id = :userId order by a.id")
+    List<AccountInfo> findInfosByAccountUserId(@Param("userId") Long userId);
+
+    @Query("select new com.account.dto.AccountInfo(a.accountNumber, a.balance) "
+            + "from Account a where a.id = :id")
+    Optional<AccountInfo> findInfoById(@Param("id") Long id);
+
+    @Query("select new com.account.dto.AccountSnapshot(a.id, a.accountUser.id, a.accountStatus) "
+            + "from Account a where a.accountNumber = :accountNumber")
+    Optional<AccountSnapshot> findSnapshotByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // 잔액 변경 전 계좌 row 에 select ... for update
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Account> findForUpdateById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Account> findForUpdateByAccountNumber(String accountNumber);
+
+    // 잔액이 충분하고 사용 중인 계좌인 경우에만 차감, 바뀐 row 수를 돌려준다.
+    // 낙관적 lock 으로 읽은 쪽이 충돌을 알 수 있도록 version 도 올린다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1, "
+            + "a.updatedAt = current_timestamp "
+            + "where a.accountNumber = :accountNumber and a.balance >= :amount "
+            + "and a.accountStatus = com.account.type.AccountStatus.IN_USE")
+    int debitBalance(@Param("accountNumber") String accountNumber, @Param("amount") Long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1, "
+            + "a.updatedAt = current_timestamp "
+            + "where a.accountNumber = :accountNumber")
+    int creditBalance(@Param("accountNumber") String accountNumber, @Param("amount") Long amount);
 }
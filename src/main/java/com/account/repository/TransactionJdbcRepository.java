@@ -0,0 +1,96 @@
+package com.account.repository;
+
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 거래 내역을 JDBC batch insert 로 저장
+ * JPA 로 한 건씩 save 하면 insert 문이 거래 수만큼 나가서 대량 저장은 여기서 처리한다.
+ * id 는 JPA 와 같은 transaction_seq 에서 받는다.
+ */
+@Repository
+public class TransactionJdbcRepository {
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "insert into transaction (id, transaction_type, transaction_result_type, account_id, "
+                    + "amount, balance_snapshot, transaction_id, transacted_at, created_at, updated_at) "
+                    + "values (next value for transaction_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String FIND_EXISTING_SQL =
+            "select transaction_id from transaction where transaction_id in (:transactionIds)";
+    private static final String DELETE_SQL =
+            "delete from transaction where transaction_id in (:transactionIds)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public TransactionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void batchInsert(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, BATCH_SIZE, (ps, transaction) -> {
+            ps.setString(1, transaction.getTransactionType().name());
+            ps.setString(2, transaction.getTransactionResultType().name());
+            ps.setLong(3, transaction.getAccount().getId());
+            ps.setLong(4, transaction.getAmount());
+            ps.setLong(5, transaction.getBalanceSnapshot());
+            ps.setBytes(6, TransactionIdCodec.decode(transaction.getTransactionId()));
+            ps.setObject(7, transaction.getTransactedAt());
+            ps.setObject(8, now);
+            ps.setObject(9, now);
+        });
+    }
+
+    /**
+     * 이미 저장된 transaction_id 만 골라낸다. (거래 저널을 다시 반영할 때 중복 저장 방지)
+     */
+    public Set<String> findExistingTransactionIds(Collection<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return Set.of();
+        }
+
+        // 받은 표기 그대로 돌려준다. (이전 hex 표기로 받은 id 도 같은 문자열로 비교할 수 있게)
+        Map<String, String> byNormalized = new HashMap<>();
+        for (String transactionId : transactionIds) {
+            byNormalized.put(TransactionIdCodec.normalize(transactionId), transactionId);
+        }
+        Set<String> existing = new HashSet<>();
+        namedParameterJdbcTemplate.query(
+                FIND_EXISTING_SQL, Map.of("transactionIds", decode(transactionIds)),
+                (RowCallbackHandler) resultSet -> existing.add(byNormalized.get(
+                        TransactionIdCodec.encode(resultSet.getBytes("transaction_id")))));
+        return existing;
+    }
+
+    public void deleteByTransactionIds(Collection<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+
+        namedParameterJdbcTemplate.update(DELETE_SQL, Map.of("transactionIds", decode(transactionIds)));
+    }
+
+    private static List<byte[]> decode(Collection<String> transactionIds) {
+        return transactionIds.stream()
+                .map(TransactionIdCodec::decode)
+                .toList();
+    }
+}
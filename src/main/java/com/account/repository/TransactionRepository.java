@@ -1,12 +1,64 @@
 package com.account.repository;
 
 import com.account.domain.Transaction;
+import com.account.dto.QueryTransactionResposce;
+import com.account.dto.TransactionSummary;
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    /**
+     * 거래와 계좌를 join 으로 한 번에 조회 (응답에 계좌번호가 필요한 경우)
+     */
+    @EntityGraph(attributePaths = "account")
+    Optional<Transaction> findWithAccountByTransactionId(String transactionId);
+
+    /**
+     * 거래 조회 응답용 projection (거래, 계좌 entity 를 만들지 않는다)
+     */
+    @Query("select new com.account.dto.QueryTransactionResposce("
+            + "a.accountNumber, t.transactionType, t.transactionResultType, "
+            + "t.transactionId, t.amount, t.transactedAt) "
+            + "from Transaction t join t.account a "
+            + "where t.transactionId = :transactionId")
+    Optional<QueryTransactionResposce> findResponseByTransactionId(
+            @Param("transactionId") String transactionId);
+
+    /**
+     * (transactedAt, id) 가 주어진 위치보다 앞선(오래된) 거래를 최신순으로 조회 (keyset pagination)
+     * OFFSET 을 쓰지 않아서 몇 번째 페이지든 (account_id, transacted_at, id) 인덱스에서 바로 이어서 읽는다.
+     * OR 조건만으로는 인덱스 범위의 시작점을 잡지 못해서 transactedAt <= 조건을 따로 둔다.
+     * 조건이 null 이면 해당 조건으로 거르지 않는다.
+     */
+    @Query("select new com.account.dto.TransactionSummary("
+            + "t.id, t.transactionId, t.transactionType, t.transactionResultType, "
+            + "t.amount, t.balanceSnapshot, t.transactedAt) "
+            + "from Transaction t "
+            + "where t.account.id = :accountId "
+            + "and t.transactedAt <= :transactedAt "
+            + "and (t.transactedAt < :transactedAt or t.id < :id) "
+            + "and (:transactionType is null or t.transactionType = :transactionType) "
+            + "and (:transactionResultType is null or t.transactionResultType = :transactionResultType) "
+            + "order by t.transactedAt desc, t.id desc")
+    List<TransactionSummary> findHistory(
+            @Param("accountId") Long accountId,
+            @Param("transactedAt") LocalDateTime transactedAt,
+            @Param("id") Long id,
+            @Param("transactionType") TransactionType transactionType,
+            @Param("transactionResultType") TransactionResultType transactionResultType,
+            Pageable pageable
+    );
 }
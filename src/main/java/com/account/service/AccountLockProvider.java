@@ -0,0 +1,16 @@
+package com.account.service;
+
+/**
+ * 계좌 단위 lock
+ * lock 을 얻지 못한 경우 ErrorCode.ACCOUNT_TRANSACTION_LOCK 으로 AccountException 을 던진다.
+ * lock 을 잡은 스레드에서 해제해야 한다.
+ */
+public interface AccountLockProvider {
+    /**
+     * @param waitMillis  lock 을 기다리는 최대 시간
+     * @param leaseMillis lock 을 자동으로 해제할 시간, 0 이하면 lease 없이 잡는다.
+     */
+    void accountLock(String accountNumber, long waitMillis, long leaseMillis);
+
+    void accountUnLock(String accountNumber);
+}
@@ -0,0 +1,233 @@
+package com.account.service;
+
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계좌별 요청 대기열 (account.lock.queue.enabled)
+ * 요청마다 계좌 lock 을 tryLock 하면 경합이 몰릴 때 대부분 ACCOUNT_TRANSACTION_LOCK 으로 실패하고 재시도가 경합을 더 키운다.
+ * 같은 계좌의 요청은 JVM 안에서 줄을 세우고, 맨 앞 요청의 스레드(combiner)가 계좌 lock 을 한 번 잡은 채로
+ * 뒤에 기다리는 요청을 도착 순서대로 대신 실행한다. 기다리던 요청은 lock 을 잡지 않는다.
+ * combiner 는 max-combine 건을 실행했거나 lease 의 절반이 지나면 lock 을 풀고 다음 요청에 combiner 를 넘긴다.
+ * (combiner 로 온 요청의 응답이 계속 늦어지지 않고, lease 가 끝나기 전에 lock 을 풀고, 다른 서버에도 차례가 간다.)
+ * 대기열이 max-depth 만큼 차 있거나 deadline 안에 차례가 오지 않은 요청은 ACCOUNT_TRANSACTION_LOCK
+ */
+public class AccountLockQueue {
+    private final AccountLockProvider accountLockProvider;
+    private final int maxDepth;
+    private final long deadlineMillis;
+    private final int maxCombine;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public AccountLockQueue(
+            AccountLockProvider accountLockProvider,
+            int maxDepth,
+            long deadlineMillis,
+            int maxCombine
+    ) {
+        this.accountLockProvider = accountLockProvider;
+        this.maxDepth = maxDepth;
+        this.deadlineMillis = deadlineMillis;
+        this.maxCombine = maxCombine;
+    }
+
+    @FunctionalInterface
+    public interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    /**
+     * 차례가 오면 계좌 lock 을 잡은 상태에서 invocation 을 실행한다. (combiner 스레드에서 실행될 수 있다)
+     *
+     * @param waitMillis  차례를 기다리는 최대 시간 (deadline-millis 를 넘지 않는다)
+     * @param leaseMillis combiner 가 잡는 lock 의 lease, 0 이하면 lease 없이 잡는다.
+     */
+    public Object execute(
+            String accountNumber, long waitMillis, long leaseMillis, Invocation invocation
+    ) throws Throwable {
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(Math.min(waitMillis, deadlineMillis));
+        Task task = new Task(invocation, deadline, leaseMillis);
+
+        if (enqueue(accountNumber, task) || awaitTurn(task)) {
+            combine(accountNumber, task);
+        }
+        return task.result();
+    }
+
+    /**
+     * @return 기다리는 요청이 없어서 바로 combiner 가 되면 true
+     */
+    private boolean enqueue(String accountNumber, Task task) {
+        boolean[] admitted = {true};
+        boolean[] combiner = {false};
+        lanes.compute(accountNumber, (key, lane) -> {
+            Lane current = lane == null ? new Lane() : lane;
+            if (!current.combining) {
+                current.combining = true;
+                task.state.set(Task.TAKEN);
+                combiner[0] = true;
+            } else if (current.waiting.size() < maxDepth) {
+                current.waiting.add(task);
+            } else {
+                admitted[0] = false;
+            }
+            return current;
+        });
+
+        if (!admitted[0]) {
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        return combiner[0];
+    }
+
+    /**
+     * @return combiner 를 넘겨받으면 true, combiner 가 대신 실행했으면 false
+     */
+    private static boolean awaitTurn(Task task) {
+        try {
+            return task.turn.get(Math.max(0L, task.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException | TimeoutException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // 아직 대기열에 있으면 빠지고, combiner 가 이미 가져간 요청은 끝날 때까지 기다린다.
+            if (task.state.compareAndSet(Task.QUEUED, Task.CANCELLED)) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            return task.turn.join();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void combine(String accountNumber, Task first) {
+        try {
+            accountLockProvider.accountLock(accountNumber, first.remainingMillis(), first.leaseMillis);
+        } catch (RuntimeException e) {
+            first.fail(e);
+            handOff(accountNumber);
+            return;
+        }
+
+        long lockedAt = System.nanoTime();
+        long maxHoldNanos = first.leaseMillis > 0
+                ? TimeUnit.MILLISECONDS.toNanos(first.leaseMillis) / 2
+                : Long.MAX_VALUE;
+        try {
+            Task task = first;
+            int combined = 0;
+            do {
+                task.run();
+                if (task != first) {
+                    task.turn.complete(false);
+                }
+                combined++;
+            } while (combined < maxCombine
+                    && System.nanoTime() - lockedAt < maxHoldNanos
+                    && (task = poll(accountNumber)) != null);
+        } finally {
+            try {
+                accountLockProvider.accountUnLock(accountNumber);
+            } finally {
+                handOff(accountNumber);
+            }
+        }
+    }
+
+    private Task poll(String accountNumber) {
+        Task[] next = {null};
+        lanes.computeIfPresent(accountNumber, (key, lane) -> {
+            next[0] = lane.take();
+            return lane;
+        });
+        return next[0];
+    }
+
+    /**
+     * 기다리는 요청이 있으면 combiner 를 넘기고, 없으면 대기열을 지운다.
+     */
+    private void handOff(String accountNumber) {
+        Task[] next = {null};
+        lanes.computeIfPresent(accountNumber, (key, lane) -> {
+            next[0] = lane.take();
+            return next[0] == null ? null : lane;
+        });
+        if (next[0] != null) {
+            next[0].turn.complete(true);
+        }
+    }
+
+    private static final class Lane {
+        // compute 안에서만 접근한다.
+        private final ArrayDeque<Task> waiting = new ArrayDeque<>();
+        private boolean combining;
+
+        private Task take() {
+            Task task;
+            while ((task = waiting.poll()) != null) {
+                // 기다리다 포기한 요청은 건너뛴다.
+                if (task.state.compareAndSet(Task.QUEUED, Task.TAKEN)) {
+                    return task;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Task {
+        private static final int QUEUED = 0;
+        private static final int TAKEN = 1;
+        private static final int CANCELLED = 2;
+
+        private final Invocation invocation;
+        private final long deadline;
+        private final long leaseMillis;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        // combiner 가 대신 실행하면 false, combiner 를 넘겨받으면 true
+        private final CompletableFuture<Boolean> turn = new CompletableFuture<>();
+
+        // turn 을 완료하기 전에 쓰기 때문에 기다리던 스레드에서 보인다.
+        private Object result;
+        private Throwable failure;
+
+        private Task(Invocation invocation, long deadline, long leaseMillis) {
+            this.invocation = invocation;
+            this.deadline = deadline;
+            this.leaseMillis = leaseMillis;
+        }
+
+        private void run() {
+            try {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        private void fail(Throwable e) {
+            failure = e;
+        }
+
+        private long remainingMillis() {
+            return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        }
+
+        private Object result() throws Throwable {
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+    }
+}
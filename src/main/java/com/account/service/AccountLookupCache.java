@@ -0,0 +1,103 @@
+package com.account.service;
+
+import com.account.dto.AccountSnapshot;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 잔액 사용 검증에 쓰는 잘 바뀌지 않는 정보 캐시
+ * 1. 사용자 존재 여부 (있는 경우만 캐시)
+ * 2. 계좌번호 -> (계좌 id, 소유주 id, 상태)
+ * 계좌 상태는 해지할 때 바뀌므로 AccountService.deleteAccount 에서 지워주고,
+ * 다른 서버에서 해지한 경우는 ttl 이 지나면 반영된다.
+ * 조회 결과는 cache.gets{cache=accountUser|accountSnapshot, result=hit|miss} 로 수집된다.
+ */
+@Component
+public class AccountLookupCache {
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+
+    private final Cache<Long, Boolean> users;
+    private final Cache<String, AccountSnapshot> accounts;
+
+    public AccountLookupCache(
+            AccountUserRepository accountUserRepository,
+            AccountRepository accountRepository,
+            MeterRegistry meterRegistry,
+            @Value("${account.cache.maximum-size:100000}") long maximumSize,
+            @Value("${account.cache.ttl-millis:60000}") long ttlMillis
+    ) {
+        this.accountUserRepository = accountUserRepository;
+        this.accountRepository = accountRepository;
+        this.users = newCache(maximumSize, ttlMillis);
+        this.accounts = newCache(maximumSize, ttlMillis);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "accountUser");
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "accountSnapshot");
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maximumSize, long ttlMillis) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * cache.get(key, loader) 는 ConcurrentHashMap.compute 의 synchronized 안에서 loader(DB 조회)를 실행해서
+     * 가상 스레드에서는 조회하는 동안 carrier 스레드가 묶인다. (pinning)
+     * 그래서 lock 밖에서 조회하고 put 한다. 같은 키를 동시에 조회하면 DB 에 여러 번 갈 수 있지만 결과는 같다.
+     */
+    public boolean userExists(Long userId) {
+        if (users.getIfPresent(userId) != null) {
+            return true;
+        }
+
+        // 없는 사용자는 캐시하지 않는다.
+        boolean exists = accountUserRepository.existsById(userId);
+        if (exists) {
+            users.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    public Optional<AccountSnapshot> getAccount(String accountNumber) {
+        AccountSnapshot cached = accounts.getIfPresent(accountNumber);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<AccountSnapshot> snapshot =
+                accountRepository.findSnapshotByAccountNumber(accountNumber);
+        snapshot.ifPresent(value -> accounts.put(accountNumber, value));
+        return snapshot;
+    }
+
+    /**
+     * 커밋 전에 다른 요청이 이전 상태를 다시 캐시할 수 있어서 트랜잭션이 끝난 뒤에 한 번 더 지운다.
+     */
+    public void evictAccount(String accountNumber) {
+        accounts.invalidate(accountNumber);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accounts.invalidate(accountNumber);
+                }
+            });
+        }
+    }
+}
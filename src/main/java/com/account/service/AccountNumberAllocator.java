@@ -0,0 +1,9 @@
+package com.account.service;
+
+/**
+ * 신규 계좌번호 발급기
+ * 구현체는 여러 스레드에서 동시에 호출되어도 같은 번호를 두 번 발급하지 않아야 한다.
+ */
+public interface AccountNumberAllocator {
+    String nextAccountNumber();
+}
@@ -0,0 +1,10 @@
+package com.account.service;
+
+/**
+ * 계좌번호 구간(block) 을 임대해주는 저장소
+ * 반환값은 [start, start + blockSize) 구간의 시작 offset 이며,
+ * 같은 구간이 두 번 임대되지 않는 것은 저장소(DB sequence, Redis) 가 보장한다.
+ */
+public interface AccountNumberBlockSource {
+    long reserveBlock(int blockSize);
+}
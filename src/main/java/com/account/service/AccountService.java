@@ -15,8 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static com.account.type.AccountStatus.IN_USE;
 import static com.account.type.ErrorCode.*;
@@ -26,6 +24,9 @@ import static com.account.type.ErrorCode.*;
 public class AccountService {
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountLookupCache accountLookupCache;
+    private final BalanceEngine balanceEngine;
 
     /**
      * 사용자가 있는지 조회
@@ -41,9 +42,7 @@ public class AccountService {
 
         validateCreateAccount(accountUser);
 
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> String.valueOf(Integer.parseInt(account.getAccountNumber()) + 1))
-                .orElse("1000000000");
+        String newAccountNumber = accountNumberAllocator.nextAccountNumber();
 
         return AccountDto.fromEntity(
                 accountRepository.save(
@@ -72,6 +71,8 @@ public class AccountService {
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
         validateDeleteAccount(accountUser, account);
+        // 잔액 확인은 잔액을 바꾸는 방식(BalanceEngine)에 맡긴다. (sharded 는 account 테이블의 잔액이 늦다)
+        balanceEngine.unregister(account);
 
         account.setAccountStatus(AccountStatus.UNREGISTERED);
         account.setUnRegisteredAt(LocalDateTime.now());
@@ -79,6 +80,7 @@ public class AccountService {
         // 이 부분은 원래 없는게 맞음 테스트를 위해 넣은거임
         // 이렇게하는걸 추천하지 않음
         accountRepository.save(account);
+        accountLookupCache.evictAccount(accountNumber);
 
         return AccountDto.fromEntity(account);
     }
@@ -90,21 +92,18 @@ public class AccountService {
         if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if (account.getBalance() > 0) {
-            throw new AccountException(ACCOUNT_HAS_BALANCE);
-        }
     }
 
-    @Transactional
-    public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = getAccountUser(userId);
-
-        List<Account> accounts = accountRepository
-                .findByAccountUser(accountUser);
+    /**
+     * 조회 전용이라 entity 대신 응답(AccountInfo)을 바로 읽는다. (영속성 컨텍스트에 남는 것이 없다)
+     */
+    @Transactional(readOnly = true)
+    public List<AccountInfo> getAccountsByUserId(Long userId) {
+        if (!accountUserRepository.existsById(userId)) {
+            throw new AccountException(USER_NOT_FOUND);
+        }
 
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
-                .collect(Collectors.toList());
+        return accountRepository.findInfosByAccountUserId(userId);
     }
 
     private AccountUser getAccountUser(Long userId) {
@@ -113,14 +112,9 @@ public class AccountService {
         return accountUser;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public AccountInfo getAccountByAccountId(Long accountId) {
-        Optional<Account> optionalAccount =
-                Optional.of(accountRepository.findById(accountId))
-                        .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
-        return AccountInfo.builder()
-                .accountNumber(account.getAccountNumber())
-                .balance(account.getBalance())
-                .build();
+        return accountRepository.findInfoById(accountId)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
     }
 }
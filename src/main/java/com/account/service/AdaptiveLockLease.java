@@ -0,0 +1,83 @@
+package com.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 엔드포인트별로 최근 lock 유지 시간을 모아서 lease 시간을 정해준다.
+ * lease = p99 * factor (min ~ max 사이)
+ * 샘플이 충분히 모이기 전에는 -1 을 돌려줘서 Redisson watchdog 을 사용하게 한다.
+ */
+@Component
+public class AdaptiveLockLease {
+    private static final int WINDOW_SIZE = 1024;
+    // 매번 정렬하지 않고 이 횟수만큼 기록될 때마다 p99 를 다시 계산
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double factor;
+    private final long minLeaseMillis;
+    private final long maxLeaseMillis;
+    private final int minSamples;
+
+    private final Map<String, HoldTimeWindow> windows = new ConcurrentHashMap<>();
+
+    public AdaptiveLockLease(
+            @Value("${account.lock.lease.factor:3.0}") double factor,
+            @Value("${account.lock.lease.min-millis:500}") long minLeaseMillis,
+            @Value("${account.lock.lease.max-millis:15000}") long maxLeaseMillis,
+            @Value("${account.lock.lease.min-samples:100}") int minSamples
+    ) {
+        this.factor = factor;
+        this.minLeaseMillis = minLeaseMillis;
+        this.maxLeaseMillis = maxLeaseMillis;
+        this.minSamples = Math.min(minSamples, WINDOW_SIZE);
+    }
+
+    public void recordHold(String endpoint, long holdNanos) {
+        windows.computeIfAbsent(endpoint, key -> new HoldTimeWindow())
+                .record(holdNanos);
+    }
+
+    public long leaseMillis(String endpoint) {
+        HoldTimeWindow window = windows.get(endpoint);
+        if (window == null || window.p99Nanos < 0) {
+            return -1L;
+        }
+
+        long leaseMillis = (long) Math.ceil(
+                TimeUnit.NANOSECONDS.toMillis(window.p99Nanos) * factor);
+        return Math.max(minLeaseMillis, Math.min(maxLeaseMillis, leaseMillis));
+    }
+
+    private class HoldTimeWindow {
+        private final AtomicLongArray samples = new AtomicLongArray(WINDOW_SIZE);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long p99Nanos = -1L;
+
+        private void record(long holdNanos) {
+            long index = count.getAndIncrement();
+            samples.set((int) (index % WINDOW_SIZE), holdNanos);
+
+            long recorded = index + 1;
+            if (recorded >= minSamples && recorded % RECOMPUTE_EVERY == 0) {
+                p99Nanos = percentile99((int) Math.min(recorded, WINDOW_SIZE));
+            }
+        }
+
+        private long percentile99(int size) {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(size * 0.99) - 1];
+        }
+    }
+}
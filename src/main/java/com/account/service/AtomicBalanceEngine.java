@@ -0,0 +1,54 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.repository.AccountRepository;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 조건부 UPDATE 한 번으로 잔액을 바꾸는 방식
+ * 잔액/상태 확인과 변경이 한 문장이라 DB row lock 만으로 안전하고, 분산 lock 이 없어도 된다.
+ * 바뀐 row 가 없으면 계좌를 다시 읽어서 기존 ErrorCode 로 바꿔준다.
+ * UPDATE 후에는 커밋할 때까지 row lock 을 잡고 있어서 다시 읽은 잔액이 이번 변경의 결과다.
+ */
+@RequiredArgsConstructor
+public class AtomicBalanceEngine implements BalanceEngine {
+    private final AccountRepository accountRepository;
+
+    @Override
+    public Account useBalance(Long accountId, String accountNumber, Long amount) {
+        if (accountRepository.debitBalance(accountNumber, amount) == 0) {
+            throw new AccountException(rejectReason(accountNumber));
+        }
+
+        return findAccount(accountNumber);
+    }
+
+    private ErrorCode rejectReason(String accountNumber) {
+        Account account = findAccount(accountNumber);
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            return ErrorCode.ACCOUNT_ALREADY_UNREGISTERED;
+        }
+        return ErrorCode.AMOUNT_EXCEED_BALANCE;
+    }
+
+    @Override
+    public Account cancelBalance(Account account, Long amount) {
+        if (amount < 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        if (accountRepository.creditBalance(account.getAccountNumber(), amount) == 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+
+        return findAccount(account.getAccountNumber());
+    }
+
+    private Account findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+}
@@ -0,0 +1,42 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+
+/**
+ * 계좌 잔액 변경 방식
+ * 1. entity : 계좌 row 를 읽어서 entity 의 잔액을 바꾼다. (계좌 lock 필요)
+ * 2. atomic : 조건부 UPDATE 한 번으로 바꾼다. (계좌 lock 없이도 안전)
+ * 3. optimistic : @Version 충돌 시 재시도한다. (계좌 lock 없이도 안전)
+ * 4. sharded : 메모리 장부(ShardedLedger)의 shard 스레드가 바꾼다. (계좌 lock 없이도 안전)
+ * 반환하는 Account 의 잔액은 변경된 후의 잔액이다.
+ */
+public interface BalanceEngine {
+    /**
+     * 잔액을 사용할 수 없는 경우 ACCOUNT_NOT_FOUND, ACCOUNT_ALREADY_UNREGISTERED, AMOUNT_EXCEED_BALANCE
+     * 중 하나로 AccountException 을 던진다.
+     */
+    Account useBalance(Long accountId, String accountNumber, Long amount);
+
+    Account cancelBalance(Account account, Long amount);
+
+    /**
+     * 이미 row lock 을 잡고 읽어온 계좌의 잔액 사용 (같은 계좌 일괄 사용)
+     * 잔액이 부족하면 AMOUNT_EXCEED_BALANCE
+     */
+    default Account useLockedBalance(Account account, Long amount) {
+        account.useBalance(amount);
+        return account;
+    }
+
+    /**
+     * 해지할 계좌의 잔액 확인 (계좌 해지 트랜잭션 안에서 호출)
+     * 잔액이 남아 있으면 ACCOUNT_HAS_BALANCE
+     */
+    default void unregister(Account account) {
+        if (account.getBalance() > 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_HAS_BALANCE);
+        }
+    }
+}
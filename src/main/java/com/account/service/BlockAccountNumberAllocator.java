@@ -0,0 +1,77 @@
+package com.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 구간 단위로 임대한 번호를 메모리의 AtomicLong 으로 나눠주는 발급기
+ * 번호 발급은 CAS 한 번으로 끝나고, 구간을 다 쓴 경우에만 저장소에 다녀온다.
+ * 서버가 재시작되면 쓰지 않은 구간의 나머지 번호는 버려진다. (번호에 빈 곳이 생길 수 있음)
+ */
+@Slf4j
+public class BlockAccountNumberAllocator implements AccountNumberAllocator {
+    public static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    public static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+
+    private final AccountNumberBlockSource blockSource;
+    private final int blockSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public BlockAccountNumberAllocator(AccountNumberBlockSource blockSource, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive : " + blockSize);
+        }
+        this.blockSource = blockSource;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String nextAccountNumber() {
+        while (true) {
+            Block block = current.get();
+            long next = block.next.getAndIncrement();
+            if (next < block.end) {
+                return String.valueOf(next);
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // 다른 스레드가 이미 새 구간을 받아왔다면 다시 받지 않는다.
+            if (current.get() != exhausted) {
+                return;
+            }
+
+            long start = FIRST_ACCOUNT_NUMBER + blockSource.reserveBlock(blockSize);
+            long end = start + blockSize;
+            if (end - 1 > LAST_ACCOUNT_NUMBER) {
+                throw new IllegalStateException("Account numbers are exhausted.");
+            }
+
+            log.debug("Leased account number block [{}, {})", start, end);
+            current.set(new Block(start, end));
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Block {
+        private static final Block EMPTY = new Block(0L, 0L);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.repository.AccountRepository;
+import com.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 계좌 entity 를 읽어서 잔액을 바꾸는 방식 (read-modify-write)
+ * 사용은 계좌 row 를 select ... for update 로 읽지만
+ * 취소는 이미 읽어온 entity 를 그대로 바꾸기 때문에 @AccountLock 이 있어야 안전하다.
+ */
+@RequiredArgsConstructor
+public class EntityBalanceEngine implements BalanceEngine {
+    private final AccountRepository accountRepository;
+
+    @Override
+    public Account useBalance(Long accountId, String accountNumber, Long amount) {
+        Account account = accountRepository.findForUpdateById(accountId)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        // 상태는 캐시가 아니라 lock 을 잡고 읽은 row 로 확인한다.
+        TransactionRules.validateInUse(account.getAccountStatus());
+        // 잔액이 부족하면 AMOUNT_EXCEED_BALANCE
+        account.useBalance(amount);
+        return account;
+    }
+
+    @Override
+    public Account cancelBalance(Account account, Long amount) {
+        account.cancelBalance(amount);
+        return account;
+    }
+}
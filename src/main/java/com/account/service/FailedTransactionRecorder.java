@@ -0,0 +1,424 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.repository.AccountRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.account.type.TransactionResultType.F;
+
+/**
+ * 실패 거래 기록을 요청 처리와 분리해서 백그라운드에서 저장
+ * 요청 스레드는 큐에 넣기만 하고 바로 에러 응답/lock 해제로 넘어간다.
+ * 큐가 가득 차면 offer-timeout-millis 만큼 기다리고(back-pressure), 그래도 안 되면 파일에 남긴다. (spill)
+ * writer 는 batch-size 만큼 모아서 계좌 조회 한 번, JDBC batch insert 한 번으로 저장하고,
+ * 큐가 비어 있을 때 파일에 남긴 기록을 다시 저장한다. (DB 저장에 실패한 묶음도 파일로 보낸다)
+ * 다시 저장해도 안 되는 기록(읽을 수 없는 줄, transaction_id 중복 등)은 spill 파일 옆의 .dead 파일로 옮긴다.
+ * 종료할 때는 웹 서버가 요청을 더 받지 않은 뒤에 큐를 모두 비운다.
+ *
+ * account.failed.transactions{outcome=written|spilled|skipped|dead-lettered} 와
+ * account.failed.transactions.queue 로 볼 수 있다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionRecorder implements SmartLifecycle {
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private final AccountRepository accountRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<FailedTransaction> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long flushIntervalMillis;
+    private final long shutdownTimeoutMillis;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path deadLetterFile;
+    // 파일에 남기는 쪽(요청 스레드)과 다시 읽는 쪽(writer)이 같은 파일을 건드리지 않도록 잡는다.
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionRecorder(
+            AccountRepository accountRepository,
+            TransactionJdbcRepository transactionJdbcRepository,
+            TransactionIdGenerator transactionIdGenerator,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${account.failed-transaction.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.failed-transaction.batch-size:500}") int batchSize,
+            @Value("${account.failed-transaction.offer-timeout-millis:10}") long offerTimeoutMillis,
+            @Value("${account.failed-transaction.flush-interval-millis:1000}") long flushIntervalMillis,
+            @Value("${account.failed-transaction.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis,
+            @Value("${account.failed-transaction.spill-file:${java.io.tmpdir}/account-failed-transactions.spill}")
+            Path spillFile
+    ) {
+        this.accountRepository = accountRepository;
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        this.deadLetterFile = spillFile.resolveSibling(spillFile.getFileName() + ".dead");
+
+        meterRegistry.gaugeCollectionSize("account.failed.transactions.queue", List.of(), queue);
+    }
+
+    /**
+     * 실패 거래를 기록한다. 거래 id 와 거래 시각은 실패한 시점의 값으로 남긴다.
+     */
+    public void record(TransactionType transactionType, String accountNumber, Long amount) {
+        FailedTransaction failedTransaction = new FailedTransaction(
+                transactionType, accountNumber, amount,
+                transactionIdGenerator.newTransactionId(), LocalDateTime.now());
+
+        try {
+            if (running && queue.offer(failedTransaction, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.warn("Failed transaction queue is full or stopped. Spill to {}", spillFile);
+        spill(List.of(failedTransaction));
+    }
+
+    @Override
+    public void start() {
+        recoverInterruptedReplay();
+
+        running = true;
+        writer = new Thread(this::runWriter, "failed-transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 새 기록은 받지 않고(파일로 보냄) 큐에 남은 기록을 모두 저장할 때까지 기다린다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 시간 안에 못 비운 기록은 다음 실행에서 저장한다.
+        List<FailedTransaction> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("{} failed transactions are not written before shutdown. Spill to {}",
+                    remaining.size(), spillFile);
+            spill(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown) 보다 늦게 멈춰서 마지막 요청의 실패 기록까지 받는다.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransaction first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeOrSpill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed transaction writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        replaySpill();
+    }
+
+    private void writeOrSpill(List<FailedTransaction> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} failed transactions. Spill to {}", batch.size(), spillFile, e);
+            spill(batch);
+        }
+    }
+
+    private void write(List<FailedTransaction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                            batch.stream()
+                                    .map(FailedTransaction::accountNumber)
+                                    .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            for (FailedTransaction failedTransaction : batch) {
+                Account account = accounts.get(failedTransaction.accountNumber());
+                if (account == null) {
+                    // 없는 계좌로 요청한 경우 (ACCOUNT_NOT_FOUND) 는 남길 계좌가 없다.
+                    counter("skipped").increment();
+                    continue;
+                }
+                transactions.add(Transaction.builder()
+                        .transactionType(failedTransaction.transactionType())
+                        .transactionResultType(F)
+                        .account(account)
+                        .amount(failedTransaction.amount())
+                        .balanceSnapshot(account.getBalance())
+                        .transactionId(failedTransaction.transactionId())
+                        .transactedAt(failedTransaction.transactedAt())
+                        .build());
+            }
+
+            transactionJdbcRepository.batchInsert(transactions);
+            counter("written").increment(transactions.size());
+        });
+    }
+
+    private void spill(List<FailedTransaction> failedTransactions) {
+        spillLock.lock();
+        try {
+            Files.createDirectories(spillFile.toAbsolutePath().getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (FailedTransaction failedTransaction : failedTransactions) {
+                    out.write(failedTransaction.toLine());
+                    out.newLine();
+                }
+            }
+            counter("spilled").increment(failedTransactions.size());
+        } catch (IOException e) {
+            // 디스크에도 못 남기면 로그로만 남는다.
+            log.error("Failed to spill failed transactions : {}", failedTransactions, e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * 파일에 남긴 기록을 다시 저장한다.
+     * 읽는 동안 새로 남기는 기록과 섞이지 않도록 파일을 옮겨서 읽고, 저장에 실패하면 처리하지 못한 줄만 다시 붙여둔다.
+     * 다시 저장해도 안 되는 줄은 dead-letter 파일로 보내서 뒤의 줄이 계속 막히지 않게 한다.
+     */
+    private void replaySpill() {
+        spillLock.lock();
+        try {
+            if (!Files.exists(spillFile)) {
+                return;
+            }
+            Files.move(spillFile, replayFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Failed to move spill file {}", spillFile, e);
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+
+        // 앞에서부터 처리를 마친(저장했거나 dead-letter 로 보낸) 줄 수
+        long[] doneLines = {0L};
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        try (BufferedReader in = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                FailedTransaction failedTransaction = FailedTransaction.fromLineOrNull(line);
+                if (failedTransaction == null) {
+                    // 앞에 모은 묶음을 먼저 저장해야 처리를 마친 줄 수가 이어진다.
+                    replay(batch, doneLines);
+                    log.error("Unreadable spilled failed transaction : {}", line);
+                    deadLetter(line);
+                    doneLines[0]++;
+                    continue;
+                }
+                batch.add(failedTransaction);
+                if (batch.size() == batchSize) {
+                    replay(batch, doneLines);
+                }
+            }
+            replay(batch, doneLines);
+            Files.delete(replayFile);
+            log.info("Replayed spilled failed transactions from {}", spillFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to replay spilled failed transactions. Retry later.", e);
+            restoreReplay(doneLines[0]);
+        }
+    }
+
+    /**
+     * 묶음으로 저장하고, 제약 조건에 걸리면 한 건씩 다시 저장해서 걸리는 건만 dead-letter 파일로 보낸다.
+     * DB 장애처럼 나중에 다시 하면 될 수 있는 실패는 그대로 던진다.
+     */
+    private void replay(List<FailedTransaction> batch, long[] doneLines) {
+        try {
+            write(batch);
+            doneLines[0] += batch.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Failed to replay {} spilled failed transactions at once. Retry one by one.",
+                    batch.size(), e);
+            for (FailedTransaction failedTransaction : batch) {
+                try {
+                    write(List.of(failedTransaction));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    log.error("Failed to replay spilled failed transaction : {}", failedTransaction, rowFailure);
+                    deadLetter(failedTransaction.toLine());
+                }
+                doneLines[0]++;
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void deadLetter(String line) {
+        try (BufferedWriter out = Files.newBufferedWriter(deadLetterFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(line);
+            out.newLine();
+        } catch (IOException e) {
+            // 다시 붙여두면 같은 줄에서 계속 막히므로 로그로만 남긴다.
+            log.error("Failed to write dead letter to {} : {}", deadLetterFile, line, e);
+        }
+        counter("dead-lettered").increment();
+    }
+
+    /**
+     * 이미 저장한 줄은 빼고 나머지를 spill 파일 뒤에 다시 붙인다.
+     */
+    private void restoreReplay(long writtenLines) {
+        spillLock.lock();
+        try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             Stream<String> lines = Files.lines(replayFile, StandardCharsets.UTF_8)) {
+            for (String line : (Iterable<String>) lines.skip(writtenLines)::iterator) {
+                out.write(line);
+                out.newLine();
+            }
+        } catch (IOException e) {
+            log.error("Failed to restore replay file {}", replayFile, e);
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+
+        try {
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            log.error("Failed to delete replay file {}", replayFile, e);
+        }
+    }
+
+    /**
+     * 이전 실행이 replay 도중에 끝난 경우 남은 파일을 spill 파일로 되돌린다.
+     * (그때 저장한 기록은 다시 저장할 때 transaction_id unique 제약에 걸려서 dead-letter 파일로 간다)
+     */
+    private void recoverInterruptedReplay() {
+        if (Files.exists(replayFile)) {
+            restoreReplay(0L);
+        }
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("account.failed.transactions")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record FailedTransaction(
+            TransactionType transactionType,
+            String accountNumber,
+            Long amount,
+            String transactionId,
+            LocalDateTime transactedAt
+    ) {
+        private String toLine() {
+            return String.join(FIELD_SEPARATOR, transactionType.name(), accountNumber,
+                    String.valueOf(amount), transactionId, transactedAt.toString());
+        }
+
+        /**
+         * @return 읽을 수 없는 줄이면 null
+         */
+        private static FailedTransaction fromLineOrNull(String line) {
+            String[] fields = line.split(FIELD_SEPARATOR);
+            if (fields.length != 5 || !TransactionIdCodec.isValid(fields[3])) {
+                return null;
+            }
+            try {
+                return new FailedTransaction(
+                        TransactionType.valueOf(fields[0]),
+                        fields[1],
+                        Long.parseLong(fields[2]),
+                        fields[3],
+                        LocalDateTime.parse(fields[4]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.account.service;
+
+import com.account.config.FaultInjectionProperties;
+import com.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
+
+/**
+ * 스테이징에서 경합 상황을 재현하기 위한 지연/장애 주입
+ * fault-injection 프로필이 켜져 있을 때만 빈으로 등록되기 때문에
+ * 꺼져 있을 때는 요청 처리 경로에 아무런 비용이 없다.
+ *
+ * LockAopAspect 보다 안쪽에서 동작하기 때문에 주입한 지연은 계좌 lock 을 잡은 채로 일어난다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Profile("fault-injection")
+@Order(200)
+@RequiredArgsConstructor
+public class FaultInjectionAspect {
+    private final FaultInjectionProperties faultInjectionProperties;
+
+    @Around("execution(public * com.account.controller..*(..))")
+    public Object injectFault(ProceedingJoinPoint pjp) throws Throwable {
+        FaultInjectionProperties.Endpoint endpoint =
+                faultInjectionProperties.getEndpoints().get(pjp.getSignature().getName());
+        if (endpoint == null) {
+            return pjp.proceed();
+        }
+
+        sleepMillis(sampleDelayMillis(endpoint));
+
+        if (ThreadLocalRandom.current().nextDouble() < endpoint.getErrorRate()) {
+            log.warn("Injected fault for {}", pjp.getSignature().getName());
+            throw new AccountException(INTERNAL_SERVER_ERROR);
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            if (endpoint.getLockHoldMultiplier() > 1.0) {
+                long elapsedNanos = System.nanoTime() - startedAt;
+                sleepMillis(TimeUnit.NANOSECONDS.toMillis(
+                        (long) (elapsedNanos * (endpoint.getLockHoldMultiplier() - 1.0))
+                ));
+            }
+        }
+    }
+
+    static long sampleDelayMillis(FaultInjectionProperties.Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        switch (endpoint.getDelay()) {
+            case FIXED:
+                return endpoint.getDelayMillis();
+            case UNIFORM:
+                if (endpoint.getMaxDelayMillis() <= endpoint.getDelayMillis()) {
+                    return endpoint.getDelayMillis();
+                }
+                return random.nextLong(endpoint.getDelayMillis(), endpoint.getMaxDelayMillis() + 1);
+            case EXPONENTIAL:
+                long delay = (long) (-endpoint.getDelayMillis() * Math.log(1.0 - random.nextDouble()));
+                return endpoint.getMaxDelayMillis() > 0
+                        ? Math.min(delay, endpoint.getMaxDelayMillis())
+                        : delay;
+            default:
+                return 0L;
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.account.service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로컬 token bucket 을 먼저 확인하고, 통과한 요청만 Redis 에서 전체 한도를 확인한다.
+ * 한 클라이언트가 요청을 쏟아내도 대부분 로컬에서 Redis 왕복 없이 거절된다.
+ * Redis 에서 거절된 요청은 꺼낸 로컬 한도를 돌려준다.
+ */
+@RequiredArgsConstructor
+public class HybridRateLimiter implements RequestRateLimiter {
+    private final RequestRateLimiter localRateLimiter;
+    private final RequestRateLimiter remoteRateLimiter;
+
+    @Override
+    public boolean tryAcquire(String key, RateLimit rateLimit) {
+        if (!localRateLimiter.tryAcquire(key, rateLimit)) {
+            return false;
+        }
+        if (remoteRateLimiter.tryAcquire(key, rateLimit)) {
+            return true;
+        }
+        localRateLimiter.release(key, rateLimit);
+        return false;
+    }
+
+    @Override
+    public boolean hasPermit(String key, RateLimit rateLimit) {
+        return localRateLimiter.hasPermit(key, rateLimit)
+                && remoteRateLimiter.hasPermit(key, rateLimit);
+    }
+
+    @Override
+    public void release(String key, RateLimit rateLimit) {
+        localRateLimiter.release(key, rateLimit);
+        remoteRateLimiter.release(key, rateLimit);
+    }
+}
@@ -0,0 +1,202 @@
+package com.account.service;
+
+import com.account.aop.AccountLockIdInterface;
+import com.account.aop.Idempotent;
+import com.account.aop.RateLimitUserIdInterface;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 헤더로 중복 요청을 걸러낸다.
+ * 계좌 lock(LockAopAspect, 100) 보다 바깥에서 실행되어 중복 요청은 lock 과 JPA 를 거치지 않는다.
+ * 1. 최근에 처리한 키는 로컬 캐시에서 바로 응답
+ * 2. 없으면 IdempotencyStore(Redis) 에서 찾고, 처리 중이면 IDEMPOTENCY_KEY_IN_PROGRESS
+ * 3. 처음 보는 키는 처리 중 표시를 남기고 실행한 뒤 응답을 저장 (실패하면 표시를 지워서 다시 요청할 수 있다)
+ *    응답을 끝내 저장하지 못하면 처리 중 표시를 응답 보관 시간만큼 남겨서 다른 서버에서도 다시 실행하지 않는다.
+ * 같은 키로 다른 내용의 요청이 오면 IDEMPOTENCY_KEY_REUSED
+ * 키는 사용자(userId) 별로, 사용자가 없는 요청은 계좌별로 나눠서 다른 사용자의 키와 겹치지 않는다.
+ *
+ * account.idempotency.requests{endpoint, result=hit_local|hit_store|miss|in_progress|reused|store_failed}
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(20)
+public class IdempotencyAspect {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int COMPLETE_ATTEMPTS = 3;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, IdempotencyRecord> recent;
+
+    public IdempotencyAspect(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${account.idempotency.local-cache.maximum-size:100000}") long maximumSize,
+            @Value("${account.idempotency.local-cache.ttl-millis:60000}") long ttlMillis
+    ) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    @Around("@annotation(idempotent)")
+    public Object deduplicate(ProceedingJoinPoint pjp, Idempotent idempotent) throws Throwable {
+        String idempotencyKey = currentIdempotencyKey();
+        if (idempotencyKey == null) {
+            return pjp.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        String endpoint = pjp.getSignature().getName();
+        String key = endpoint + ":" + scope(pjp.getArgs()) + ":" + idempotencyKey;
+        String fingerprint = fingerprint(pjp.getArgs());
+        Class<?> responseType = ((MethodSignature) pjp.getSignature()).getReturnType();
+
+        IdempotencyRecord cached = recent.getIfPresent(key);
+        if (cached != null) {
+            return replay(endpoint, "hit_local", cached, fingerprint, responseType);
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyStore.find(key);
+        if (stored.isEmpty() && idempotencyStore.claim(key, fingerprint)) {
+            counter(endpoint, "miss").increment();
+            return proceedAndStore(pjp, endpoint, key, fingerprint);
+        }
+
+        // 먼저 들어온 요청이 방금 처리 중 표시를 남긴 경우
+        IdempotencyRecord record = stored.or(() -> idempotencyStore.find(key))
+                .orElseThrow(() -> new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS));
+        if (!record.isCompleted()) {
+            checkFingerprint(endpoint, record, fingerprint);
+            counter(endpoint, "in_progress").increment();
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+        recent.put(key, record);
+        return replay(endpoint, "hit_store", record, fingerprint, responseType);
+    }
+
+    private Object proceedAndStore(
+            ProceedingJoinPoint pjp, String endpoint, String key, String fingerprint
+    ) throws Throwable {
+        Object response;
+        try {
+            response = pjp.proceed();
+        } catch (Throwable e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord(fingerprint, objectMapper.writeValueAsString(response));
+        if (!complete(key, record)) {
+            // 처리는 끝났으므로 응답은 돌려주고, pending-ttl 이 지나 다시 실행되지 않도록 처리 중 표시를 남긴다.
+            counter(endpoint, "store_failed").increment();
+            try {
+                idempotencyStore.holdPending(key, fingerprint);
+            } catch (RuntimeException e) {
+                log.error("Failed to hold idempotency key. key : {}", key, e);
+            }
+        }
+        recent.put(key, record);
+        return response;
+    }
+
+    private boolean complete(String key, IdempotencyRecord record) {
+        for (int attempt = 1; attempt <= COMPLETE_ATTEMPTS; attempt++) {
+            try {
+                idempotencyStore.complete(key, record);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Failed to store idempotency record. key : {}, attempt : {}", key, attempt, e);
+            }
+        }
+        return false;
+    }
+
+    private Object replay(
+            String endpoint, String result, IdempotencyRecord record, String fingerprint, Class<?> responseType
+    ) throws JsonProcessingException {
+        checkFingerprint(endpoint, record, fingerprint);
+        counter(endpoint, result).increment();
+        return objectMapper.readValue(record.response(), responseType);
+    }
+
+    private void checkFingerprint(String endpoint, IdempotencyRecord record, String fingerprint) {
+        if (!Objects.equals(record.fingerprint(), fingerprint)) {
+            counter(endpoint, "reused").increment();
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    private String fingerprint(Object[] args) throws JsonProcessingException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(args));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String scope(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof RateLimitUserIdInterface userRequest) {
+                return "user:" + userRequest.getUserId();
+            }
+            if (arg instanceof AccountLockIdInterface accountRequest) {
+                return "account:" + accountRequest.getAccountNumber();
+            }
+        }
+        return "-";
+    }
+
+    private static String currentIdempotencyKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String key = request.getHeader(HEADER);
+        return key == null || key.isBlank() ? null : key;
+    }
+
+    private Counter counter(String endpoint, String result) {
+        return Counter.builder("account.idempotency.requests")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
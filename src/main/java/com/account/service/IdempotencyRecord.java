@@ -0,0 +1,18 @@
+package com.account.service;
+
+/**
+ * Idempotency-Key 로 저장하는 값
+ * response 가 null 이면 처음 요청을 아직 처리 중인 상태다.
+ *
+ * @param fingerprint 요청 본문 hash (같은 키를 다른 요청에 쓰는 것을 막는다)
+ * @param response    처리 결과 응답(JSON)
+ */
+public record IdempotencyRecord(String fingerprint, String response) {
+    public static IdempotencyRecord pending(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, null);
+    }
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
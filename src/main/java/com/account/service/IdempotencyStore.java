@@ -0,0 +1,28 @@
+package com.account.service;
+
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 저장소
+ */
+public interface IdempotencyStore {
+    Optional<IdempotencyRecord> find(String key);
+
+    /**
+     * 처리 중 표시를 남긴다. 이미 키가 있으면 false 를 돌려준다.
+     */
+    boolean claim(String key, String fingerprint);
+
+    void complete(String key, IdempotencyRecord record);
+
+    /**
+     * 처리는 끝났지만 응답을 저장하지 못한 경우 처리 중 표시를 응답 보관 시간(ttl)만큼 남긴다.
+     * 그동안 같은 키로 다시 요청하면 실행하지 않고 IDEMPOTENCY_KEY_IN_PROGRESS 로 응답한다.
+     */
+    void holdPending(String key, String fingerprint);
+
+    /**
+     * 처리에 실패한 경우 처리 중 표시를 지워서 다시 요청할 수 있게 한다.
+     */
+    void release(String key);
+}
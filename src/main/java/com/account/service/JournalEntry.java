@@ -0,0 +1,92 @@
+package com.account.service;
+
+import com.account.domain.Transaction;
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 거래 저널에 남기는 한 건
+ * TRANSACTION 은 거래 한 건, VOID 는 저널에 남긴 뒤 DB 트랜잭션이 롤백된 거래를 지우라는 표시다.
+ */
+public record JournalEntry(
+        Kind kind,
+        String transactionId,
+        TransactionType transactionType,
+        TransactionResultType transactionResultType,
+        long accountId,
+        long amount,
+        long balanceSnapshot,
+        LocalDateTime transactedAt
+) {
+    public enum Kind {
+        TRANSACTION, VOID
+    }
+
+    public static JournalEntry of(Transaction transaction) {
+        return new JournalEntry(
+                Kind.TRANSACTION,
+                transaction.getTransactionId(),
+                transaction.getTransactionType(),
+                transaction.getTransactionResultType(),
+                transaction.getAccount().getId(),
+                transaction.getAmount(),
+                transaction.getBalanceSnapshot(),
+                transaction.getTransactedAt()
+        );
+    }
+
+    public static JournalEntry voidOf(String transactionId) {
+        return new JournalEntry(Kind.VOID, transactionId, null, null, 0L, 0L, 0L, null);
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(kind.ordinal());
+            out.writeUTF(transactionId);
+            if (kind == Kind.TRANSACTION) {
+                out.writeUTF(transactionType.name());
+                out.writeUTF(transactionResultType.name());
+                out.writeLong(accountId);
+                out.writeLong(amount);
+                out.writeLong(balanceSnapshot);
+                out.writeLong(transactedAt.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(transactedAt.getNano());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static JournalEntry decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            Kind kind = Kind.values()[in.readByte()];
+            String transactionId = in.readUTF();
+            if (kind == Kind.VOID) {
+                return voidOf(transactionId);
+            }
+            return new JournalEntry(
+                    kind,
+                    transactionId,
+                    TransactionType.valueOf(in.readUTF()),
+                    TransactionResultType.valueOf(in.readUTF()),
+                    in.readLong(),
+                    in.readLong(),
+                    in.readLong(),
+                    LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
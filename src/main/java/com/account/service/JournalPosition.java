@@ -0,0 +1,18 @@
+package com.account.service;
+
+/**
+ * 거래 저널 안의 위치 (세그먼트 번호, 세그먼트 안의 offset)
+ */
+public record JournalPosition(long segment, int offset) implements Comparable<JournalPosition> {
+    public static final JournalPosition START = new JournalPosition(0L, 0);
+
+    @Override
+    public int compareTo(JournalPosition other) {
+        int compared = Long.compare(segment, other.segment);
+        return compared != 0 ? compared : Integer.compare(offset, other.offset);
+    }
+
+    public boolean isBefore(JournalPosition other) {
+        return compareTo(other) < 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.account.service;
+
+import com.account.domain.Transaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 거래를 저널에 남기고(group commit 으로 디스크 반영까지 기다림) Transaction 테이블은 applier 가 채운다.
+ * 잔액 변경과 같은 DB 트랜잭션 안에서 저널에 먼저 남기므로, 그 트랜잭션이 롤백되면 VOID 를 남겨서 지운다.
+ * 저널에 남긴 뒤 DB commit 전에 서버가 죽으면 VOID 를 남기지 못해 잔액 변경 없는 거래가 반영될 수 있다.
+ * (응답을 받은 거래가 사라지는 것보다 이쪽을 택했다)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JournalTransactionWriter implements TransactionWriter {
+    private final TransactionJournal transactionJournal;
+    private final TransactionJournalApplier transactionJournalApplier;
+
+    @Override
+    public Transaction write(Transaction transaction) {
+        writeAll(List.of(transaction));
+        return transaction;
+    }
+
+    /**
+     * 여러 건을 한 번의 group commit 으로 남긴다.
+     */
+    @Override
+    public void writeAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<String> transactionIds = transactions.stream()
+                .map(Transaction::getTransactionId)
+                .toList();
+
+        // applier 가 먼저 반영하고 지우는 일이 없도록 저널에 남기기 전에 등록한다.
+        transactionIds.forEach(transactionJournalApplier::track);
+        try {
+            transactionJournal.appendAll(transactions.stream()
+                    .map(transaction -> JournalEntry.of(transaction).encode())
+                    .toList());
+        } catch (RuntimeException e) {
+            transactionIds.forEach(transactionJournalApplier::untrack);
+            throw e;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        voidTransactions(transactionIds);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public boolean flushPending(String transactionId) {
+        if (!transactionJournalApplier.isPending(transactionId)) {
+            return false;
+        }
+        transactionJournalApplier.applyPending();
+        return true;
+    }
+
+    private void voidTransactions(List<String> transactionIds) {
+        try {
+            transactionJournal.appendAll(transactionIds.stream()
+                    .map(transactionId -> JournalEntry.voidOf(transactionId).encode())
+                    .toList());
+        } catch (RuntimeException e) {
+            log.error("Failed to void rolled back transactions {} in journal", transactionIds, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.account.service;
+
+import com.account.domain.Transaction;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 요청마다 JPA 로 insert 하는 방식 (요청의 DB 트랜잭션과 함께 commit)
+ * 여러 건은 JDBC batch insert 로 저장한다.
+ */
+@RequiredArgsConstructor
+public class JpaTransactionWriter implements TransactionWriter {
+    private final TransactionRepository transactionRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+
+    @Override
+    public Transaction write(Transaction transaction) {
+        return transactionRepository.save(transaction);
+    }
+
+    @Override
+    public void writeAll(List<Transaction> transactions) {
+        transactionJdbcRepository.batchInsert(transactions);
+    }
+
+    @Override
+    public boolean flushPending(String transactionId) {
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.account.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 잔액 저널(account.balance.engine=sharded)에 남기는 한 건
+ * shard 가 한 번에 처리한 묶음에서 바뀐 계좌의 변경 후 잔액 (계좌 id -> 잔액)
+ * 변경량이 아니라 잔액을 남기기 때문에 같은 기록을 여러 번 반영해도 결과가 같다.
+ */
+public record LedgerEntry(Map<Long, Long> balances) {
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + balances.size() * 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(balances.size());
+            for (Map.Entry<Long, Long> balance : balances.entrySet()) {
+                out.writeLong(balance.getKey());
+                out.writeLong(balance.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static LedgerEntry decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int size = in.readInt();
+            Map<Long, Long> balances = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                balances.put(in.readLong(), in.readLong());
+            }
+            return new LedgerEntry(balances);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 계좌번호로 나눈 잔액 shard 하나 (ShardedLedger)
+ * 이 shard 의 계좌 잔액은 shard 스레드 하나만 읽고 바꾸기 때문에 lock 이 없다.
+ * 요청은 큐로 받고, 쌓인 만큼(max-batch) 한 번에 처리한 뒤 바뀐 잔액을 저널에 한 건으로 남기고 응답한다.
+ * 저널에 남기지 못하면 그 묶음의 변경은 되돌리고 모두 실패로 응답한다.
+ * 계좌 해지도 이 shard 를 거쳐서 잔액을 확인하고, 해지가 commit 되면 가진 계좌를 버린다.
+ */
+@Slf4j
+class LedgerShard {
+    private static final long POLL_MILLIS = 100L;
+
+    enum Operation {
+        USE, CANCEL,
+        // 잔액 변경 후 DB 트랜잭션이 롤백되었거나 응답하지 못한 경우 되돌린다. (잔액 검증 없음)
+        REVERT_USE, REVERT_CANCEL
+    }
+
+    enum AccountOperation {
+        // 잔액이 없는지 확인하고 해지 중으로 표시한다. (해지 트랜잭션이 끝날 때까지 사용/취소 거절)
+        UNREGISTER,
+        // 해지가 commit 되면 가진 계좌를 버린다. (다음 요청은 DB 에서 해지된 계좌를 읽는다)
+        EVICT,
+        // 해지가 롤백되면 다시 사용할 수 있게 한다.
+        REOPEN
+    }
+
+    sealed interface Command permits BalanceCommand, AccountCommand, SnapshotCommand {
+    }
+
+    record BalanceCommand(
+            Operation operation, String accountNumber, long amount, CompletableFuture<Account> result
+    ) implements Command {
+    }
+
+    record AccountCommand(
+            AccountOperation operation, String accountNumber, CompletableFuture<Account> result
+    ) implements Command {
+    }
+
+    /**
+     * 마지막 snapshot 이후 바뀐 계좌 잔액 (계좌 id -> 잔액)
+     */
+    record SnapshotCommand(CompletableFuture<Map<Long, Long>> result) implements Command {
+    }
+
+    private final int index;
+    private final TransactionJournal transactionJournal;
+    private final Function<String, Optional<Account>> accountLoader;
+    private final int maxBatch;
+    private final BlockingQueue<Command> queue;
+
+    // shard 스레드만 접근한다.
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final Map<Long, Account> dirty = new HashMap<>();
+    // 해지 트랜잭션이 끝나기를 기다리는 계좌번호
+    private final Set<String> closing = new HashSet<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    LedgerShard(
+            int index,
+            TransactionJournal transactionJournal,
+            Function<String, Optional<Account>> accountLoader,
+            int queueCapacity,
+            int maxBatch
+    ) {
+        this.index = index;
+        this.transactionJournal = transactionJournal;
+        this.accountLoader = accountLoader;
+        this.maxBatch = maxBatch;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "ledger-shard-" + index);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 큐에 남은 요청까지 처리하고 멈춘다.
+     */
+    void stop() {
+        running = false;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return 큐가 가득 찼거나 멈춘 경우 false
+     */
+    boolean offer(Command command) {
+        return running && queue.offer(command);
+    }
+
+    /**
+     * 되돌리기와 snapshot 은 버리면 안 되므로 큐에 자리가 날 때까지 기다린다.
+     */
+    void put(Command command) throws InterruptedException {
+        queue.put(command);
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Command first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ledger shard {} failed to process {} commands", index, batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Command> batch) {
+        // 저널에 남기지 못한 경우 되돌릴 처음 잔액
+        Map<Account, Long> before = new IdentityHashMap<>();
+        Map<Long, Long> changed = new LinkedHashMap<>();
+        List<CompletableFuture<Account>> futures = new ArrayList<>(batch.size());
+        List<Account> results = new ArrayList<>(batch.size());
+        List<SnapshotCommand> snapshots = new ArrayList<>();
+
+        for (Command command : batch) {
+            if (command instanceof SnapshotCommand snapshot) {
+                snapshots.add(snapshot);
+                continue;
+            }
+            if (command instanceof AccountCommand accountCommand) {
+                try {
+                    accountCommand.result().complete(change(accountCommand, before));
+                } catch (RuntimeException e) {
+                    accountCommand.result().completeExceptionally(e);
+                }
+                continue;
+            }
+
+            BalanceCommand balanceCommand = (BalanceCommand) command;
+            try {
+                Account account = account(balanceCommand.accountNumber());
+                long balance = account.getBalance();
+                apply(account, balanceCommand.operation(), balanceCommand.amount());
+
+                before.putIfAbsent(account, balance);
+                changed.put(account.getId(), account.getBalance());
+                futures.add(balanceCommand.result());
+                // 응답은 shard 가 계속 바꾸는 객체가 아니라 이 시점의 복사본으로 준다.
+                results.add(copyOf(account));
+            } catch (RuntimeException e) {
+                balanceCommand.result().completeExceptionally(e);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            try {
+                transactionJournal.append(new LedgerEntry(changed).encode());
+                for (Account account : before.keySet()) {
+                    dirty.put(account.getId(), account);
+                }
+            } catch (RuntimeException e) {
+                log.error("Ledger shard {} failed to journal {} balances. Revert the batch.",
+                        index, changed.size(), e);
+                before.forEach(Account::setBalance);
+                futures.forEach(future -> future.completeExceptionally(
+                        new AccountException(ErrorCode.INTERNAL_SERVER_ERROR)));
+                futures.clear();
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            futures.get(i).complete(results.get(i));
+        }
+
+        // 이번 묶음을 저널에 남긴 뒤에 응답해서 snapshot 에는 저널에 있는 잔액만 들어간다.
+        for (SnapshotCommand snapshot : snapshots) {
+            Map<Long, Long> balances = new HashMap<>();
+            dirty.forEach((id, account) -> balances.put(id, account.getBalance()));
+            dirty.clear();
+            snapshot.result().complete(balances);
+        }
+    }
+
+    /**
+     * 처음 받은 계좌는 DB 에서 읽는다. 그 뒤로는 이 shard 가 가진 잔액이 기준이다.
+     */
+    private Account account(String accountNumber) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            account = accountLoader.apply(accountNumber)
+                    .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+            accounts.put(accountNumber, account);
+        }
+        return account;
+    }
+
+    private void apply(Account account, Operation operation, long amount) {
+        switch (operation) {
+            case USE -> {
+                if (account.getAccountStatus() != AccountStatus.IN_USE
+                        || closing.contains(account.getAccountNumber())) {
+                    throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+                }
+                account.useBalance(amount);
+            }
+            case CANCEL -> {
+                // 해지하면서 account 테이블에 잔액 0 을 저장하므로 그 사이에 잔액이 생기면 안 된다.
+                if (closing.contains(account.getAccountNumber())) {
+                    throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+                }
+                account.cancelBalance(amount);
+            }
+            case REVERT_USE -> account.setBalance(account.getBalance() + amount);
+            case REVERT_CANCEL -> account.setBalance(account.getBalance() - amount);
+        }
+    }
+
+    /**
+     * @param before 이 묶음에서 먼저 바뀐 계좌의 처음 잔액
+     */
+    private Account change(AccountCommand command, Map<Account, Long> before) {
+        String accountNumber = command.accountNumber();
+        return switch (command.operation()) {
+            case UNREGISTER -> {
+                Account account = account(accountNumber);
+                if (account.getAccountStatus() != AccountStatus.IN_USE || closing.contains(accountNumber)) {
+                    throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+                }
+                // 이 묶음의 변경은 저널에 남기지 못하면 되돌아가므로 바뀌기 전 잔액도 확인한다.
+                if (account.getBalance() > 0 || before.getOrDefault(account, 0L) > 0) {
+                    throw new AccountException(ErrorCode.ACCOUNT_HAS_BALANCE);
+                }
+                closing.add(accountNumber);
+                yield copyOf(account);
+            }
+            case EVICT -> {
+                closing.remove(accountNumber);
+                yield accounts.remove(accountNumber);
+            }
+            case REOPEN -> {
+                closing.remove(accountNumber);
+                yield accounts.get(accountNumber);
+            }
+        };
+    }
+
+    /**
+     * 거래 내역의 계좌로 쓸 수 있도록 id, version 까지 복사한다. (영속 상태가 아닌 detached)
+     */
+    private static Account copyOf(Account account) {
+        Account copy = Account.builder()
+                .accountNumber(account.getAccountNumber())
+                .accountStatus(account.getAccountStatus())
+                .balance(account.getBalance())
+                .registeredAt(account.getRegisteredAt())
+                .unRegisteredAt(account.getUnRegisteredAt())
+                .version(account.getVersion())
+                .build();
+        copy.setId(account.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,47 @@
+package com.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 서버 한 대로 운영할 때 쓰는 JVM 내부 Idempotency-Key 저장소
+ * 개수가 maximum-size 를 넘으면 오래된 키부터 지워진다.
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, IdempotencyRecord> records;
+
+    public LocalIdempotencyStore(long maximumSize, Duration ttl) {
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(records.getIfPresent(key));
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint) {
+        return records.asMap().putIfAbsent(key, IdempotencyRecord.pending(fingerprint)) == null;
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record) {
+        records.put(key, record);
+    }
+
+    @Override
+    public void holdPending(String key, String fingerprint) {
+        records.put(key, IdempotencyRecord.pending(fingerprint));
+    }
+
+    @Override
+    public void release(String key) {
+        records.invalidate(key);
+    }
+}
@@ -0,0 +1,61 @@
+package com.account.service;
+
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서버 한 대로 운영할 때 쓰는 JVM 내부 lock
+ * 계좌번호 hash 로 고른 stripe 하나를 잡기 때문에 Redis 를 거치지 않는다.
+ * 서로 다른 계좌가 같은 stripe 에 걸릴 수 있어서 stripe 개수는 동시에 처리하는 계좌 수보다 넉넉하게 잡는다.
+ */
+@Slf4j
+public class LocalStripedLockProvider implements AccountLockProvider {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public LocalStripedLockProvider(int stripeCount) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 프로세스가 죽으면 lock 도 함께 사라지기 때문에 leaseMillis 는 사용하지 않는다.
+     */
+    @Override
+    public void accountLock(String accountNumber, long waitMillis, long leaseMillis) {
+        log.debug("Trying local lock for accountNumber : {}", accountNumber);
+
+        try {
+            if (!stripeOf(accountNumber).tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                log.error("==========Local lock acquisition failed==========");
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    @Override
+    public void accountUnLock(String accountNumber) {
+        log.debug("Local unlock for accountNumber : {}", accountNumber);
+        stripeOf(accountNumber).unlock();
+    }
+
+    private ReentrantLock stripeOf(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
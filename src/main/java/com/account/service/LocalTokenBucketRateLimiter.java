@@ -0,0 +1,88 @@
+package com.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * JVM 내부 token bucket
+ * 키마다 bucket 이 따로 있어서 한 키에 요청이 몰려도 다른 키의 한도에는 영향이 없다.
+ * 서버마다 한도를 따로 세기 때문에 서버 여러 대의 전체 한도는 hybrid 로 Redis 에서 센다.
+ */
+public class LocalTokenBucketRateLimiter implements RequestRateLimiter {
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    public LocalTokenBucketRateLimiter(long maximumSize, Duration idleTtl) {
+        this(maximumSize, idleTtl, System::nanoTime);
+    }
+
+    LocalTokenBucketRateLimiter(long maximumSize, Duration idleTtl, LongSupplier nanoClock) {
+        // 한동안 요청이 없던 키는 bucket 이 가득 찬 것과 같으므로 지워도 된다.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTtl)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimit rateLimit) {
+        long now = nanoClock.getAsLong();
+        return buckets.get(key, k -> new TokenBucket(rateLimit, now))
+                .tryAcquire(now);
+    }
+
+    @Override
+    public boolean hasPermit(String key, RateLimit rateLimit) {
+        long now = nanoClock.getAsLong();
+        return buckets.get(key, k -> new TokenBucket(rateLimit, now))
+                .hasPermit(now);
+    }
+
+    @Override
+    public void release(String key, RateLimit rateLimit) {
+        // bucket 이 지워졌으면 이미 가득 찬 것과 같다.
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.release();
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double permitsPerNano;
+        private final double burst;
+
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(RateLimit rateLimit, long now) {
+            this.permitsPerNano = rateLimit.permitsPerSecond() / 1_000_000_000.0;
+            this.burst = rateLimit.burst();
+            this.tokens = burst;
+            this.refilledAt = now;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            if (!hasPermit(now)) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+
+        private synchronized boolean hasPermit(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+                refilledAt = now;
+            }
+            return tokens >= 1.0;
+        }
+
+        private synchronized void release() {
+            tokens = Math.min(burst, tokens + 1.0);
+        }
+    }
+}
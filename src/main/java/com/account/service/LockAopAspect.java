@@ -1,34 +1,158 @@
 package com.account.service;
 
+import com.account.aop.AccountLock;
 import com.account.aop.AccountLockIdInterface;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionResultType.S;
+
+/**
+ * 계좌 lock 을 잡고 실행한다.
+ * AccountLockQueue 가 있으면(account.lock.queue.enabled) 계좌별 대기열을 거쳐서 combiner 가 잡은 lock 안에서 실행한다.
+ */
 @Aspect
 @Component
 @Slf4j
-@RequiredArgsConstructor
+@Order(100)
 public class LockAopAspect {
-    private final RedisLockService redisLockService;
+    private final AccountLockProvider accountLockProvider;
+    private final AdaptiveLockLease adaptiveLockLease;
+    private final MeterRegistry meterRegistry;
+    // null 이면 요청마다 lock 을 잡는다.
+    private final AccountLockQueue accountLockQueue;
+
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> holdTimers = new ConcurrentHashMap<>();
+
+    public LockAopAspect(
+            AccountLockProvider accountLockProvider,
+            AdaptiveLockLease adaptiveLockLease,
+            MeterRegistry meterRegistry,
+            @Nullable AccountLockQueue accountLockQueue
+    ) {
+        this.accountLockProvider = accountLockProvider;
+        this.adaptiveLockLease = adaptiveLockLease;
+        this.meterRegistry = meterRegistry;
+        this.accountLockQueue = accountLockQueue;
+    }
 
     // before after 에 해야하는 동작을 따로 표시해주지 않아도 around 한 개로 가능
-    @Around("@annotation(com.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)")
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
+            AccountLock accountLock,
             AccountLockIdInterface request
     ) throws Throwable {
+        String endpoint = pjp.getSignature().getName();
+        if (accountLockQueue != null) {
+            return aroundQueued(pjp, accountLock, request, endpoint);
+        }
+
         // lock 취득 시도
-        redisLockService.accountLock(request.getAccountNumber());
+        long waitStartedAt = System.nanoTime();
+        boolean locked = false;
+        try {
+            accountLockProvider.accountLock(
+                    request.getAccountNumber(),
+                    accountLock.tryLockTime(),
+                    resolveLeaseMillis(accountLock, endpoint)
+            );
+            locked = true;
+        } finally {
+            // lock 을 못 잡은 대기 시간은 result=F 로 따로 본다.
+            timer(waitTimers, "account.lock.wait", endpoint, locked)
+                    .record(System.nanoTime() - waitStartedAt, TimeUnit.NANOSECONDS);
+        }
+
+        long lockedAt = System.nanoTime();
+        boolean succeeded = false;
         try {
             // aop 를 걸어줬던 그 부분을 동작 시킨다.
-            return pjp.proceed();
+            Object result = pjp.proceed();
+            succeeded = true;
+            return result;
         } finally {
             // 동작이 성공하던 실패하던 무조건 lock 해제
-            redisLockService.accountUnLock(request.getAccountNumber());
+            accountLockProvider.accountUnLock(request.getAccountNumber());
+            recordHold(endpoint, lockedAt, succeeded);
+        }
+    }
+
+    /**
+     * 대기열에서 차례를 기다린 시간을 lock 대기 시간으로 본다.
+     * lock 해제는 combiner 가 하기 때문에 유지 시간은 요청 하나를 실행한 시간이다.
+     */
+    private Object aroundQueued(
+            ProceedingJoinPoint pjp,
+            AccountLock accountLock,
+            AccountLockIdInterface request,
+            String endpoint
+    ) throws Throwable {
+        long waitStartedAt = System.nanoTime();
+        AtomicBoolean started = new AtomicBoolean();
+        try {
+            return accountLockQueue.execute(
+                    request.getAccountNumber(),
+                    accountLock.tryLockTime(),
+                    resolveLeaseMillis(accountLock, endpoint),
+                    () -> {
+                        started.set(true);
+                        long startedAt = System.nanoTime();
+                        timer(waitTimers, "account.lock.wait", endpoint, true)
+                                .record(startedAt - waitStartedAt, TimeUnit.NANOSECONDS);
+
+                        boolean succeeded = false;
+                        try {
+                            Object result = pjp.proceed();
+                            succeeded = true;
+                            return result;
+                        } finally {
+                            recordHold(endpoint, startedAt, succeeded);
+                        }
+                    }
+            );
+        } finally {
+            if (!started.get()) {
+                timer(waitTimers, "account.lock.wait", endpoint, false)
+                        .record(System.nanoTime() - waitStartedAt, TimeUnit.NANOSECONDS);
+            }
         }
     }
+
+    private void recordHold(String endpoint, long lockedAt, boolean succeeded) {
+        long holdNanos = System.nanoTime() - lockedAt;
+        adaptiveLockLease.recordHold(endpoint, holdNanos);
+        timer(holdTimers, "account.lock.hold", endpoint, succeeded)
+                .record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private long resolveLeaseMillis(AccountLock accountLock, String endpoint) {
+        if (accountLock.leaseTime() == AccountLock.ADAPTIVE_LEASE) {
+            return adaptiveLockLease.leaseMillis(endpoint);
+        }
+        return accountLock.leaseTime();
+    }
+
+    private Timer timer(Map<String, Timer> timers, String name, String endpoint, boolean succeeded) {
+        String result = succeeded ? S.name() : F.name();
+        return timers.computeIfAbsent(endpoint + '.' + result, key -> Timer.builder(name)
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
 }
@@ -0,0 +1,15 @@
+package com.account.service;
+
+/**
+ * 계좌 lock 을 잡지 않는다.
+ * 잔액 변경을 DB 에서 직접 지켜주는 경우(account.balance.engine=atomic | optimistic)에만 사용한다.
+ */
+public class NoOpLockProvider implements AccountLockProvider {
+    @Override
+    public void accountLock(String accountNumber, long waitMillis, long leaseMillis) {
+    }
+
+    @Override
+    public void accountUnLock(String accountNumber) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.repository.AccountRepository;
+import com.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * lock 없이 계좌를 읽어서 바꾸고, 커밋할 때 @Version 으로 충돌을 확인하는 방식
+ * 충돌하면 OptimisticLockingFailureException 이 나고 OptimisticRetryAspect 가 다시 실행한다.
+ */
+@RequiredArgsConstructor
+public class OptimisticBalanceEngine implements BalanceEngine {
+    private final AccountRepository accountRepository;
+
+    @Override
+    public Account useBalance(Long accountId, String accountNumber, Long amount) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        // 읽은 뒤에 해지되면 @Version 충돌로 다시 실행되면서 여기서 걸린다.
+        TransactionRules.validateInUse(account.getAccountStatus());
+        account.useBalance(amount);
+        return account;
+    }
+
+    @Override
+    public Account cancelBalance(Account account, Long amount) {
+        account.cancelBalance(amount);
+        return account;
+    }
+}
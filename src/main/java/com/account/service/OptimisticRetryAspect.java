@@ -0,0 +1,92 @@
+package com.account.service;
+
+import com.account.aop.OptimisticRetry;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 버전 충돌 시 재시도 (account.balance.engine=optimistic 일 때만 등록)
+ * 커밋 시점의 충돌까지 잡아야 하므로 @Transactional(LOWEST_PRECEDENCE) 보다 바깥에서 실행한다.
+ * 대기 시간은 backoff-millis * 2^(n-1) 를 넘지 않는 범위에서 무작위로 정한다.
+ * 최대 횟수를 넘으면 lock 실패와 같은 ACCOUNT_TRANSACTION_LOCK 으로 응답한다.
+ *
+ * account.optimistic.calls / conflicts / retries {method} 로 충돌률, 재시도율을 볼 수 있다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(300)
+@ConditionalOnProperty(name = "account.balance.engine", havingValue = "optimistic")
+public class OptimisticRetryAspect {
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticRetryAspect(
+            MeterRegistry meterRegistry,
+            @Value("${account.balance.retry.max-attempts:5}") int maxAttempts,
+            @Value("${account.balance.retry.backoff-millis:5}") long backoffMillis,
+            @Value("${account.balance.retry.max-backoff-millis:100}") long maxBackoffMillis
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    @Around("@annotation(optimisticRetry)")
+    public Object retry(ProceedingJoinPoint pjp, OptimisticRetry optimisticRetry) throws Throwable {
+        String method = pjp.getSignature().getName();
+        counter("account.optimistic.calls", method).increment();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                counter("account.optimistic.conflicts", method).increment();
+                if (attempt >= maxAttempts) {
+                    log.error("Optimistic retry exhausted. method : {}, attempts : {}", method, attempt);
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+
+                counter("account.optimistic.retries", method).increment();
+                sleep(backoffDelayMillis(attempt));
+            }
+        }
+    }
+
+    long backoffDelayMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private Counter counter(String name, String method) {
+        return Counter.builder(name)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.account.service;
+
+/**
+ * 요청 한도 : 초당 permitsPerSecond 개씩 채워지고 최대 burst 개까지 쌓이는 token bucket
+ */
+public record RateLimit(long permitsPerSecond, long burst) {
+    public RateLimit {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+    }
+
+    // burst 개가 다시 채워지는 시간
+    public long burstMillis() {
+        return Math.max(1L, burst * 1000L / permitsPerSecond);
+    }
+}
@@ -0,0 +1,91 @@
+package com.account.service;
+
+import com.account.aop.AccountLockIdInterface;
+import com.account.aop.RateLimitUserIdInterface;
+import com.account.aop.RateLimited;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자(userId), 계좌(accountNumber)별 요청 한도를 넘은 요청을 TOO_MANY_REQUESTS 로 바로 거절한다.
+ * 가장 바깥(10)에서 실행되어 거절된 요청은 Idempotency-Key 저장소(20), 계좌 lock(100), DB 를 거치지 않는다.
+ * 한 계좌에 요청을 쏟아내는 클라이언트가 lock 대기로 worker 를 붙잡지 못하게 한다.
+ * 한 쪽 한도에 걸릴 요청이 다른 쪽 한도를 쓰지 않도록 두 한도를 먼저 확인한 뒤 계좌, 사용자 순서로 꺼낸다.
+ * 확인한 사이에 다른 요청이 사용자 한도를 꺼내 가서 거절되면 꺼낸 계좌 한도를 돌려준다.
+ *
+ * account.rate-limit.provider=none (기본값) 이면 빈으로 등록하지 않는다.
+ *
+ * account.rate-limit.rejected{endpoint, scope=user|account}
+ */
+@Aspect
+@Component
+@Order(10)
+@ConditionalOnExpression("'${account.rate-limit.provider:none}' != 'none'")
+public class RateLimitAspect {
+    private final RequestRateLimiter requestRateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final RateLimit userRateLimit;
+    private final RateLimit accountRateLimit;
+
+    public RateLimitAspect(
+            RequestRateLimiter requestRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${account.rate-limit.user.permits-per-second:100}") long userPermitsPerSecond,
+            @Value("${account.rate-limit.user.burst:200}") long userBurst,
+            @Value("${account.rate-limit.account.permits-per-second:20}") long accountPermitsPerSecond,
+            @Value("${account.rate-limit.account.burst:40}") long accountBurst
+    ) {
+        this.requestRateLimiter = requestRateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.userRateLimit = new RateLimit(userPermitsPerSecond, userBurst);
+        this.accountRateLimit = new RateLimit(accountPermitsPerSecond, accountBurst);
+    }
+
+    @Around("@annotation(rateLimited) && args(request)")
+    public Object limit(
+            ProceedingJoinPoint pjp,
+            RateLimited rateLimited,
+            AccountLockIdInterface request
+    ) throws Throwable {
+        String endpoint = pjp.getSignature().getName();
+        String accountKey = "account:" + request.getAccountNumber();
+        String userKey = request instanceof RateLimitUserIdInterface userRequest
+                ? "user:" + userRequest.getUserId()
+                : null;
+
+        if (!requestRateLimiter.hasPermit(accountKey, accountRateLimit)) {
+            reject(endpoint, "account");
+        }
+        if (userKey != null && !requestRateLimiter.hasPermit(userKey, userRateLimit)) {
+            reject(endpoint, "user");
+        }
+        // 확인한 사이에 다른 요청이 꺼내 간 경우 (아직 아무 한도도 꺼내지 않았다)
+        if (!requestRateLimiter.tryAcquire(accountKey, accountRateLimit)) {
+            reject(endpoint, "account");
+        }
+        if (userKey != null && !requestRateLimiter.tryAcquire(userKey, userRateLimit)) {
+            requestRateLimiter.release(accountKey, accountRateLimit);
+            reject(endpoint, "user");
+        }
+
+        return pjp.proceed();
+    }
+
+    private void reject(String endpoint, String scope) {
+        Counter.builder("account.rate-limit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+        throw new AccountException(ErrorCode.TOO_MANY_REQUESTS);
+    }
+}
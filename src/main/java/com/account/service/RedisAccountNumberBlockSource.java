@@ -0,0 +1,53 @@
+package com.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Redis 의 카운터로 구간을 임대
+ * INCRBY 한 번으로 구간 하나를 가져오기 때문에 여러 서버가 같은 카운터를 공유해도 겹치지 않는다.
+ * 카운터가 없으면(처음 실행, Redis 의 키 유실) 이미 쓰인 가장 큰 계좌번호 다음부터 시작한다.
+ */
+@RequiredArgsConstructor
+public class RedisAccountNumberBlockSource implements AccountNumberBlockSource {
+    private static final String COUNTER_KEY = "ACNO:BLOCK";
+    private static final String MAX_ACCOUNT_NUMBER_SQL = "select max(account_number) from account";
+    // 카운터가 없으면 ARGV[2] (시작 offset) 로 만든 뒤 INCRBY, ARGV[2] 도 없으면 nil 을 돌려준다.
+    private static final String RESERVE_BLOCK_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 0 then "
+                    + "if ARGV[2] == nil then return nil end "
+                    + "redis.call('set', KEYS[1], ARGV[2]) "
+                    + "end "
+                    + "return redis.call('incrby', KEYS[1], ARGV[1]) - tonumber(ARGV[1])";
+
+    private final RedissonClient redissonClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long reserveBlock(int blockSize) {
+        Long start = reserve(blockSize);
+        if (start == null) {
+            // 카운터를 여러 서버가 같이 만들어도 스크립트 안에서 한 번만 만든다.
+            start = reserve(blockSize, firstUnusedOffset());
+        }
+        return start;
+    }
+
+    private Long reserve(Object... args) {
+        return redissonClient.getScript(LongCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, RESERVE_BLOCK_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(COUNTER_KEY), args);
+    }
+
+    private long firstUnusedOffset() {
+        String maxAccountNumber = jdbcTemplate.queryForObject(MAX_ACCOUNT_NUMBER_SQL, String.class);
+        return maxAccountNumber == null
+                ? 0L
+                : Long.parseLong(maxAccountNumber) - BlockAccountNumberAllocator.FIRST_ACCOUNT_NUMBER + 1;
+    }
+}
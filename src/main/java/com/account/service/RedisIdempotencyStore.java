@@ -0,0 +1,78 @@
+package com.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis 에 TTL 을 걸어서 저장하는 Idempotency-Key 저장소 (서버 여러 대가 공유)
+ * 처리 중 표시는 pending-ttl 이 지나면 사라져서 처리 도중 서버가 죽어도 키가 묶이지 않는다.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+    private static final String KEY_PREFIX = "IDEM:";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+
+    public RedisIdempotencyStore(
+            RedissonClient redissonClient, ObjectMapper objectMapper, Duration ttl, Duration pendingTtl
+    ) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingTtl = pendingTtl;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(bucket(key).get())
+                .map(this::read);
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint) {
+        return bucket(key).setIfAbsent(write(IdempotencyRecord.pending(fingerprint)), pendingTtl);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record) {
+        bucket(key).set(write(record), ttl);
+    }
+
+    @Override
+    public void holdPending(String key, String fingerprint) {
+        bucket(key).set(write(IdempotencyRecord.pending(fingerprint)), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        bucket(key).delete();
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid idempotency record : " + value, e);
+        }
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
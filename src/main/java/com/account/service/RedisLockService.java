@@ -2,7 +2,8 @@ package com.account.service;
 
 import com.account.exception.AccountException;
 import com.account.type.ErrorCode;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
@@ -12,16 +13,29 @@ import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class RedisLockService {
+public class RedisLockService implements AccountLockProvider {
     private final RedissonClient redissonClient;
+    // 해제하기 전에 lease 가 끝나서 이미 풀린 lock
+    private final Counter expiredLeases;
 
-    public void accountLock(String accountNumber) {
+    public RedisLockService(RedissonClient redissonClient, MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.expiredLeases = Counter.builder("account.lock.expired.leases")
+                .description("Account locks whose lease ended before unlock")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void accountLock(String accountNumber, long waitMillis, long leaseMillis) {
         RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for accountNumber : {}", accountNumber);
+        log.debug("Trying lock for accountNumber : {}, wait : {}ms, lease : {}ms",
+                accountNumber, waitMillis, leaseMillis);
 
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
+            // lease 가 없으면 Redisson watchdog 이 lock 을 잡고 있는 동안 계속 연장해준다.
+            boolean isLock = leaseMillis > 0
+                    ? lock.tryLock(waitMillis, leaseMillis, TimeUnit.MILLISECONDS)
+                    : lock.tryLock(waitMillis, TimeUnit.MILLISECONDS);
             if (!isLock) {
                 log.error("==========Lock acquisition failed==========");
                 throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
@@ -33,9 +47,31 @@ public class RedisLockService {
         }
     }
 
+    /**
+     * lock 을 잡은 시간이 lease 보다 길면 lock 이 이미 풀려 있다. (다른 요청이 잡았을 수도 있다)
+     * 이때 unlock 이 IllegalMonitorStateException 을 던지면 LockAopAspect 의 finally 에서 처리 결과를 덮어쓰므로
+     * 예외를 던지지 않고 로그와 account.lock.expired.leases 로 남긴다.
+     */
+    @Override
     public void accountUnLock(String accountNumber) {
         log.debug("Unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+        if (!lock.isHeldByCurrentThread()) {
+            expiredLease(accountNumber);
+            return;
+        }
+
+        try {
+            lock.unlock();
+        } catch (IllegalMonitorStateException e) {
+            // 확인한 뒤 unlock 하기 전에 lease 가 끝난 경우
+            expiredLease(accountNumber);
+        }
+    }
+
+    private void expiredLease(String accountNumber) {
+        log.warn("Lock lease expired before unlock for accountNumber : {}", accountNumber);
+        expiredLeases.increment();
     }
 
     private static String getLockKey(String accountNumber) {
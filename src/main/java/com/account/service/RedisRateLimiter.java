@@ -0,0 +1,74 @@
+package com.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+
+import java.time.Duration;
+
+/**
+ * Redisson RRateLimiter 로 서버 여러 대가 한도를 함께 센다.
+ * burst 개를 burstMillis 동안 허용해서 token bucket 과 같은 평균 속도와 최대 burst 를 갖는다.
+ * 키는 마지막으로 설정한 뒤 ttl 이 지나면 Redis 에서 사라진다.
+ * Redis 장애로 한도를 확인하지 못한 요청은 막지 않는다. (계좌 lock 에서 다시 Redis 를 거친다)
+ * RRateLimiter 는 꺼낸 요청을 돌려받지 못해서 release 는 아무것도 하지 않는다.
+ */
+@Slf4j
+public class RedisRateLimiter implements RequestRateLimiter {
+    private static final String KEY_PREFIX = "RATE:";
+
+    private final RedissonClient redissonClient;
+    private final Duration ttl;
+    // 한도를 설정해 둔 RRateLimiter (Redis 의 키보다 먼저 지워지도록 ttl 의 절반만 보관)
+    private final Cache<String, RRateLimiter> limiters;
+
+    public RedisRateLimiter(RedissonClient redissonClient, long maximumSize, Duration ttl) {
+        this.redissonClient = redissonClient;
+        this.ttl = ttl;
+        this.limiters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.dividedBy(2))
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimit rateLimit) {
+        try {
+            return limiters.get(key, k -> rateLimiter(k, rateLimit))
+                    .tryAcquire();
+        } catch (RedisException e) {
+            log.warn("Failed to check rate limit. key : {}", key, e);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean hasPermit(String key, RateLimit rateLimit) {
+        try {
+            return limiters.get(key, k -> rateLimiter(k, rateLimit))
+                    .availablePermits() > 0;
+        } catch (RedisException e) {
+            log.warn("Failed to check rate limit. key : {}", key, e);
+            return true;
+        }
+    }
+
+    @Override
+    public void release(String key, RateLimit rateLimit) {
+        // 돌려줄 방법이 없다. 꺼내기 전에 hasPermit 으로 확인해서 돌려줄 일을 줄인다.
+    }
+
+    private RRateLimiter rateLimiter(String key, RateLimit rateLimit) {
+        RRateLimiter rateLimiter = redissonClient.getRateLimiter(KEY_PREFIX + key);
+        // 이미 다른 서버가 설정했으면 그대로 둔다.
+        rateLimiter.trySetRate(RateType.OVERALL, rateLimit.burst(),
+                rateLimit.burstMillis(), RateIntervalUnit.MILLISECONDS);
+        rateLimiter.expire(ttl);
+        return rateLimiter;
+    }
+}
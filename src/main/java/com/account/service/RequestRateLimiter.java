@@ -0,0 +1,21 @@
+package com.account.service;
+
+/**
+ * RateLimitAspect 가 사용할 요청 한도 저장소
+ */
+public interface RequestRateLimiter {
+    /**
+     * key 의 한도에서 요청 하나를 꺼낸다. 한도를 넘었으면 false 를 돌려준다.
+     */
+    boolean tryAcquire(String key, RateLimit rateLimit);
+
+    /**
+     * key 의 한도에 남은 요청이 있는지 꺼내지 않고 확인한다.
+     */
+    boolean hasPermit(String key, RateLimit rateLimit);
+
+    /**
+     * tryAcquire 로 꺼낸 요청을 처리하지 않게 되었을 때 key 의 한도에 돌려준다.
+     */
+    void release(String key, RateLimit rateLimit);
+}
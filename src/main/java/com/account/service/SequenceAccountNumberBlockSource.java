@@ -0,0 +1,43 @@
+package com.account.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * DB 에 저장한 임대 위치(account_number_block.next_offset)로 구간을 임대
+ * 구간의 시작 offset 을 그대로 저장하기 때문에 block-size 가 바뀌어도 이미 임대한 구간과 겹치지 않는다.
+ * 이미 쓰인 가장 큰 계좌번호보다 앞으로는 돌아가지 않는다. (redis 저장소를 쓰다가 바꾼 경우)
+ * row lock 을 잡고 바로 commit 하므로 계좌 생성 트랜잭션과 따로 실행한다.
+ */
+public class SequenceAccountNumberBlockSource implements AccountNumberBlockSource {
+    private static final String RESERVE_BLOCK_SQL =
+            "update account_number_block "
+                    + "set next_offset = greatest(next_offset, coalesce("
+                    + "(select cast(max(account_number) as bigint) from account) - ? + 1, 0)) + ? "
+                    + "where id = 1";
+    private static final String NEXT_OFFSET_SQL =
+            "select next_offset from account_number_block where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SequenceAccountNumberBlockSource(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long reserveBlock(int blockSize) {
+        Long nextOffset = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(RESERVE_BLOCK_SQL,
+                    BlockAccountNumberAllocator.FIRST_ACCOUNT_NUMBER, blockSize) != 1) {
+                throw new IllegalStateException("account_number_block is not initialized");
+            }
+            return jdbcTemplate.queryForObject(NEXT_OFFSET_SQL, Long.class);
+        });
+        return nextOffset - blockSize;
+    }
+}
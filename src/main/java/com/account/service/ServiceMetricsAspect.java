@@ -0,0 +1,60 @@
+package com.account.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionResultType.S;
+
+/**
+ * TransactionService, AccountService 메서드별 처리 시간 (account.service {service, endpoint, result})
+ * result 는 정상 반환이면 S, 예외면 F 이다.
+ * 버전 충돌 재시도(OptimisticRetryAspect)와 commit 까지 포함하도록 그 바깥에서 실행한다.
+ */
+@Aspect
+@Component
+@Order(50)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.account.service.TransactionService.*(..))"
+            + " || execution(public * com.account.service.AccountService.*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        String service = pjp.getSignature().getDeclaringType().getSimpleName();
+        String endpoint = pjp.getSignature().getName();
+
+        long startedAt = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Object result = pjp.proceed();
+            succeeded = true;
+            return result;
+        } finally {
+            timer(service, endpoint, succeeded ? S.name() : F.name())
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String service, String endpoint, String result) {
+        String key = service + '.' + endpoint + '.' + result;
+        return timers.computeIfAbsent(key, k -> Timer.builder("account.service")
+                .tag("service", service)
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
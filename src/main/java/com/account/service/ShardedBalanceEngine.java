@@ -0,0 +1,87 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 잔액을 메모리 장부(ShardedLedger)의 shard 에 보내서 바꾸는 방식
+ * 계좌 row 를 건드리지 않아서 계좌 lock 이 없어도 된다.
+ * 잔액 변경은 DB 트랜잭션 밖에서 먼저 확정되므로, 그 트랜잭션(거래 내역 저장)이 롤백되면 되돌린다.
+ * 반환하는 Account 는 영속 상태가 아닌 복사본이라 잔액이 DB 에 바로 저장되지 않는다.
+ * 계좌 해지는 shard 에서 잔액을 확인하고, 해지가 commit 되면 shard 가 가진 계좌를 버린다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardedBalanceEngine implements BalanceEngine {
+    private final ShardedLedger shardedLedger;
+
+    @Override
+    public Account useBalance(Long accountId, String accountNumber, Long amount) {
+        Account account = shardedLedger.use(accountNumber, amount);
+        onRollback(() -> shardedLedger.revertUse(accountNumber, amount));
+        return account;
+    }
+
+    @Override
+    public Account cancelBalance(Account account, Long amount) {
+        String accountNumber = account.getAccountNumber();
+        Account cancelled = shardedLedger.cancel(accountNumber, amount);
+        onRollback(() -> shardedLedger.revertCancel(accountNumber, amount));
+        return cancelled;
+    }
+
+    /**
+     * 일괄 사용에서 읽어온 계좌 entity 의 잔액은 checkpoint 시점 값이라 쓰지 않고 shard 로 보낸다.
+     */
+    @Override
+    public Account useLockedBalance(Account account, Long amount) {
+        return useBalance(account.getId(), account.getAccountNumber(), amount);
+    }
+
+    /**
+     * account 테이블의 잔액은 checkpoint 시점 값이라 shard 의 잔액으로 확인한다.
+     * 해지 트랜잭션이 끝날 때까지 shard 는 이 계좌의 사용/취소를 거절한다.
+     */
+    @Override
+    public void unregister(Account account) {
+        String accountNumber = account.getAccountNumber();
+        Account unregistered = shardedLedger.unregister(accountNumber);
+        // 해지하면서 같이 저장되도록 장부의 잔액(0)으로 맞춘다. (checkpoint 를 기다리지 않는다)
+        account.setBalance(unregistered.getBalance());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            shardedLedger.closed(accountNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    shardedLedger.closed(accountNumber);
+                } else if (status == STATUS_ROLLED_BACK) {
+                    shardedLedger.reopen(accountNumber);
+                } else {
+                    // 해지됐는지 알 수 없으면 사용/취소를 계속 거절한다. (잘못 다시 열면 해지된 계좌의 잔액이 바뀐다)
+                    log.error("Unknown completion of unregistering account {}", accountNumber);
+                }
+            }
+        });
+    }
+
+    private static void onRollback(Runnable revert) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    revert.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,379 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.repository.AccountJdbcRepository;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 잔액을 메모리에서 관리하는 장부 (account.balance.engine=sharded)
+ * 계좌번호로 shard 를 정하고, shard 마다 스레드 하나가 잔액을 바꾸기 때문에 계좌 lock 이 없다.
+ * 바뀐 잔액은 shard 가 저널(group commit)에 남긴 뒤 응답하고,
+ * account 테이블에는 checkpoint-interval 마다 바뀐 계좌만 JDBC batch update 로 저장한다.
+ *
+ * 재시작하면 마지막 checkpoint 이후의 저널을 account 테이블에 반영한 뒤 요청을 받는다.
+ * 그래서 account 테이블의 잔액(계좌 조회)은 최대 checkpoint-interval 만큼 늦다.
+ * 해지할 때의 잔액 확인은 account 테이블이 아니라 계좌의 shard 에서 한다. (unregister)
+ */
+@Slf4j
+public class ShardedLedger implements SmartLifecycle, Closeable {
+    private static final int RECOVERY_BATCH = 1000;
+
+    private final TransactionJournal transactionJournal;
+    private final AccountJdbcRepository accountJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LedgerShard[] shards;
+    private final long timeoutMillis;
+    private final long checkpointIntervalMillis;
+    private final Path checkpointFile;
+
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    // shard 에서 받았지만 아직 DB 에 저장하지 못한 잔액 (다음 checkpoint 에서 다시 저장)
+    private final Map<Long, Long> unsaved = new HashMap<>();
+    private JournalPosition checkpoint;
+
+    private volatile boolean running;
+    private Thread checkpointer;
+
+    public ShardedLedger(
+            TransactionJournal transactionJournal,
+            Function<String, Optional<Account>> accountLoader,
+            AccountJdbcRepository accountJdbcRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            int shardCount,
+            int queueCapacity,
+            int maxBatch,
+            long timeoutMillis,
+            long checkpointIntervalMillis,
+            Path checkpointFile
+    ) {
+        this.transactionJournal = transactionJournal;
+        this.accountJdbcRepository = accountJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 잔액 사용 요청의 트랜잭션과 관계없이 따로 commit 한다.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        this.checkpointFile = checkpointFile;
+        this.checkpoint = readCheckpoint();
+
+        this.shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, transactionJournal, accountLoader, queueCapacity, maxBatch);
+            Gauge.builder("account.ledger.queue", shards[i], LedgerShard::queueSize)
+                    .tag("shard", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 잔액 사용 (Account.useBalance 와 같은 검증 + 해지된 계좌 거절)
+     *
+     * @return 변경 후 잔액을 가진 계좌 (영속 상태가 아닌 복사본)
+     */
+    public Account use(String accountNumber, long amount) {
+        return submit(LedgerShard.Operation.USE, LedgerShard.Operation.REVERT_USE, accountNumber, amount);
+    }
+
+    /**
+     * 잔액 사용 취소 (Account.cancelBalance 와 같은 검증)
+     */
+    public Account cancel(String accountNumber, long amount) {
+        return submit(LedgerShard.Operation.CANCEL, LedgerShard.Operation.REVERT_CANCEL, accountNumber, amount);
+    }
+
+    /**
+     * 계좌 해지 (장부에 잔액이 남아 있으면 ACCOUNT_HAS_BALANCE, 이미 해지 중이면 ACCOUNT_ALREADY_UNREGISTERED)
+     * 해지하는 DB 트랜잭션이 끝나면 closed 나 reopen 을 보내야 하고, 그 전까지 이 계좌의 사용/취소는 거절된다.
+     *
+     * @return 장부의 계좌 (잔액 0, 영속 상태가 아닌 복사본)
+     */
+    public Account unregister(String accountNumber) {
+        CompletableFuture<Account> result = new CompletableFuture<>();
+        return submit(accountNumber,
+                new LedgerShard.AccountCommand(LedgerShard.AccountOperation.UNREGISTER, accountNumber, result),
+                result, () -> reopen(accountNumber));
+    }
+
+    /**
+     * 해지가 commit 된 계좌를 shard 에서 버린다.
+     */
+    public void closed(String accountNumber) {
+        change(LedgerShard.AccountOperation.EVICT, accountNumber);
+    }
+
+    /**
+     * 해지가 롤백된 계좌를 다시 사용할 수 있게 한다.
+     */
+    public void reopen(String accountNumber) {
+        change(LedgerShard.AccountOperation.REOPEN, accountNumber);
+    }
+
+    public void revertUse(String accountNumber, long amount) {
+        revert(LedgerShard.Operation.REVERT_USE, accountNumber, amount);
+    }
+
+    public void revertCancel(String accountNumber, long amount) {
+        revert(LedgerShard.Operation.REVERT_CANCEL, accountNumber, amount);
+    }
+
+    private Account submit(
+            LedgerShard.Operation operation,
+            LedgerShard.Operation revertOperation,
+            String accountNumber,
+            long amount
+    ) {
+        CompletableFuture<Account> result = new CompletableFuture<>();
+        return submit(accountNumber, new LedgerShard.BalanceCommand(operation, accountNumber, amount, result),
+                result, () -> revert(revertOperation, accountNumber, amount));
+    }
+
+    /**
+     * @param revert 시간 안에 응답하지 못한 command 가 나중에 처리되면 되돌린다.
+     */
+    private Account submit(
+            String accountNumber,
+            LedgerShard.Command command,
+            CompletableFuture<Account> result,
+            Runnable revert
+    ) {
+        if (!shard(accountNumber).offer(command)) {
+            // shard 가 밀려 있으면 기다리지 않고 lock 실패와 같이 응답한다.
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // 실패로 응답한 변경이 나중에 반영되면 되돌린다. (shard 스레드가 자기 큐를 기다리지 않도록 다른 스레드에서)
+            result.thenRunAsync(revert);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private void revert(LedgerShard.Operation operation, String accountNumber, long amount) {
+        try {
+            shard(accountNumber).put(new LedgerShard.BalanceCommand(
+                    operation, accountNumber, amount, new CompletableFuture<>()));
+            Counter.builder("account.ledger.reverts")
+                    .tag("operation", operation.name())
+                    .register(meterRegistry)
+                    .increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Failed to revert {} {} of account {}", operation, amount, accountNumber);
+        }
+    }
+
+    private void change(LedgerShard.AccountOperation operation, String accountNumber) {
+        try {
+            shard(accountNumber).put(new LedgerShard.AccountCommand(
+                    operation, accountNumber, new CompletableFuture<>()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Failed to {} account {}", operation, accountNumber);
+        }
+    }
+
+    private LedgerShard shard(String accountNumber) {
+        return shards[Math.floorMod(accountNumber.hashCode(), shards.length)];
+    }
+
+    /**
+     * shard 별로 마지막 checkpoint 이후 바뀐 잔액을 받아서 account 테이블에 저장하고,
+     * 저장한 범위의 저널은 지운다.
+     */
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            // 이 위치 전의 기록은 모두 shard 가 snapshot 전에 처리한 묶음이다.
+            JournalPosition position = transactionJournal.durablePosition();
+
+            List<CompletableFuture<Map<Long, Long>>> snapshots = new ArrayList<>(shards.length);
+            for (LedgerShard shard : shards) {
+                CompletableFuture<Map<Long, Long>> snapshot = new CompletableFuture<>();
+                shard.put(new LedgerShard.SnapshotCommand(snapshot));
+                snapshots.add(snapshot);
+            }
+            for (CompletableFuture<Map<Long, Long>> snapshot : snapshots) {
+                unsaved.putAll(snapshot.join());
+            }
+
+            transactionTemplate.executeWithoutResult(
+                    status -> accountJdbcRepository.batchUpdateBalances(unsaved));
+            Counter.builder("account.ledger.checkpointed.balances")
+                    .register(meterRegistry)
+                    .increment(unsaved.size());
+            unsaved.clear();
+            advance(position);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 checkpoint 이후의 저널을 account 테이블에 반영한 뒤 shard 를 시작한다.
+     */
+    @Override
+    public void start() {
+        recover();
+
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+        running = true;
+        checkpointer = new Thread(this::runCheckpointer, "ledger-checkpointer");
+        checkpointer.setDaemon(true);
+        checkpointer.start();
+    }
+
+    /**
+     * 마지막 checkpoint 를 남기고 shard 를 멈춘다.
+     * 그 사이에 들어온 변경은 저널에 있으므로 다음 실행에서 반영된다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            checkpointer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown) 보다 늦게 멈춰서 마지막 요청까지 처리한다.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void close() {
+        transactionJournal.close();
+    }
+
+    private void runCheckpointer() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(checkpointIntervalMillis);
+                checkpoint();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 저장하지 못한 잔액은 unsaved 에 남아 있고 checkpoint 위치도 그대로라 다음 주기에 다시 저장한다.
+                log.error("Failed to checkpoint ledger balances after {}", checkpoint, e);
+            }
+        }
+    }
+
+    private void recover() {
+        Map<Long, Long> balances = new HashMap<>();
+        JournalPosition position = checkpoint;
+        while (position.isBefore(transactionJournal.durablePosition())) {
+            TransactionJournal.Batch batch = transactionJournal.read(position, RECOVERY_BATCH);
+            for (byte[] payload : batch.payloads()) {
+                // 같은 계좌는 마지막 기록이 최신 잔액이다.
+                balances.putAll(LedgerEntry.decode(payload).balances());
+            }
+            if (batch.payloads().isEmpty() && batch.next().equals(position)) {
+                break;
+            }
+            position = batch.next();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> accountJdbcRepository.batchUpdateBalances(balances));
+        advance(position);
+        log.info("Ledger recovered {} account balances up to {}", balances.size(), position);
+    }
+
+    private void advance(JournalPosition position) {
+        if (!checkpoint.isBefore(position)) {
+            return;
+        }
+        JournalPosition previous = checkpoint;
+        writeCheckpoint(position);
+        checkpoint = position;
+        if (previous.segment() < position.segment()) {
+            transactionJournal.deleteSegmentsBefore(position.segment());
+        }
+    }
+
+    private JournalPosition readCheckpoint() {
+        if (!Files.exists(checkpointFile)) {
+            return JournalPosition.START;
+        }
+        try {
+            String[] fields = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+            return new JournalPosition(Long.parseLong(fields[0]), Integer.parseInt(fields[1]));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓰고 옮겨서 checkpoint 가 반쯤 쓰인 채로 남지 않게 한다.
+     */
+    private void writeCheckpoint(JournalPosition position) {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, position.segment() + " " + position.offset(), StandardCharsets.UTF_8);
+            Files.move(temp, checkpointFile,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.account.service;
+
+import com.account.domain.TransactionIdCodec;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간순 거래 id (ULID/Snowflake 방식, 기본값)
+ * 128 bit = 발급 시각(ms) 48 bit | 같은 ms 안의 순번 16 bit | 노드 id 16 bit | 난수 48 bit
+ * 한 서버 안에서는 항상 증가하고, 서버끼리는 ms 단위로 시간순이다.
+ * 새 id 가 unique 인덱스의 맨 끝에 붙어서 UUID 처럼 인덱스 곳곳의 page 를 나누지 않는다.
+ * 같은 ms 에 순번(65536개)을 다 쓰면 다음 ms 로 넘어가서 계속 증가시킨다. (시계가 뒤로 가도 마지막 값에서 이어간다)
+ * 노드 id 가 겹쳐도 난수 48 bit 때문에 같은 순번끼리도 거의 겹치지 않는다. (SecureRandom 은 쓰지 않는다)
+ */
+public class TimeOrderedTransactionIdGenerator implements TransactionIdGenerator {
+    private static final int SEQUENCE_BITS = 16;
+    private static final int MAX_NODE_ID = 0xFFFF;
+    private static final long RANDOM_MASK = (1L << 48) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    // 발급 시각(ms) << 16 | 순번
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedTransactionIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedTransactionIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be 0.." + MAX_NODE_ID + " : " + nodeId);
+        }
+        this.node = (long) nodeId << 48;
+        this.clock = clock;
+    }
+
+    @Override
+    public String newTransactionId() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        long msb = last.updateAndGet(previous -> Math.max(previous + 1, now));
+        long lsb = node | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return TransactionIdCodec.encode(msb, lsb);
+    }
+
+    /**
+     * 설정하지 않은 경우의 노드 id (호스트 이름과 pid 로 만든다)
+     */
+    public static int defaultNodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName().hashCode() & MAX_NODE_ID;
+    }
+}
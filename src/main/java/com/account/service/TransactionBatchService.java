@@ -0,0 +1,95 @@
+package com.account.service;
+
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionType.USE;
+
+/**
+ * 잔액 사용 일괄 처리
+ * 요청을 계좌번호별로 묶어서 계좌마다 lock 을 한 번만 잡고 처리한다.
+ * lock 은 한 번에 한 계좌만 잡기 때문에 계좌끼리 교착 상태가 생기지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+    private final TransactionService transactionService;
+    private final AccountLockProvider accountLockProvider;
+
+    @Value("${account.lock.batch.wait-millis:5000}")
+    private long lockWaitMillis;
+    @Value("${account.lock.batch.lease-millis:-1}")
+    private long lockLeaseMillis;
+
+    /**
+     * @return 요청과 같은 순서의 건별 결과
+     */
+    public List<TransactionDto> useBalanceBatch(List<UseBalance.Request> requests) {
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount
+                    .computeIfAbsent(requests.get(i).getAccountNumber(), key -> new ArrayList<>())
+                    .add(i);
+        }
+
+        TransactionDto[] results = new TransactionDto[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> group = indexes.stream()
+                    .map(requests::get)
+                    .collect(Collectors.toList());
+
+            List<TransactionDto> groupResults = useBalanceGroup(accountNumber, group);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i);
+            }
+        });
+
+        return Arrays.asList(results);
+    }
+
+    private List<TransactionDto> useBalanceGroup(String accountNumber, List<UseBalance.Request> group) {
+        try {
+            accountLockProvider.accountLock(accountNumber, lockWaitMillis, lockLeaseMillis);
+        } catch (AccountException e) {
+            // 단건 사용과 마찬가지로 lock 을 얻지 못한 경우는 실패 거래를 남기지 않는다.
+            return failAll(accountNumber, group, e.getErrorCode());
+        }
+
+        try {
+            return transactionService.useBalanceGroup(accountNumber, group);
+        } catch (AccountException e) {
+            log.error("Failed to use balance batch. accountNumber : {}", accountNumber);
+            return failAll(accountNumber, group, e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("Failed to use balance batch. accountNumber : {}", accountNumber, e);
+            return failAll(accountNumber, group, ErrorCode.INTERNAL_SERVER_ERROR);
+        } finally {
+            accountLockProvider.accountUnLock(accountNumber);
+        }
+    }
+
+    private static List<TransactionDto> failAll(
+            String accountNumber, List<UseBalance.Request> group, ErrorCode errorCode
+    ) {
+        return group.stream()
+                .map(request -> TransactionDto.builder()
+                        .accountNumber(accountNumber)
+                        .transactionType(USE)
+                        .transactionResultType(F)
+                        .amount(request.getAmount())
+                        .errorCode(errorCode)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package com.account.service;
+
+import com.account.dto.TransactionSummary;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 거래 내역 keyset 페이지의 위치 (마지막으로 읽은 거래의 transactedAt, id)
+ * client 에는 base64url 문자열로 넘겨준다.
+ */
+@Getter
+@AllArgsConstructor
+class TransactionCursor {
+    // 첫 페이지는 모든 거래보다 뒤의 위치에서 시작한다.
+    static final TransactionCursor FIRST =
+            new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime transactedAt;
+    private final Long id;
+
+    static TransactionCursor after(TransactionSummary transactionSummary) {
+        return new TransactionCursor(transactionSummary.getTransactedAt(), transactionSummary.getId());
+    }
+
+    static TransactionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((transactedAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package com.account.service;
+
+import com.account.domain.TransactionIdCodec;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 정산용 거래 내역 내보내기 (NDJSON, 한 줄에 거래 하나)
+ * forward-only JDBC cursor 로 fetch-size 만큼씩 읽어서 바로 출력 스트림에 쓰기 때문에
+ * 거래 수와 상관없이 메모리 사용량이 일정하다. (entity 나 List 를 만들지 않는다)
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+    private static final String EXPORT_SQL =
+            "select t.id, t.transaction_id, a.account_number, t.transaction_type, "
+                    + "t.transaction_result_type, t.amount, t.balance_snapshot, t.transacted_at "
+                    + "from transaction t join account a on a.id = t.account_id "
+                    + "where t.transacted_at >= ? and t.transacted_at < ? "
+                    + "order by t.transacted_at, t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public TransactionExportService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${account.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * [from, to) 기간의 거래를 거래 시각 순으로 out 에 쓴다. out 은 호출한 쪽에서 닫는다.
+     * 일부 DB(PostgreSQL 등)는 트랜잭션 안에서만 fetch size 대로 나눠 읽기 때문에 읽기 전용 트랜잭션을 연다.
+     *
+     * @return 내보낸 거래 수
+     */
+    @Transactional(readOnly = true)
+    public long exportTransactions(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 출력 스트림은 응답(또는 gzip)이라 여기서 닫지 않는다.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 줄 사이에 기본 구분자(공백) 대신 직접 줄바꿈을 쓴다.
+            generator.setRootValueSeparator(null);
+
+            long[] rows = {0L};
+            jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(fetchSize);
+                        statement.setTimestamp(1, Timestamp.valueOf(from));
+                        statement.setTimestamp(2, Timestamp.valueOf(to));
+                        return statement;
+                    },
+                    resultSet -> {
+                        writeRow(generator, resultSet);
+                        rows[0]++;
+                    }
+            );
+            generator.flush();
+
+            log.info("Exported {} transactions. from : {}, to : {}", rows[0], from, to);
+            return rows[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(JsonGenerator generator, ResultSet resultSet) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", resultSet.getLong("id"));
+            generator.writeStringField("transactionId",
+                    TransactionIdCodec.encode(resultSet.getBytes("transaction_id")));
+            generator.writeStringField("accountNumber", resultSet.getString("account_number"));
+            generator.writeStringField("transactionType", resultSet.getString("transaction_type"));
+            generator.writeStringField("transactionResultType", resultSet.getString("transaction_result_type"));
+            generator.writeNumberField("amount", resultSet.getLong("amount"));
+            generator.writeNumberField("balanceSnapshot", resultSet.getLong("balance_snapshot"));
+            generator.writeStringField("transactedAt",
+                    resultSet.getTimestamp("transacted_at").toLocalDateTime().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.account.service;
+
+/**
+ * 거래 id 발급 (account.transaction-id.generator 로 고른다)
+ * 발급한 id 는 TransactionIdCodec 의 26자 문자열이고 DB 에는 16 byte 로 저장된다.
+ */
+public interface TransactionIdGenerator {
+    String newTransactionId();
+}
@@ -0,0 +1,448 @@
+package com.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 거래를 로컬 디스크에 먼저 남기는 append-only 저널
+ * 세그먼트 파일(segment-bytes 크기)을 mmap 해서 쓰고, 가득 차면 다음 세그먼트로 넘어간다.
+ * 한 건 = [payload 길이(4)][CRC32C(4)][payload], 길이가 0 이면 그 세그먼트의 끝이다.
+ *
+ * group commit : append 는 mmap 에 쓰기만 하고 fsync(force) 는 flusher 스레드가
+ * 쌓인 건수가 group-commit.max-entries 가 되거나 첫 건 이후 max-delay-micros 가 지나면 한 번에 한다.
+ * append 는 자기 기록이 디스크에 반영될 때까지 기다렸다가 돌아온다.
+ *
+ * 다시 열 때 마지막 세그먼트를 처음부터 읽어서 CRC 가 맞는 마지막 기록 뒤를 끝으로 잡는다. (쓰다 만 기록은 버린다)
+ */
+@Slf4j
+public class TransactionJournal implements Closeable {
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int groupCommitEntries;
+    private final long groupCommitNanos;
+
+    // 세그먼트 교체와 쓰기 위치
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Segment current;
+    private volatile long appendedSeq;
+
+    // flusher 와 append 대기
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition synced = syncLock.newCondition();
+    private volatile long durableSeq;
+    private volatile JournalPosition durablePosition;
+
+    private final AtomicLong syncCount = new AtomicLong();
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public TransactionJournal(Path dir, int segmentBytes, int groupCommitEntries, long groupCommitMicros) {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes is too small : " + segmentBytes);
+        }
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.groupCommitEntries = Math.max(1, groupCommitEntries);
+        this.groupCommitNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitMicros);
+
+        try {
+            Files.createDirectories(dir);
+            long[] segments = segments();
+            long last = segments.length == 0 ? 0L : segments[segments.length - 1];
+            current = Segment.open(segmentPath(last), last, segmentBytes);
+            current.position = recoverEnd(current);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        durablePosition = new JournalPosition(current.index, current.position);
+        log.info("Opened transaction journal {} at {}", dir, durablePosition);
+
+        flusher = new Thread(this::runFlusher, "transaction-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 기록을 남기고 디스크에 반영될 때까지 기다린다.
+     *
+     * @return 다음 기록이 시작하는 위치
+     */
+    public JournalPosition append(byte[] payload) {
+        return appendAll(List.of(payload));
+    }
+
+    /**
+     * 여러 건을 이어서 남기고 마지막 건이 디스크에 반영될 때까지 한 번만 기다린다.
+     *
+     * @return 마지막 기록 다음 위치
+     */
+    public JournalPosition appendAll(List<byte[]> payloads) {
+        if (payloads.isEmpty()) {
+            throw new IllegalArgumentException("No journal entries to append.");
+        }
+        for (byte[] payload : payloads) {
+            if (payload.length == 0 || payload.length > segmentBytes - HEADER_BYTES) {
+                throw new IllegalArgumentException("Invalid journal entry size : " + payload.length);
+            }
+        }
+
+        long seq;
+        JournalPosition end;
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Transaction journal is closed.");
+            }
+            for (byte[] payload : payloads) {
+                if (current.position + HEADER_BYTES + payload.length > segmentBytes) {
+                    rotate();
+                }
+                current.write(payload);
+            }
+            appendedSeq += payloads.size();
+            seq = appendedSeq;
+            end = new JournalPosition(current.index, current.position);
+        } finally {
+            appendLock.unlock();
+        }
+
+        awaitDurable(seq, payloads.size());
+        return end;
+    }
+
+    /**
+     * 디스크에 반영된 기록의 끝 (읽을 수 있는 범위)
+     */
+    public JournalPosition durablePosition() {
+        return durablePosition;
+    }
+
+    /**
+     * from 부터 디스크에 반영된 기록을 최대 maxEntries 건 읽는다.
+     * 디스크에 반영된 기록을 읽지 못하면(CRC, 길이 불일치) 건너뛰지 않고 IllegalStateException 을 던진다.
+     */
+    public Batch read(JournalPosition from, int maxEntries) {
+        JournalPosition end = durablePosition;
+        List<byte[]> payloads = new ArrayList<>();
+        long segment = from.segment();
+        int offset = from.offset();
+
+        try {
+            while (payloads.size() < maxEntries && new JournalPosition(segment, offset).isBefore(end)) {
+                if (!Files.exists(segmentPath(segment))) {
+                    // 이미 지운 세그먼트
+                    segment++;
+                    offset = 0;
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+                    int limit = segment == end.segment() ? end.offset() : segmentBytes;
+                    while (payloads.size() < maxEntries && offset < limit) {
+                        byte[] payload = readEntry(channel, segment, offset);
+                        if (payload == null) {
+                            if (segment == end.segment()) {
+                                // 마지막 세그먼트는 end 까지 기록이 있어야 한다.
+                                throw corrupted(segment, offset, "missing entry before " + end);
+                            }
+                            break;
+                        }
+                        payloads.add(payload);
+                        offset += HEADER_BYTES + payload.length;
+                    }
+                    if (payloads.size() < maxEntries && segment < end.segment()) {
+                        segment++;
+                        offset = 0;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Batch(payloads, new JournalPosition(segment, offset));
+    }
+
+    /**
+     * before 세그먼트보다 앞의 세그먼트 파일을 지운다. (DB 에 모두 반영된 세그먼트)
+     */
+    public void deleteSegmentsBefore(long before) {
+        try {
+            for (long segment : segments()) {
+                if (segment < before && segment != current.index) {
+                    Files.deleteIfExists(segmentPath(segment));
+                    log.debug("Deleted journal segment {}", segment);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to delete journal segments before {}", before, e);
+        }
+    }
+
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    @Override
+    public void close() {
+        // close 전에 들어온 append 는 마지막 sync 에 포함된다.
+        appendLock.lock();
+        try {
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        syncLock.lock();
+        try {
+            syncRequested.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        appendLock.lock();
+        try {
+            current.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void rotate() {
+        current.force(current.position);
+        current.close();
+        long next = current.index + 1;
+        try {
+            current = Segment.open(segmentPath(next), next, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Rotated transaction journal to segment {}", next);
+    }
+
+    private void awaitDurable(long seq, int entries) {
+        syncLock.lock();
+        try {
+            // 처음 쌓인 건이면 flusher 를 깨워서 시간을 재기 시작하고, max-entries 가 차면 바로 반영시킨다.
+            long pending = seq - durableSeq;
+            if (pending == entries || pending >= groupCommitEntries) {
+                syncRequested.signal();
+            }
+            while (durableSeq < seq) {
+                if (closed && !flusher.isAlive()) {
+                    throw new IllegalStateException("Transaction journal is closed.");
+                }
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            syncLock.lock();
+            try {
+                while (!closed && appendedSeq == durableSeq) {
+                    syncRequested.await();
+                }
+                // 첫 건 이후 max-delay 동안, 또는 max-entries 가 찰 때까지 더 모은다.
+                long remaining = groupCommitNanos;
+                while (!closed && remaining > 0 && appendedSeq - durableSeq < groupCommitEntries) {
+                    remaining = syncRequested.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                syncLock.unlock();
+            }
+            sync();
+        }
+        sync();
+    }
+
+    private void sync() {
+        Segment segment;
+        int position;
+        long seq;
+        appendLock.lock();
+        try {
+            segment = current;
+            position = current.position;
+            seq = appendedSeq;
+        } finally {
+            appendLock.unlock();
+        }
+        if (seq == durableSeq) {
+            return;
+        }
+
+        // 이전 세그먼트는 교체할 때 force 했으므로 현재 세그먼트만 반영하면 된다.
+        segment.force(position);
+        syncCount.incrementAndGet();
+
+        syncLock.lock();
+        try {
+            durableSeq = seq;
+            durablePosition = new JournalPosition(segment.index, position);
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 세그먼트에서 CRC 가 맞는 마지막 기록의 끝을 찾고, 쓰다 만 기록이 있으면 지운다.
+     */
+    private int recoverEnd(Segment segment) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segmentBytes) {
+            int length = segment.buffer.getInt(offset);
+            if (length == 0) {
+                return offset;
+            }
+            if (length < 0 || offset + HEADER_BYTES + length > segmentBytes
+                    || segment.crc(offset + HEADER_BYTES, length) != segment.buffer.getInt(offset + 4)) {
+                log.warn("Found torn journal entry in segment {} at {}. Truncate.", segment.index, offset);
+                segment.zero(offset);
+                return offset;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    /**
+     * @return 세그먼트의 끝이면 null
+     */
+    private byte[] readEntry(FileChannel channel, long segment, int offset) throws IOException {
+        if (offset + HEADER_BYTES > segmentBytes) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, offset);
+        int length = header.getInt(0);
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || offset + HEADER_BYTES + length > segmentBytes) {
+            throw corrupted(segment, offset, "invalid length " + length);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        channel.read(payload, offset + HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array(), 0, length);
+        if ((int) crc.getValue() != header.getInt(4)) {
+            throw corrupted(segment, offset, "CRC mismatch");
+        }
+        return payload.array();
+    }
+
+    private static IllegalStateException corrupted(long segment, int offset, String reason) {
+        log.error("Corrupted transaction journal entry in segment {} at {} : {}", segment, offset, reason);
+        return new IllegalStateException(
+                "Corrupted transaction journal entry in segment " + segment + " at " + offset + " : " + reason);
+    }
+
+    private long[] segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .mapToLong(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return dir.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+
+    public record Batch(List<byte[]> payloads, JournalPosition next) {
+    }
+
+    private static final class Segment {
+        private final long index;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(long index, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, long index, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(index, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        }
+
+        private void write(byte[] payload) {
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            // payload 를 먼저 쓰고 길이를 마지막에 써서, 길이가 보이면 내용도 채워져 있게 한다.
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.putInt(position, payload.length);
+            position += HEADER_BYTES + payload.length;
+        }
+
+        private void force(int length) {
+            if (length > 0) {
+                buffer.force(0, length);
+            }
+        }
+
+        private int crc(int offset, int length) {
+            byte[] payload = new byte[length];
+            buffer.get(offset, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            return (int) crc.getValue();
+        }
+
+        private void zero(int offset) {
+            byte[] zeros = new byte[Math.min(64 * 1024, buffer.capacity() - offset)];
+            for (int at = offset; at < buffer.capacity(); at += zeros.length) {
+                buffer.put(at, zeros, 0, Math.min(zeros.length, buffer.capacity() - at));
+            }
+            buffer.force();
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.error("Failed to close journal segment {}", index, e);
+            }
+        }
+    }
+}
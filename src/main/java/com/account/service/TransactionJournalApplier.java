@@ -0,0 +1,249 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.repository.TransactionJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 거래 저널을 읽어서 Transaction 테이블에 반영 (write-behind)
+ * batch-size 만큼 읽어서 JDBC batch insert 한 번으로 저장하고, 어디까지 반영했는지 checkpoint 파일에 남긴다.
+ * 반영이 끝난 세그먼트는 지운다.
+ *
+ * 재시작하면 checkpoint 부터 다시 반영한다.
+ * DB commit 후 checkpoint 를 남기기 전에 죽은 경우 같은 기록을 다시 읽게 되므로
+ * 이미 있는 transaction_id 는 건너뛴다. VOID 는 같은 묶음에 있으면 insert 하지 않고, 이미 들어갔으면 지운다.
+ */
+@Slf4j
+public class TransactionJournalApplier implements SmartLifecycle {
+    private final TransactionJournal transactionJournal;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long intervalMillis;
+    private final Path checkpointFile;
+
+    // 저널에 남겼지만 아직 반영하지 않은 거래 (조회/취소에서 바로 반영할지 판단)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private JournalPosition checkpoint;
+
+    private volatile boolean running;
+    private Thread applier;
+
+    public TransactionJournalApplier(
+            TransactionJournal transactionJournal,
+            TransactionJdbcRepository transactionJdbcRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            long intervalMillis,
+            Path checkpointFile
+    ) {
+        this.transactionJournal = transactionJournal;
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 조회/취소 요청의 트랜잭션 안에서 불려도 따로 commit 한다.
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.intervalMillis = intervalMillis;
+        this.checkpointFile = checkpointFile;
+        this.checkpoint = readCheckpoint();
+    }
+
+    public void track(String transactionId) {
+        pending.add(transactionId);
+    }
+
+    public void untrack(String transactionId) {
+        pending.remove(transactionId);
+    }
+
+    public boolean isPending(String transactionId) {
+        return pending.contains(transactionId);
+    }
+
+    /**
+     * 디스크에 반영된 저널 끝까지 Transaction 테이블에 반영한다.
+     */
+    public void applyPending() {
+        applyLock.lock();
+        try {
+            while (applyBatch()) {
+                // 끝까지 반영
+            }
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * 이전 실행에서 반영하지 못한 기록을 먼저 모두 반영한 뒤 요청을 받는다.
+     */
+    @Override
+    public void start() {
+        applyPending();
+        log.info("Transaction journal applied up to {}", checkpoint);
+
+        running = true;
+        applier = new Thread(this::runApplier, "transaction-journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        applyPending();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown) 보다 늦게 멈춰서 마지막 요청의 거래까지 반영한다.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void runApplier() {
+        while (running) {
+            try {
+                applyPending();
+                TimeUnit.MILLISECONDS.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 반영하지 못한 묶음은 checkpoint 가 그대로라서 다음 주기에 다시 시도한다.
+                log.error("Failed to apply transaction journal from {}", checkpoint, e);
+            }
+        }
+    }
+
+    private boolean applyBatch() {
+        if (!checkpoint.isBefore(transactionJournal.durablePosition())) {
+            return false;
+        }
+        TransactionJournal.Batch batch = transactionJournal.read(checkpoint, batchSize);
+
+        Map<String, JournalEntry> transactions = new LinkedHashMap<>();
+        Set<String> voided = new HashSet<>();
+        for (byte[] payload : batch.payloads()) {
+            JournalEntry entry = JournalEntry.decode(payload);
+            if (entry.kind() == JournalEntry.Kind.VOID) {
+                transactions.remove(entry.transactionId());
+                voided.add(entry.transactionId());
+            } else {
+                transactions.put(entry.transactionId(), entry);
+            }
+        }
+
+        if (!transactions.isEmpty() || !voided.isEmpty()) {
+            int inserted = transactionTemplate.execute(status -> {
+                Set<String> existing = transactionJdbcRepository.findExistingTransactionIds(transactions.keySet());
+                List<Transaction> toInsert = new ArrayList<>(transactions.size());
+                for (JournalEntry entry : transactions.values()) {
+                    if (!existing.contains(entry.transactionId())) {
+                        toInsert.add(toTransaction(entry));
+                    }
+                }
+                transactionJdbcRepository.batchInsert(toInsert);
+                transactionJdbcRepository.deleteByTransactionIds(voided);
+                return toInsert.size();
+            });
+            counter("applied").increment(inserted);
+            counter("voided").increment(voided.size());
+        }
+
+        JournalPosition previous = checkpoint;
+        writeCheckpoint(batch.next());
+        checkpoint = batch.next();
+        pending.removeAll(transactions.keySet());
+        pending.removeAll(voided);
+        if (previous.segment() < checkpoint.segment()) {
+            transactionJournal.deleteSegmentsBefore(checkpoint.segment());
+        }
+        return !batch.payloads().isEmpty();
+    }
+
+    private static Transaction toTransaction(JournalEntry entry) {
+        // batch insert 는 계좌 id 만 쓴다.
+        Account account = Account.builder().build();
+        account.setId(entry.accountId());
+        return Transaction.builder()
+                .transactionType(entry.transactionType())
+                .transactionResultType(entry.transactionResultType())
+                .account(account)
+                .amount(entry.amount())
+                .balanceSnapshot(entry.balanceSnapshot())
+                .transactionId(entry.transactionId())
+                .transactedAt(entry.transactedAt())
+                .build();
+    }
+
+    private JournalPosition readCheckpoint() {
+        if (!Files.exists(checkpointFile)) {
+            return JournalPosition.START;
+        }
+        try {
+            String[] fields = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+            return new JournalPosition(Long.parseLong(fields[0]), Integer.parseInt(fields[1]));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓰고 옮겨서 checkpoint 가 반쯤 쓰인 채로 남지 않게 한다.
+     */
+    private void writeCheckpoint(JournalPosition position) {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, position.segment() + " " + position.offset(), StandardCharsets.UTF_8);
+            Files.move(temp, checkpointFile,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("account.journal.transactions")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
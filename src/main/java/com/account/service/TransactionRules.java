@@ -0,0 +1,62 @@
+package com.account.service;
+
+import com.account.exception.AccountException;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 잔액 사용/취소 검증 규칙
+ * JPA 엔티티가 아닌 값만 받아서 서블릿(TransactionService)과 reactive 모듈이 같은 규칙을 쓴다.
+ */
+public final class TransactionRules {
+    private TransactionRules() {
+    }
+
+    /**
+     * 잔액 확인은 잔액을 바꾸는 쪽에서 한다.
+     */
+    public static void validateUseBalance(Long userId, Long ownerId, AccountStatus accountStatus) {
+        if (!Objects.equals(userId, ownerId)) {
+            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+        }
+
+        validateInUse(accountStatus);
+    }
+
+    /**
+     * 캐시(AccountLookupCache)로 검증한 뒤에도 잔액을 바꾸기 전에 DB 에서 읽은 상태로 한 번 더 확인한다.
+     * (다른 서버에서 해지한 계좌는 캐시 ttl 동안 IN_USE 로 남아 있다)
+     */
+    public static void validateInUse(AccountStatus accountStatus) {
+        if (accountStatus != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    /**
+     * @param transactionAccountId 취소할 거래의 계좌 id
+     * @param accountId            요청한 계좌 id
+     */
+    public static void validateCancelBalance(
+            Long transactionAccountId,
+            Long accountId,
+            Long transactionAmount,
+            Long amount,
+            LocalDateTime transactedAt
+    ) {
+        if (!Objects.equals(transactionAccountId, accountId)) {
+            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+
+        if (!Objects.equals(transactionAmount, amount)) {
+            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
+        }
+
+        if (transactedAt.isBefore(LocalDateTime.now().minusYears(1))) {
+            throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+        }
+    }
+}
@@ -1,25 +1,33 @@
 package com.account.service;
 
+import com.account.aop.OptimisticRetry;
 import com.account.domain.Account;
 import com.account.domain.AccountUser;
 import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.dto.AccountSnapshot;
+import com.account.dto.QueryTransactionResposce;
 import com.account.dto.TransactionDto;
+import com.account.dto.TransactionHistory;
+import com.account.dto.TransactionSummary;
+import com.account.dto.UseBalance;
 import com.account.exception.AccountException;
 import com.account.repository.AccountRepository;
 import com.account.repository.AccountUserRepository;
 import com.account.repository.TransactionRepository;
-import com.account.type.AccountStatus;
 import com.account.type.ErrorCode;
 import com.account.type.TransactionResultType;
 import com.account.type.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.account.type.TransactionResultType.F;
 import static com.account.type.TransactionResultType.S;
@@ -30,24 +38,34 @@ import static com.account.type.TransactionType.USE;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    private static final int MAX_HISTORY_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final AccountLookupCache accountLookupCache;
+    private final BalanceEngine balanceEngine;
+    private final TransactionWriter transactionWriter;
+    private final TransactionIdGenerator transactionIdGenerator;
 
     // Service 에 있는 코드들은 @Transactional 을 달아주는게 약간 관례 느낌
     // 처음에는 한건의 처리만한다고 해도 나중에 코드 수정으로 로직이 복잡해지거나
     // 여러 처리를 진행해야 하는 경우도 있기에
     // 그래서 @Transactional 을 아예 class 위에다가 다는 방법도 있다.
     // 이렇게 되면 모든 public 메서드에 @Transactional 이 자동으로 적용이 된다.
+    @OptimisticRetry
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        if (!accountLookupCache.userExists(userId)) {
+            throw new AccountException(ErrorCode.USER_NOT_FOUND);
+        }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        AccountSnapshot accountSnapshot = accountLookupCache.getAccount(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        validateUseBalance(accountUser, account, amount);
+        // 사용자, 소유주 검증은 캐시로 한다.
+        // 캐시의 상태는 늦을 수 있어서 BalanceEngine 이 잔액을 바꿀 때 DB 의 상태로 다시 확인한다.
+        validateUseBalance(userId, accountSnapshot);
 
         // 이 함수에서 두가지 작업을 한다.
         // 이때 @Transactional 애노테이션이 붙어있어서
@@ -59,99 +77,193 @@ public class TransactionService {
         // (애초에 1번 처리에서 잔액이 변경된다고 해서 바로 저장하지 않는다)
 
         // 1. account table 에 있는 해당 계좌의 balance 를 변경
-        account.useBalance(amount);
+        Account account = balanceEngine.useBalance(
+                accountSnapshot.getAccountId(), accountNumber, amount);
 
         // 2. trasaction table 에 새로운 data 생성
         return TransactionDto.fromEntity(saveAndGetTransaction(USE, S, account, amount));
     }
 
-    private void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
-        if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
-            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
-        }
-
-        if (account.getAccountStatus() != AccountStatus.IN_USE) {
-            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
-        }
+    private void validateUseBalance(Long userId, AccountSnapshot accountSnapshot) {
+        TransactionRules.validateUseBalance(
+                userId, accountSnapshot.getOwnerId(), accountSnapshot.getAccountStatus());
+    }
 
-        if (account.getBalance() < amount) {
-            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
-        }
+    // 잔액 확인은 잔액을 바꾸는 쪽(BalanceEngine.useLockedBalance)에서 한다.
+    private void validateUseBalance(AccountUser accountUser, Account account) {
+        TransactionRules.validateUseBalance(
+                accountUser.getId(), account.getAccountUser().getId(), account.getAccountStatus());
     }
 
+
+    /**
+     * 같은 계좌에 대한 잔액 사용 요청을 순서대로 처리
+     * 계좌 lock 은 호출하는 쪽에서 한 번만 잡고, 계좌 조회와 잔액 변경도 한 번만 한다.
+     * 건별로 useBalance 와 같은 검증을 하고, 실패한 건은 실패 거래로 남긴다.
+     * 거래 내역은 모아서 TransactionWriter.writeAll 로 한 번에 남긴다. (jpa 는 JDBC batch insert, journal 은 한 번의 group commit)
+     *
+     * @return 요청과 같은 순서의 건별 결과 (실패한 건은 errorCode 가 채워짐)
+     */
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+    public List<TransactionDto> useBalanceGroup(String accountNumber, List<UseBalance.Request> requests) {
+        // 계좌 lock 을 잡지 않는 설정(none)에서도 단건 사용과 섞이지 않도록 row lock 을 잡는다.
+        Account account = accountRepository.findForUpdateByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        saveAndGetTransaction(USE, F, account, amount);
+
+        Map<Long, AccountUser> accountUsers = accountUserRepository.findAllById(
+                        requests.stream()
+                                .map(UseBalance.Request::getUserId)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        List<TransactionDto> results = new ArrayList<>(requests.size());
+        for (UseBalance.Request request : requests) {
+            Transaction transaction;
+            ErrorCode errorCode = null;
+            try {
+                AccountUser accountUser = Optional.ofNullable(accountUsers.get(request.getUserId()))
+                        .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
+                validateUseBalance(accountUser, account);
+
+                transaction = buildTransaction(USE, S,
+                        balanceEngine.useLockedBalance(account, request.getAmount()), request.getAmount());
+            } catch (AccountException e) {
+                errorCode = e.getErrorCode();
+                transaction = buildTransaction(USE, F, account, request.getAmount());
+            }
+
+            transactions.add(transaction);
+            TransactionDto transactionDto = TransactionDto.fromEntity(transaction);
+            transactionDto.setErrorCode(errorCode);
+            results.add(transactionDto);
+        }
+
+        transactionWriter.writeAll(transactions);
+
+        return results;
     }
 
-    private Transaction saveAndGetTransaction(
+    // 벤치마크(src/jmh)에서 단계별로 측정할 수 있도록 package-private 으로 둔다.
+    Transaction saveAndGetTransaction(
             TransactionType transactionType,
             TransactionResultType transactionResultType,
             Account account,
             Long amount
     ) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(
-                                UUID.randomUUID()
-                                        .toString()
-                                        .replace("-", "")
-                        )
-                        .transactedAt(LocalDateTime.now())
-                        .build()
+        return transactionWriter.write(
+                buildTransaction(transactionType, transactionResultType, account, amount)
         );
     }
 
+    Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount
+    ) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(account.getBalance())
+                .transactionId(transactionIdGenerator.newTransactionId())
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @OptimisticRetry
     @Transactional
     public TransactionDto cancelBalance(
             String transactionId, String accountNumber, Long amount
     ) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+        Transaction transaction = findTransaction(transactionId);
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         validateCancelBalance(transaction, account, amount);
 
-        account.cancelBalance(amount);
-
-        return TransactionDto.fromEntity(saveAndGetTransaction(CANCEL, S, account, amount));
+        return TransactionDto.fromEntity(saveAndGetTransaction(
+                CANCEL, S, balanceEngine.cancelBalance(account, amount), amount));
     }
 
     private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
-        if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
-            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
-        }
+        TransactionRules.validateCancelBalance(
+                transaction.getAccount().getId(), account.getId(),
+                transaction.getAmount(), amount, transaction.getTransactedAt());
+    }
 
-        if (!Objects.equals(transaction.getAmount(), amount)) {
-            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
-        }
 
-        if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
-            throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+    /**
+     * 계좌의 거래 내역을 최신순으로 한 페이지 조회
+     * cursor 는 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    @Transactional(readOnly = true)
+    public TransactionHistory.Response getTransactionHistory(
+            String accountNumber,
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            String cursor,
+            int size
+    ) {
+        AccountSnapshot accountSnapshot = accountLookupCache.getAccount(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_SIZE));
+        TransactionCursor position = TransactionCursor.decode(cursor);
+
+        // 한 건 더 읽어서 다음 페이지가 있는지 확인한다.
+        List<TransactionSummary> transactions = transactionRepository.findHistory(
+                accountSnapshot.getAccountId(),
+                position.getTransactedAt(),
+                position.getId(),
+                transactionType,
+                transactionResultType,
+                PageRequest.of(0, pageSize + 1)
+        );
+
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            nextCursor = TransactionCursor.after(transactions.get(pageSize - 1)).encode();
         }
+
+        return TransactionHistory.Response.builder()
+                .accountNumber(accountNumber)
+                .transactions(transactions)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        saveAndGetTransaction(CANCEL, F, account, amount);
+    /**
+     * 조회 전용이라 entity 대신 응답을 바로 읽는다. (거래 + 계좌번호 join 한 번)
+     */
+    @Transactional(readOnly = true)
+    public QueryTransactionResposce queryTranscation(String transactionId) {
+        return findPending(transactionId, transactionRepository::findResponseByTransactionId);
     }
 
-    public TransactionDto queryTranscation(String transactionId) {
-        return TransactionDto.fromEntity(transactionRepository
-                .findByTransactionId(transactionId)
-                .orElseThrow(
-                        () -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)
-                )
-        );
+    private Transaction findTransaction(String transactionId) {
+        return findPending(transactionId, transactionRepository::findWithAccountByTransactionId);
+    }
+
+    /**
+     * 저널(account.transaction.writer=journal)에만 있고 아직 테이블에 반영되지 않은 거래는 반영한 뒤 다시 찾는다.
+     * 거래 id 형식이 아니면 조회하지 않고, 표기(소문자, 이전 hex)가 달라도 저널의 id 와 같은 문자열로 맞춘다.
+     */
+    private <T> T findPending(String transactionId, Function<String, Optional<T>> finder) {
+        if (!TransactionIdCodec.isValid(transactionId)) {
+            throw new AccountException(ErrorCode.TRANSACTION_NOT_FOUND);
+        }
+
+        String normalized = TransactionIdCodec.normalize(transactionId);
+        return finder.apply(normalized)
+                .or(() -> transactionWriter.flushPending(normalized)
+                        ? finder.apply(normalized)
+                        : Optional.empty())
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
     }
 }
@@ -0,0 +1,29 @@
+package com.account.service;
+
+import com.account.domain.Transaction;
+
+import java.util.List;
+
+/**
+ * 거래 내역 저장 방식
+ * 1. jpa : 요청마다 Transaction 을 insert 하고 요청의 DB 트랜잭션과 함께 commit 한다.
+ * 2. journal : 로컬 저널(TransactionJournal)에 남기고 Transaction 테이블은 백그라운드에서 채운다. (write-behind)
+ */
+public interface TransactionWriter {
+    /**
+     * 거래를 남긴다. 돌아온 시점에는 재시작해도 사라지지 않는다.
+     */
+    Transaction write(Transaction transaction);
+
+    /**
+     * 여러 거래를 한 번에 남긴다. (같은 계좌 일괄 사용)
+     */
+    void writeAll(List<Transaction> transactions);
+
+    /**
+     * 아직 Transaction 테이블에 반영되지 않은 거래면 바로 반영한다.
+     *
+     * @return 반영할 거래가 있었으면 true (다시 조회해 볼 만한 경우)
+     */
+    boolean flushPending(String transactionId);
+}
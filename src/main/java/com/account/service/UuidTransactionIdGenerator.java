@@ -0,0 +1,17 @@
+package com.account.service;
+
+import com.account.domain.TransactionIdCodec;
+
+import java.util.UUID;
+
+/**
+ * 난수 UUID(v4) 거래 id (account.transaction-id.generator=uuid, 이전 방식과 비교용)
+ * SecureRandom 을 쓰고 id 가 시간순이 아니다.
+ */
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {
+    @Override
+    public String newTransactionId() {
+        UUID uuid = UUID.randomUUID();
+        return TransactionIdCodec.encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+}
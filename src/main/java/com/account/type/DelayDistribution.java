@@ -0,0 +1,8 @@
+package com.account.type;
+
+public enum DelayDistribution {
+    NONE,
+    FIXED,
+    UNIFORM,
+    EXPONENTIAL
+}
@@ -19,7 +19,10 @@ public enum ErrorCode {
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
     ACCOUNT_HAS_BALANCE("잔액이 있는 계좌는 해지할 수 없습니다."),
     AMOUNT_EXCEED_BALANCE("거래금액이 잔액보다 큽니다."),
-    MAX_COUNT_PER_USER("사용자가 최대 계좌는 10개 입니다.");
+    MAX_COUNT_PER_USER("사용자가 최대 계좌는 10개 입니다."),
+    IDEMPOTENCY_KEY_IN_PROGRESS("같은 Idempotency-Key 의 요청을 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED("이미 다른 요청에 사용한 Idempotency-Key 입니다."),
+    TOO_MANY_REQUESTS("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
 
     private final String description;
 }
@@ -0,0 +1,67 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+
+/**
+ * 거래 id 를 16 byte 로 저장한다. (TransactionIdCodec, 문자열은 API 에서만 쓴다)
+ * 이전에 발급한 32자리 hex(UUID) 는 같은 16 byte 로 옮긴다.
+ * H2 의 hextoraw 는 hex 4자리를 문자 하나로 읽고 문자열을 돌려주기 때문에 SQL 대신 여기서 바꾼다.
+ */
+public class V5__transaction_id_binary extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table transaction add column transaction_id_bytes varbinary(16)");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet resultSet = select.executeQuery("select id, transaction_id from transaction");
+             PreparedStatement update = connection.prepareStatement(
+                     "update transaction set transaction_id_bytes = ? where id = ?")) {
+            int pending = 0;
+            while (resultSet.next()) {
+                update.setBytes(1, legacyTransactionId(resultSet.getLong(1), resultSet.getString(2)));
+                update.setLong(2, resultSet.getLong(1));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table transaction drop constraint uk_transaction_transaction_id");
+            statement.execute("alter table transaction drop column transaction_id");
+            statement.execute("alter table transaction alter column transaction_id_bytes rename to transaction_id");
+            statement.execute("alter table transaction alter column transaction_id set not null");
+            statement.execute("alter table transaction add constraint uk_transaction_transaction_id "
+                    + "unique (transaction_id)");
+        }
+    }
+
+    /**
+     * 32자리 hex 가 아니면 옮기지 않고 migration 을 실패시킨다.
+     */
+    private static byte[] legacyTransactionId(long id, String transactionId) {
+        if (transactionId == null || transactionId.length() != 32) {
+            throw new IllegalStateException("Invalid legacy transaction id of transaction " + id
+                    + " : " + transactionId);
+        }
+        return HexFormat.of().parseHex(transactionId);
+    }
+}
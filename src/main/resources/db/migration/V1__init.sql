@@ -0,0 +1,56 @@
+-- JPA 엔티티(Account, AccountUser, Transaction)와 같은 구조
+-- id 는 Hibernate 기본 시퀀스(<table>_seq, increment 50)에서 받는다.
+create sequence if not exists account_user_seq start with 1 increment by 50;
+create sequence if not exists account_seq start with 1 increment by 50;
+create sequence if not exists transaction_seq start with 1 increment by 50;
+
+-- 계좌번호 구간 임대용 (SequenceAccountNumberBlockSource)
+create sequence if not exists account_number_block_seq start with 1 increment by 1;
+
+create table account_user
+(
+    id         bigint not null,
+    name       varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_account_user primary key (id)
+);
+
+create table account
+(
+    id               bigint not null,
+    account_user_id  bigint,
+    account_number   varchar(255),
+    account_status   varchar(255),
+    balance          bigint,
+    registered_at    timestamp(6),
+    un_registered_at timestamp(6),
+    created_at       timestamp(6),
+    updated_at       timestamp(6),
+    constraint pk_account primary key (id),
+    constraint uk_account_account_number unique (account_number),
+    constraint fk_account_account_user foreign key (account_user_id) references account_user (id)
+);
+
+-- 사용자별 계좌 조회/개수 확인 (findByAccountUser, countByAccountUser)
+create index idx_account_account_user_status on account (account_user_id, account_status);
+
+create table transaction
+(
+    id                      bigint not null,
+    transaction_type        varchar(255),
+    transaction_result_type varchar(255),
+    account_id              bigint,
+    amount                  bigint,
+    balance_snapshot        bigint,
+    transaction_id          varchar(255),
+    transacted_at           timestamp(6),
+    created_at              timestamp(6),
+    updated_at              timestamp(6),
+    constraint pk_transaction primary key (id),
+    constraint uk_transaction_transaction_id unique (transaction_id),
+    constraint fk_transaction_account foreign key (account_id) references account (id)
+);
+
+-- 계좌별 거래 내역을 거래 시각 순으로 조회
+create index idx_transaction_account_transacted_at on transaction (account_id, transacted_at);
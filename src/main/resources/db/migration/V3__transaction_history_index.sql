@@ -0,0 +1,3 @@
+-- 계좌별 거래 내역 keyset 페이지 조회 (transacted_at, id 최신순)
+drop index if exists idx_transaction_account_transacted_at;
+create index idx_transaction_account_transacted_at_id on transaction (account_id, transacted_at desc, id desc);
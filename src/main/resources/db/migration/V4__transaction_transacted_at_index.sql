@@ -0,0 +1,2 @@
+-- 기간별 거래 내보내기 (정산)
+create index idx_transaction_transacted_at_id on transaction (transacted_at, id);
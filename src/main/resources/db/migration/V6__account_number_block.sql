@@ -0,0 +1,14 @@
+-- 계좌번호 구간 임대 위치 (SequenceAccountNumberBlockSource)
+-- 구간 번호 대신 다음 구간의 시작 offset(계좌번호 - 1000000000)을 저장해서 block-size 가 바뀌어도 겹치지 않는다.
+create table account_number_block
+(
+    id          bigint not null,
+    next_offset bigint not null,
+    constraint pk_account_number_block primary key (id)
+);
+
+insert into account_number_block (id, next_offset)
+select 1, coalesce(max(cast(account_number as bigint)) - 1000000000 + 1, 0)
+from account;
+
+drop sequence account_number_block_seq;
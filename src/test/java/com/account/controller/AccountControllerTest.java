@@ -8,11 +8,16 @@ import com.account.exception.AccountException;
 import com.account.service.AccountService;
 import com.account.type.ErrorCode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -21,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -30,6 +36,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountController.class)
+@Import(AccountControllerTest.TestConfig.class)
 class AccountControllerTest {
     @MockBean
     private AccountService accountService;
@@ -40,6 +47,17 @@ class AccountControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Test
     void successCreateAccount() throws Exception {
         // given
@@ -91,24 +109,24 @@ class AccountControllerTest {
     @Test
     void successGetAccountsByUserId() throws Exception {
         // given
-        List<AccountDto> accountDtoList =
+        List<AccountInfo> accountInfoList =
                 Arrays.asList(
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("1111111111")
                                 .balance(1000L)
                                 .build()
-                        , AccountDto.builder()
+                        , AccountInfo.builder()
                                 .accountNumber("2222222222")
                                 .balance(2000L)
                                 .build()
-                        , AccountDto.builder()
+                        , AccountInfo.builder()
                                 .accountNumber("3333333333")
                                 .balance(3000L)
                                 .build()
                 );
 
         given(accountService.getAccountsByUserId(anyLong()))
-                .willReturn(accountDtoList);
+                .willReturn(accountInfoList);
 
         // when
         // then
@@ -160,5 +178,9 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.errorMessage")
                         .value("해당 계좌가 없습니다."))
                 .andExpect(status().isOk());
+        assertEquals(1.0, meterRegistry.get("account.errors")
+                .tag("errorCode", "ACCOUNT_NOT_FOUND")
+                .tag("endpoint", "getAccountByAccountId")
+                .counter().count());
     }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.account.controller;
+
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.service.AccountLockProvider;
+import com.account.service.AccountLockQueue;
+import com.account.service.AdaptiveLockLease;
+import com.account.service.FailedTransactionRecorder;
+import com.account.service.LocalStripedLockProvider;
+import com.account.service.LockAopAspect;
+import com.account.service.TransactionBatchService;
+import com.account.service.TransactionExportService;
+import com.account.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 한 계좌에 동시에 들어온 잔액 사용 500건의 성공률과 p99 지연 (./gradlew loadTest)
+ * 1. 요청마다 계좌 lock 을 tryLock (@AccountLock 대기 시간이 지나면 ACCOUNT_TRANSACTION_LOCK)
+ * 2. 계좌별 대기열 (AccountLockQueue) : combiner 가 lock 을 한 번 잡고 기다리는 요청을 차례로 실행
+ * Redis lock 왕복(잡을 때, 풀 때)과 잔액 변경은 sleep 으로 흉내낸다.
+ */
+@Slf4j
+@Tag("load")
+class AccountLockQueueLoadTest {
+    private static final int REQUESTS = 500;
+    private static final long REDIS_ROUND_TRIP_MILLIS = 2L;
+    private static final long UPDATE_MILLIS = 5L;
+
+    @Test
+    void successRateAndLatencyOnOneAccount() throws Exception {
+        Result failFast = measure(null);
+        AtomicInteger locks = new AtomicInteger();
+        Result queued = measure(locks);
+
+        log.info("fail-fast : {}", failFast);
+        log.info("queued : {} (account locks={})", queued, locks.get());
+        assertEquals(0, queued.failed);
+        assertTrue(queued.p99Millis < failFast.p99Millis);
+        assertTrue(locks.get() < REQUESTS / 10);
+    }
+
+    /**
+     * @param queueLocks null 이면 요청마다 lock, 아니면 대기열을 쓰고 잡은 lock 횟수를 센다.
+     */
+    private Result measure(AtomicInteger queueLocks) throws Exception {
+        AtomicInteger locks = queueLocks == null ? new AtomicInteger() : queueLocks;
+        AccountLockProvider accountLockProvider =
+                new RemoteLatencyLockProvider(new LocalStripedLockProvider(16), locks);
+        AccountLockQueue accountLockQueue = queueLocks == null
+                ? null
+                : new AccountLockQueue(accountLockProvider, REQUESTS, 10_000L, 32);
+        TransactionController transactionController =
+                transactionController(accountLockProvider, accountLockQueue);
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder failed = new LongAdder();
+        long[] latencies = new long[REQUESTS];
+
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                long startedAt = System.nanoTime();
+                try {
+                    transactionController.useBalance(new UseBalance.Request(1L, "1000000000", 100L));
+                } catch (AccountException e) {
+                    failed.increment();
+                } finally {
+                    latencies[index] = System.nanoTime() - startedAt;
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        return new Result(
+                100.0 * (REQUESTS - failed.sum()) / REQUESTS,
+                failed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(REQUESTS * 0.99) - 1])
+        );
+    }
+
+    private static TransactionController transactionController(
+            AccountLockProvider accountLockProvider, AccountLockQueue accountLockQueue
+    ) {
+        TransactionService transactionService =
+                mock(TransactionService.class, withSettings().stubOnly());
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willAnswer(invocation -> {
+                    Thread.sleep(UPDATE_MILLIS);
+                    return TransactionDto.builder()
+                            .accountNumber(invocation.getArgument(1))
+                            .transactionResultType(S)
+                            .transactionId("transactionId")
+                            .amount(100L)
+                            .transactedAt(LocalDateTime.now())
+                            .build();
+                });
+
+        AspectJProxyFactory proxyFactory =
+                new AspectJProxyFactory(new TransactionController(
+                        transactionService, mock(TransactionBatchService.class),
+                        mock(TransactionExportService.class),
+                        mock(FailedTransactionRecorder.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LockAopAspect(
+                accountLockProvider,
+                new AdaptiveLockLease(3.0, 500L, 15_000L, 100),
+                new SimpleMeterRegistry(),
+                accountLockQueue
+        ));
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * Redis lock 처럼 잡은 응답과 해제 요청이 네트워크를 한 번씩 왕복하는 lock
+     * 그동안 다른 요청은 lock 을 잡을 수 없다.
+     */
+    private static class RemoteLatencyLockProvider implements AccountLockProvider {
+        private final AccountLockProvider delegate;
+        private final AtomicInteger locks;
+
+        private RemoteLatencyLockProvider(AccountLockProvider delegate, AtomicInteger locks) {
+            this.delegate = delegate;
+            this.locks = locks;
+        }
+
+        @Override
+        public void accountLock(String accountNumber, long waitMillis, long leaseMillis) {
+            delegate.accountLock(accountNumber, waitMillis, leaseMillis);
+            locks.incrementAndGet();
+            sleep();
+        }
+
+        @Override
+        public void accountUnLock(String accountNumber) {
+            sleep();
+            delegate.accountUnLock(accountNumber);
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(REDIS_ROUND_TRIP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Result(double successRate, long failed, long p99Millis) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.account.controller;
+
+import com.account.config.FaultInjectionProperties;
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.service.AdaptiveLockLease;
+import com.account.service.FailedTransactionRecorder;
+import com.account.service.FaultInjectionAspect;
+import com.account.service.LocalStripedLockProvider;
+import com.account.service.LockAopAspect;
+import com.account.service.TransactionBatchService;
+import com.account.service.TransactionExportService;
+import com.account.service.TransactionService;
+import com.account.type.DelayDistribution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 한 계좌에 요청이 몰릴 때 장애 주입을 끈 경우와 켠 경우의 처리량 비교 (./gradlew loadTest)
+ * 계좌 lock 은 LocalStripedLockProvider 로 대신해서 Redis 없이 실행한다.
+ */
+@Slf4j
+@Tag("load")
+class FaultInjectionLoadTest {
+    private static final int THREADS = 16;
+    private static final long DURATION_MILLIS = 5_000L;
+
+    @Test
+    void throughputPerAccount() throws Exception {
+        double off = measure(null);
+
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        FaultInjectionProperties.Endpoint useBalance = new FaultInjectionProperties.Endpoint();
+        useBalance.setDelay(DelayDistribution.FIXED);
+        useBalance.setDelayMillis(20L);
+        useBalance.setLockHoldMultiplier(2.0);
+        properties.getEndpoints().put("useBalance", useBalance);
+        double on = measure(new FaultInjectionAspect(properties));
+
+        log.info("useBalance per account : fault injection off={} req/s, on={} req/s",
+                String.format("%.1f", off), String.format("%.1f", on));
+        assertTrue(on < off);
+    }
+
+    private double measure(FaultInjectionAspect faultInjectionAspect) throws Exception {
+        TransactionService transactionService =
+                mock(TransactionService.class, withSettings().stubOnly());
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(100L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+
+        AspectJProxyFactory proxyFactory =
+                new AspectJProxyFactory(new TransactionController(
+                        transactionService, mock(TransactionBatchService.class),
+                        mock(TransactionExportService.class),
+                        mock(FailedTransactionRecorder.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LockAopAspect(
+                new LocalStripedLockProvider(16),
+                new AdaptiveLockLease(3.0, 500L, 15_000L, 100),
+                new SimpleMeterRegistry(),
+                null
+        ));
+        if (faultInjectionAspect != null) {
+            proxyFactory.addAspect(faultInjectionAspect);
+        }
+        TransactionController transactionController = proxyFactory.getProxy();
+
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    try {
+                        transactionController.useBalance(
+                                new UseBalance.Request(1L, "1000000000", 100L));
+                        succeeded.increment();
+                    } catch (AccountException e) {
+                        failed.increment();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(DURATION_MILLIS * 2, TimeUnit.MILLISECONDS);
+        }
+        executor.shutdown();
+
+        log.info("fault injection {} : succeeded={}, failed={}",
+                faultInjectionAspect == null ? "off" : "on", succeeded.sum(), failed.sum());
+        return succeeded.sum() / (DURATION_MILLIS / 1000.0);
+    }
+}
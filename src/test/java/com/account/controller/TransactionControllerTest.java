@@ -3,42 +3,91 @@ package com.account.controller;
 import com.account.domain.Transaction;
 import com.account.dto.AccountDto;
 import com.account.dto.CancelBalance;
+import com.account.dto.QueryTransactionResposce;
 import com.account.dto.TransactionDto;
+import com.account.dto.TransactionHistory;
+import com.account.dto.TransactionSummary;
 import com.account.dto.UseBalance;
+import com.account.dto.UseBalanceBatch;
+import com.account.exception.AccountException;
+import com.account.service.FailedTransactionRecorder;
+import com.account.service.TransactionBatchService;
+import com.account.service.TransactionExportService;
 import com.account.service.TransactionService;
+import com.account.type.ErrorCode;
 import com.account.type.TransactionResultType;
 import com.account.type.TransactionType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static com.account.type.TransactionResultType.F;
 import static com.account.type.TransactionResultType.S;
 import static com.account.type.TransactionType.USE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import(TransactionControllerTest.TestConfig.class)
 class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
+    @MockBean
+    private FailedTransactionRecorder failedTransactionRecorder;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -77,6 +126,71 @@ class TransactionControllerTest {
                         .value(12345L));
     }
 
+    @Test
+    void failUseBalance_RecordFailedTransaction() throws Exception {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        // when
+        // then
+        mockMvc.perform(post("/transaction/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalance.Request(1L, "1111111111", 3000L))))
+                .andDo(print())
+                .andExpect(jsonPath("$.errorCode").value("AMOUNT_EXCEED_BALANCE"));
+
+        verify(failedTransactionRecorder).record(USE, "1111111111", 3000L);
+    }
+
+    @Test
+    void successUseBalanceBatch() throws Exception {
+        // given
+        given(transactionBatchService.useBalanceBatch(anyList()))
+                .willReturn(Arrays.asList(
+                        TransactionDto.builder()
+                                .accountNumber("1111111111")
+                                .transactedAt(LocalDateTime.now())
+                                .amount(3000L)
+                                .transactionId("transactionId")
+                                .transactionResultType(S)
+                                .build(),
+                        TransactionDto.builder()
+                                .accountNumber("2222222222")
+                                .transactedAt(LocalDateTime.now())
+                                .amount(5000L)
+                                .transactionId("failedTransactionId")
+                                .transactionResultType(F)
+                                .errorCode(ErrorCode.AMOUNT_EXCEED_BALANCE)
+                                .build()
+                ));
+
+        // when
+        // then
+        mockMvc.perform(post("/transaction/use/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalanceBatch.Request(Arrays.asList(
+                                        new UseBalance.Request(1L, "1111111111", 3000L),
+                                        new UseBalance.Request(1L, "2222222222", 5000L)
+                                ))
+                        )))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].accountNumber")
+                        .value("1111111111"))
+                .andExpect(jsonPath("$.items[0].transactionResultType")
+                        .value("S"))
+                .andExpect(jsonPath("$.items[0].errorCode").doesNotExist())
+                .andExpect(jsonPath("$.items[1].transactionResultType")
+                        .value("F"))
+                .andExpect(jsonPath("$.items[1].errorCode")
+                        .value("AMOUNT_EXCEED_BALANCE"))
+                .andExpect(jsonPath("$.items[1].errorMessage")
+                        .value("거래금액이 잔액보다 큽니다."));
+    }
+
     @Test
     void successCancelBalace() throws Exception {
         // given
@@ -117,7 +231,7 @@ class TransactionControllerTest {
     void successGetQueryTransaction() throws Exception {
         // given
         given(transactionService.queryTranscation(anyString()))
-                .willReturn(TransactionDto.builder()
+                .willReturn(QueryTransactionResposce.builder()
                         .accountNumber("1234567890")
                         .transactionType(USE)
                         .transactionResultType(S)
@@ -142,4 +256,113 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount")
                         .value(54321L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void successGetTransactionHistory() throws Exception {
+        // given
+        given(transactionService.getTransactionHistory(
+                anyString(), any(), any(), any(), anyInt()))
+                .willReturn(TransactionHistory.Response.builder()
+                        .accountNumber("1234567890")
+                        .transactions(List.of(TransactionSummary.builder()
+                                .id(10L)
+                                .transactionId("transactionId")
+                                .transactionType(USE)
+                                .transactionResultType(S)
+                                .amount(1000L)
+                                .balanceSnapshot(9000L)
+                                .transactedAt(LocalDateTime.now())
+                                .build()))
+                        .nextCursor("nextCursor")
+                        .build());
+
+        // when
+        // then
+        mockMvc.perform(get("/account/1234567890/transactions")
+                        .param("transaction_type", "USE")
+                        .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.transactions[0].transactionId")
+                        .value("transactionId"))
+                .andExpect(jsonPath("$.transactions[0].id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+
+        verify(transactionService).getTransactionHistory(
+                "1234567890", USE, null, null, 1);
+    }
+
+    @Test
+    void successExportTransactions() throws Exception {
+        // given
+        given(transactionExportService.exportTransactions(any(), any(), any()))
+                .willAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                    return 2L;
+                });
+
+        // when
+        MvcResult result = mockMvc.perform(get("/transaction/export")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-01-02T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(transactionExportService).exportTransactions(
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2024, 1, 2, 0, 0)),
+                any());
+    }
+
+    @Test
+    void successExportTransactions_Gzip() throws Exception {
+        // given
+        given(transactionExportService.exportTransactions(any(), any(), any()))
+                .willAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        // when
+        MvcResult result = mockMvc.perform(get("/transaction/export")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-01-02T00:00:00")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void failExportTransactions_InvalidRange() throws Exception {
+        // when
+        // then
+        mockMvc.perform(get("/transaction/export")
+                        .param("from", "2024-01-02T00:00:00")
+                        .param("to", "2024-01-01T00:00:00"))
+                .andDo(print())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+
+        verify(transactionExportService, never()).exportTransactions(any(), any(), any());
+    }
+}
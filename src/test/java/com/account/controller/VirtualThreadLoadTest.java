@@ -0,0 +1,261 @@
+package com.account.controller;
+
+import com.account.dto.AccountSnapshot;
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.service.AccountLockProvider;
+import com.account.service.AccountLookupCache;
+import com.account.service.AdaptiveLockLease;
+import com.account.service.FailedTransactionRecorder;
+import com.account.service.LocalStripedLockProvider;
+import com.account.service.LockAopAspect;
+import com.account.service.TransactionBatchService;
+import com.account.service.TransactionExportService;
+import com.account.service.TransactionService;
+import com.account.type.AccountStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 계좌 lock 경합이 있을 때 플랫폼 스레드 풀(Tomcat 기본 200개)과 가상 스레드의 비교 (./gradlew loadTest)
+ * 요청을 한 번에 모두 넣고 동시에 처리 중인 요청 수의 최대값과 p99 지연(대기 포함)을 잰다.
+ * Redis lock 왕복과 DB 조회는 sleep 으로 흉내낸다.
+ * 가상 스레드 실행은 JFR(jdk.VirtualThreadPinned)로 기록해서 build/reports/pinning 에 pinning 리포트를 남긴다.
+ */
+@Slf4j
+@Tag("load")
+class VirtualThreadLoadTest {
+    private static final int PLATFORM_THREADS = 200;
+    private static final int ACCOUNTS = 500;
+    private static final int REQUESTS = 20_000;
+    private static final long REDIS_ROUND_TRIP_MILLIS = 2L;
+    private static final long SNAPSHOT_QUERY_MILLIS = 2L;
+    private static final long UPDATE_QUERY_MILLIS = 3L;
+
+    @Test
+    void inFlightAndLatencyUnderLockContention() throws Exception {
+        Result platform = measure(Executors.newFixedThreadPool(PLATFORM_THREADS));
+
+        Path jfr = Files.createTempFile("virtual-thread-load", ".jfr");
+        Result virtual;
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned")
+                    .withThreshold(Duration.ZERO)
+                    .withStackTrace();
+            recording.start();
+            virtual = measure(Executors.newVirtualThreadPerTaskExecutor());
+            recording.stop();
+            recording.dump(jfr);
+        }
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(jfr).stream()
+                .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                .toList();
+        Files.delete(jfr);
+        writePinningReport(pinned, Path.of("build", "reports", "pinning", "virtual-thread-load.txt"));
+
+        log.info("platform({} threads) : {}", PLATFORM_THREADS, platform);
+        log.info("virtual : {}", virtual);
+        assertEquals(0, platform.failed);
+        assertEquals(0, virtual.failed);
+        assertTrue(platform.maxInFlight <= PLATFORM_THREADS);
+        assertTrue(virtual.maxInFlight > PLATFORM_THREADS);
+        assertTrue(virtual.p99Millis < platform.p99Millis);
+        assertEquals(0, pinned.size(), "virtual threads were pinned, see build/reports/pinning");
+    }
+
+    private Result measure(ExecutorService executor) throws Exception {
+        TransactionController transactionController = transactionController();
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        long[] latencies = new long[REQUESTS];
+
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            String accountNumber = String.valueOf(1_000_000_000L + i % ACCOUNTS);
+            long submittedAt = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    transactionController.useBalance(
+                            new UseBalance.Request(1L, accountNumber, 100L));
+                } catch (AccountException e) {
+                    failed.increment();
+                } finally {
+                    inFlight.decrementAndGet();
+                    latencies[index] = System.nanoTime() - submittedAt;
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        return new Result(maxInFlight.get(), failed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(REQUESTS * 0.99) - 1]));
+    }
+
+    /**
+     * lock 안에서 계좌 조회(캐시 miss) + 잔액 변경을 하는 useBalance
+     * 캐시 ttl 을 짧게 잡아서 매번 DB 조회(sleep)가 AccountLookupCache 를 거치게 한다.
+     */
+    private static TransactionController transactionController() {
+        AccountRepository accountRepository = mock(AccountRepository.class, withSettings().stubOnly());
+        given(accountRepository.findSnapshotByAccountNumber(anyString()))
+                .willAnswer(invocation -> {
+                    Thread.sleep(SNAPSHOT_QUERY_MILLIS);
+                    return Optional.of(new AccountSnapshot(1L, 1L, AccountStatus.IN_USE));
+                });
+        AccountLookupCache accountLookupCache = new AccountLookupCache(
+                mock(AccountUserRepository.class, withSettings().stubOnly()),
+                accountRepository, new SimpleMeterRegistry(), 100_000L, 1L);
+
+        TransactionService transactionService =
+                mock(TransactionService.class, withSettings().stubOnly());
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willAnswer(invocation -> {
+                    String accountNumber = invocation.getArgument(1);
+                    accountLookupCache.getAccount(accountNumber);
+                    Thread.sleep(UPDATE_QUERY_MILLIS);
+                    return TransactionDto.builder()
+                            .accountNumber(accountNumber)
+                            .transactionResultType(S)
+                            .transactionId("transactionId")
+                            .amount(100L)
+                            .transactedAt(LocalDateTime.now())
+                            .build();
+                });
+
+        AspectJProxyFactory proxyFactory =
+                new AspectJProxyFactory(new TransactionController(
+                        transactionService, mock(TransactionBatchService.class),
+                        mock(TransactionExportService.class),
+                        mock(FailedTransactionRecorder.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LockAopAspect(
+                new RemoteLatencyLockProvider(new LocalStripedLockProvider(ACCOUNTS * 4)),
+                new AdaptiveLockLease(3.0, 500L, 15_000L, 100),
+                new SimpleMeterRegistry(),
+                null
+        ));
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * pinning 이 일어난 위치(com.account 의 첫 프레임 기준)별 횟수와 최대 시간
+     */
+    private static void writePinningReport(List<RecordedEvent> events, Path report) throws Exception {
+        Map<String, List<RecordedEvent>> bySite = new TreeMap<>();
+        for (RecordedEvent event : events) {
+            bySite.computeIfAbsent(pinnedSite(event), key -> new ArrayList<>()).add(event);
+        }
+
+        StringBuilder builder = new StringBuilder()
+                .append("jdk.VirtualThreadPinned events : ").append(events.size()).append('\n');
+        bySite.forEach((site, siteEvents) -> {
+            long maxMicros = siteEvents.stream()
+                    .mapToLong(event -> event.getDuration().toNanos() / 1000)
+                    .max()
+                    .orElse(0L);
+            builder.append('\n')
+                    .append(site).append(" : count=").append(siteEvents.size())
+                    .append(", max=").append(maxMicros).append("us\n");
+            if (siteEvents.get(0).getStackTrace() != null) {
+                for (RecordedFrame frame : siteEvents.get(0).getStackTrace().getFrames()) {
+                    builder.append("    at ").append(frameName(frame)).append('\n');
+                }
+            }
+        });
+
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, builder);
+        log.info("Pinning report : {}\n{}", report.toAbsolutePath(), builder);
+    }
+
+    private static String pinnedSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith("com.account."))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadLoadTest::frameName)
+                .orElse("(empty stack trace)");
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * Redis lock 처럼 lock 을 잡기 전에 네트워크 왕복만큼 기다리는 lock
+     */
+    private static class RemoteLatencyLockProvider implements AccountLockProvider {
+        private final AccountLockProvider delegate;
+
+        private RemoteLatencyLockProvider(AccountLockProvider delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void accountLock(String accountNumber, long waitMillis, long leaseMillis) {
+            try {
+                Thread.sleep(REDIS_ROUND_TRIP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.accountLock(accountNumber, waitMillis, leaseMillis);
+        }
+
+        @Override
+        public void accountUnLock(String accountNumber) {
+            delegate.accountUnLock(accountNumber);
+        }
+    }
+
+    private record Result(int maxInFlight, long failed, long p99Millis) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.account.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionIdCodecTest {
+    @Test
+    @DisplayName("26자로 쓰고 같은 16 byte 로 읽음")
+    void roundTrip() {
+        // given
+        byte[] bytes = TransactionIdCodec.toBytes(0x0123456789ABCDEFL, 0xFEDCBA9876543210L);
+
+        // when
+        String transactionId = TransactionIdCodec.encode(bytes);
+
+        // then
+        assertEquals(TransactionIdCodec.LENGTH, transactionId.length());
+        assertArrayEquals(bytes, TransactionIdCodec.decode(transactionId));
+        assertArrayEquals(bytes, TransactionIdCodec.decode(transactionId.toLowerCase()));
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", TransactionIdCodec.encode(-1L, -1L));
+    }
+
+    @Test
+    @DisplayName("문자열 순서와 byte 순서가 같음")
+    void sameOrderAsBytes() {
+        // when
+        String small = TransactionIdCodec.encode(1L, -1L);
+        String large = TransactionIdCodec.encode(2L, 0L);
+        String negative = TransactionIdCodec.encode(-1L, 0L);
+
+        // then
+        assertTrue(small.compareTo(large) < 0);
+        // 부호 없는 값으로 비교한다.
+        assertTrue(large.compareTo(negative) < 0);
+    }
+
+    @Test
+    @DisplayName("이전에 발급한 32자리 hex 도 같은 id 로 읽음")
+    void decodeLegacyHex() {
+        // given
+        UUID uuid = UUID.randomUUID();
+        String legacy = uuid.toString().replace("-", "");
+
+        // when
+        String normalized = TransactionIdCodec.normalize(legacy);
+
+        // then
+        assertEquals(TransactionIdCodec.encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()),
+                normalized);
+        assertArrayEquals(TransactionIdCodec.decode(legacy), TransactionIdCodec.decode(normalized));
+    }
+
+    @Test
+    @DisplayName("거래 id 형식이 아니면 거절")
+    void rejectInvalid() {
+        // then
+        assertFalse(TransactionIdCodec.isValid(null));
+        assertFalse(TransactionIdCodec.isValid("transactionId"));
+        // 128 bit 를 넘는 값, base32 에 없는 글자(U), hex 가 아닌 글자
+        assertFalse(TransactionIdCodec.isValid("80000000000000000000000000"));
+        assertFalse(TransactionIdCodec.isValid("0000000000000000000000000U"));
+        assertFalse(TransactionIdCodec.isValid("0000000000000000000000000000000g"));
+        assertThrows(IllegalArgumentException.class, () -> TransactionIdCodec.decode("transactionId"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.account.repository;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.type.AccountStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * high-throughput 설정에서 insert 가 JDBC batch 로 묶이고 시퀀스를 50건마다 한 번 조회하는지 확인
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("high-throughput")
+class HighThroughputProfileTest {
+    private static final int TRANSACTIONS = 1000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void batchInsertTransactions() {
+        // given
+        Account account = accountRepository.saveAndFlush(Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions.add(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .amount(1000L)
+                    .balanceSnapshot(0L)
+                    .transactionId(transactionId(i))
+                    .transactedAt(LocalDateTime.now())
+                    .build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        transactionRepository.saveAllAndFlush(transactions);
+
+        // then
+        assertEquals(TRANSACTIONS, statistics.getEntityInsertCount());
+        // insert batch 20 번 + 시퀀스 조회 20 번 정도 (기본 설정이면 insert 만 1000 번)
+        assertTrue(statistics.getPrepareStatementCount() <= 2L * TRANSACTIONS / 50 + 5,
+                "statements : " + statistics.getPrepareStatementCount());
+        Set<Long> ids = transactions.stream()
+                .map(Transaction::getId)
+                .collect(Collectors.toSet());
+        assertEquals(TRANSACTIONS, ids.size());
+    }
+
+    private static String transactionId(long sequence) {
+        return TransactionIdCodec.encode(0L, sequence);
+    }
+}
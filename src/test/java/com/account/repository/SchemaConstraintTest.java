@@ -0,0 +1,76 @@
+package com.account.repository;
+
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.type.AccountStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+class SchemaConstraintTest {
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void duplicateAccountNumber() {
+        // given
+        AccountUser accountUser = accountUserRepository.findById(1L).orElseThrow();
+        accountRepository.saveAndFlush(account(accountUser));
+
+        // when
+        // then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> accountRepository.saveAndFlush(account(accountUser)));
+    }
+
+    @Test
+    void duplicateTransactionId() {
+        // given
+        AccountUser accountUser = accountUserRepository.findById(1L).orElseThrow();
+        Account account = accountRepository.saveAndFlush(account(accountUser));
+        transactionRepository.saveAndFlush(transaction(account));
+
+        // when
+        // then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> transactionRepository.saveAndFlush(transaction(account)));
+    }
+
+    private static Account account(AccountUser accountUser) {
+        return Account.builder()
+                .accountUser(accountUser)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static Transaction transaction(Account account) {
+        return Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(0L)
+                .transactionId(TransactionIdCodec.encode(0L, 1L))
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
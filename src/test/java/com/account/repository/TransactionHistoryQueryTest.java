@@ -0,0 +1,135 @@
+package com.account.repository;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.dto.TransactionSummary;
+import com.account.type.AccountStatus;
+import com.account.type.TransactionResultType;
+import com.account.type.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class TransactionHistoryQueryTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(account("1000000001"));
+        Account other = accountRepository.save(account("1000000002"));
+
+        // 같은 시각의 거래가 섞여 있어도 id 로 순서가 정해져야 한다.
+        for (int i = 0; i < 25; i++) {
+            transactionRepository.save(transaction(account, i % 3 == 0 ? CANCEL : USE,
+                    i % 5 == 0 ? F : S, BASE.plusSeconds(i / 2), transactionId(i)));
+        }
+        transactionRepository.save(transaction(other, USE, S, BASE, transactionId(100)));
+    }
+
+    @Test
+    void pageThroughAllTransactions() {
+        // given
+        List<TransactionSummary> read = new ArrayList<>();
+        LocalDateTime transactedAt = FIRST_PAGE;
+        Long id = Long.MAX_VALUE;
+
+        // when
+        while (true) {
+            List<TransactionSummary> page = transactionRepository.findHistory(
+                    account.getId(), transactedAt, id, null, null, PageRequest.of(0, 10));
+            if (page.isEmpty()) {
+                break;
+            }
+            read.addAll(page);
+            TransactionSummary last = page.get(page.size() - 1);
+            transactedAt = last.getTransactedAt();
+            id = last.getId();
+        }
+
+        // then
+        assertEquals(25, read.size());
+        assertEquals(25, read.stream().map(TransactionSummary::getTransactionId).distinct().count());
+        for (int i = 1; i < read.size(); i++) {
+            TransactionSummary previous = read.get(i - 1);
+            TransactionSummary current = read.get(i);
+            assertTrue(previous.getTransactedAt().isAfter(current.getTransactedAt())
+                    || (previous.getTransactedAt().isEqual(current.getTransactedAt())
+                    && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void filterByTypeAndResult() {
+        // when
+        List<TransactionSummary> cancels = transactionRepository.findHistory(
+                account.getId(), FIRST_PAGE, Long.MAX_VALUE, CANCEL, null, PageRequest.of(0, 100));
+        List<TransactionSummary> failedUses = transactionRepository.findHistory(
+                account.getId(), FIRST_PAGE, Long.MAX_VALUE, USE, F, PageRequest.of(0, 100));
+
+        // then
+        // i % 3 == 0 : 0, 3, ..., 24
+        assertEquals(9, cancels.size());
+        assertTrue(cancels.stream().allMatch(t -> t.getTransactionType() == CANCEL));
+        // i % 5 == 0 && i % 3 != 0 : 5, 10, 20, 25(없음)
+        assertEquals(3, failedUses.size());
+    }
+
+    private Account account(String accountNumber) {
+        return Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber(accountNumber)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static Transaction transaction(
+            Account account,
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            LocalDateTime transactedAt,
+            String transactionId
+    ) {
+        return Transaction.builder()
+                .account(account)
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .amount(1000L)
+                .balanceSnapshot(0L)
+                .transactionId(transactionId)
+                .transactedAt(transactedAt)
+                .build();
+    }
+
+    private static String transactionId(long sequence) {
+        return TransactionIdCodec.encode(0L, sequence);
+    }
+}
@@ -0,0 +1,61 @@
+package com.account.repository;
+
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * V5 (거래 id 를 16 byte 로 저장) 전에 발급한 32자리 hex 거래 id 를 옮기는지 확인한다.
+ * V4 까지만 적용한 DB 에 이전 형식의 거래를 넣고 나머지 migration 을 적용한다.
+ */
+@DataJpaTest(properties = "spring.flyway.target=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionIdMigrationTest {
+    private static final String INSERT_TRANSACTION = "insert into transaction (id, transaction_type, "
+            + "transaction_result_type, amount, balance_snapshot, transaction_id, transacted_at, "
+            + "created_at, updated_at) values (?, 'USE', 'S', 1000, 0, ?, now(), now(), now())";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void migrateLegacyHexTransactionId() {
+        // given
+        UUID uuid = UUID.randomUUID();
+        String legacy = uuid.toString().replace("-", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(INSERT_TRANSACTION, 1L, legacy);
+
+        // when
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        // then
+        Transaction transaction = transactionRepository.findByTransactionId(legacy).orElseThrow();
+        assertEquals(TransactionIdCodec.encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()),
+                transaction.getTransactionId());
+        assertEquals(16, jdbcTemplate.queryForObject(
+                "select octet_length(transaction_id) from transaction where id = 1", Integer.class));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(INSERT_TRANSACTION, 2L, null));
+    }
+}
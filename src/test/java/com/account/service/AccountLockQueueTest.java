@@ -0,0 +1,209 @@
+package com.account.service;
+
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockQueueTest {
+    private static final String ACCOUNT_NUMBER = "1000000000";
+    private static final int REQUESTS = 200;
+    private static final int MAX_COMBINE = 32;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+    private final CountingLockProvider accountLockProvider = new CountingLockProvider();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 계좌의 요청은 하나씩 실행하고 lock 은 combiner 만 잡음")
+    void combineRequestsUnderOneLock() throws Exception {
+        // given
+        AccountLockQueue accountLockQueue =
+                new AccountLockQueue(accountLockProvider, REQUESTS, 10_000L, MAX_COMBINE);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // when
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> execute(accountLockQueue, 10_000L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(1);
+                running.decrementAndGet();
+                return index;
+            })));
+        }
+
+        // then
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, maxRunning.get());
+        // LocalStripedLockProvider 는 잡은 스레드에서만 풀 수 있어서 다른 스레드에서 풀었으면 실패한다.
+        assertTrue(accountLockProvider.locks.get() < REQUESTS, "locks : " + accountLockProvider.locks.get());
+        assertTrue(accountLockProvider.locks.get() >= REQUESTS / MAX_COMBINE);
+    }
+
+    @Test
+    @DisplayName("기다리는 요청이 max-depth 만큼 있으면 바로 거절")
+    void rejectWhenQueueIsFull() throws Exception {
+        // given
+        AccountLockQueue accountLockQueue = new AccountLockQueue(accountLockProvider, 1, 10_000L, MAX_COMBINE);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> combiner = executor.submit(() -> execute(accountLockQueue, 10_000L, () -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "combiner";
+        }));
+        started.await(10, TimeUnit.SECONDS);
+        Future<Object> waiter = executor.submit(() -> execute(accountLockQueue, 10_000L, () -> "waiter"));
+        waitUntilQueued();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockQueue.execute(ACCOUNT_NUMBER, 10_000L, -1L, () -> "rejected"));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        release.countDown();
+        assertEquals("combiner", combiner.get(10, TimeUnit.SECONDS));
+        assertEquals("waiter", waiter.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("deadline 안에 차례가 오지 않은 요청은 대기열에서 빠지고 실행되지 않음")
+    void giveUpAfterDeadline() throws Throwable {
+        // given
+        AccountLockQueue accountLockQueue =
+                new AccountLockQueue(accountLockProvider, REQUESTS, 10_000L, MAX_COMBINE);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> combiner = executor.submit(() -> execute(accountLockQueue, 10_000L, () -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "combiner";
+        }));
+        started.await(10, TimeUnit.SECONDS);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockQueue.execute(ACCOUNT_NUMBER, 50L, -1L, () -> executed.getAndSet(true)));
+        release.countDown();
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals("combiner", combiner.get(10, TimeUnit.SECONDS));
+        assertEquals("next", accountLockQueue.execute(ACCOUNT_NUMBER, 1_000L, -1L, () -> "next"));
+        assertFalse(executed.get());
+    }
+
+    @Test
+    @DisplayName("대신 실행한 요청의 예외는 그 요청에만 전달")
+    void propagateFailureToWaiter() throws Exception {
+        // given
+        AccountLockQueue accountLockQueue =
+                new AccountLockQueue(accountLockProvider, REQUESTS, 10_000L, MAX_COMBINE);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> combiner = executor.submit(() -> execute(accountLockQueue, 10_000L, () -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "combiner";
+        }));
+        started.await(10, TimeUnit.SECONDS);
+
+        // when
+        Future<Object> failed = executor.submit(() -> execute(accountLockQueue, 10_000L, () -> {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }));
+        waitUntilQueued();
+        Future<Object> succeeded = executor.submit(() -> execute(accountLockQueue, 10_000L, () -> "succeeded"));
+        waitUntilQueued();
+        release.countDown();
+
+        // then
+        Exception exception = assertThrows(Exception.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, ((AccountException) exception.getCause()).getErrorCode());
+        assertEquals("succeeded", succeeded.get(10, TimeUnit.SECONDS));
+        assertEquals("combiner", combiner.get(10, TimeUnit.SECONDS));
+        assertEquals(1, accountLockProvider.locks.get());
+    }
+
+    @Test
+    @DisplayName("lock 을 못 잡으면 그 요청만 실패하고 다음 요청이 combiner 가 됨")
+    void handOffWhenLockFails() throws Throwable {
+        // given
+        AccountLockQueue accountLockQueue =
+                new AccountLockQueue(accountLockProvider, REQUESTS, 10_000L, MAX_COMBINE);
+        accountLockProvider.failNext.set(true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockQueue.execute(ACCOUNT_NUMBER, 1_000L, -1L, () -> "failed"));
+        Object result = accountLockQueue.execute(ACCOUNT_NUMBER, 1_000L, -1L, () -> "succeeded");
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals("succeeded", result);
+    }
+
+    private static Object execute(
+            AccountLockQueue accountLockQueue, long waitMillis, AccountLockQueue.Invocation invocation
+    ) throws Exception {
+        try {
+            return accountLockQueue.execute(ACCOUNT_NUMBER, waitMillis, -1L, invocation);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 대기열에 들어갈 때까지 기다린다. (들어가기 전에 다음 요청을 보내면 순서가 바뀔 수 있다)
+    private static void waitUntilQueued() throws InterruptedException {
+        Thread.sleep(50);
+    }
+
+    /**
+     * 잡은 스레드에서만 풀 수 있는 lock 을 몇 번 잡았는지 센다.
+     */
+    private static class CountingLockProvider implements AccountLockProvider {
+        private final LocalStripedLockProvider delegate = new LocalStripedLockProvider(16);
+        private final AtomicInteger locks = new AtomicInteger();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public void accountLock(String accountNumber, long waitMillis, long leaseMillis) {
+            if (failNext.getAndSet(false)) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            locks.incrementAndGet();
+            delegate.accountLock(accountNumber, waitMillis, leaseMillis);
+        }
+
+        @Override
+        public void accountUnLock(String accountNumber) {
+            delegate.accountUnLock(accountNumber);
+        }
+    }
+}
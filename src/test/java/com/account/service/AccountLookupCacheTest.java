@@ -0,0 +1,103 @@
+package com.account.service;
+
+import com.account.dto.AccountSnapshot;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.type.AccountStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLookupCacheTest {
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private MeterRegistry meterRegistry;
+    private AccountLookupCache accountLookupCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountLookupCache = new AccountLookupCache(
+                accountUserRepository, accountRepository, meterRegistry, 100L, 60_000L);
+    }
+
+    @Test
+    void userExistsCached() {
+        // given
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+
+        // when
+        boolean first = accountLookupCache.userExists(1L);
+        boolean second = accountLookupCache.userExists(1L);
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        verify(accountUserRepository, times(1)).existsById(1L);
+        assertEquals(1.0, gets("accountUser", "hit"));
+        assertEquals(1.0, gets("accountUser", "miss"));
+    }
+
+    @Test
+    void userNotFoundNotCached() {
+        // given
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
+
+        // when
+        accountLookupCache.userExists(1L);
+        boolean exists = accountLookupCache.userExists(1L);
+
+        // then
+        assertFalse(exists);
+        verify(accountUserRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void evictAccount() {
+        // given
+        given(accountRepository.findSnapshotByAccountNumber(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(1L, 12L, AccountStatus.IN_USE)))
+                .willReturn(Optional.of(new AccountSnapshot(1L, 12L, AccountStatus.UNREGISTERED)));
+
+        // when
+        AccountSnapshot before = accountLookupCache.getAccount("1000000012").orElseThrow();
+        accountLookupCache.getAccount("1000000012");
+        accountLookupCache.evictAccount("1000000012");
+        AccountSnapshot after = accountLookupCache.getAccount("1000000012").orElseThrow();
+
+        // then
+        verify(accountRepository, times(2)).findSnapshotByAccountNumber("1000000012");
+        assertEquals(AccountStatus.IN_USE, before.getAccountStatus());
+        assertEquals(AccountStatus.UNREGISTERED, after.getAccountStatus());
+        assertEquals(1.0, gets("accountSnapshot", "hit"));
+        assertEquals(2.0, gets("accountSnapshot", "miss"));
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cache)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,138 @@
+package com.account.service;
+
+import com.account.config.AccountNumberAllocatorConfig;
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.account.type.AccountStatus.IN_USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 계좌 생성 처리량 비교 (./gradlew loadTest)
+ * 1. 기존 방식 : 마지막 계좌를 조회해서 + 1
+ * 2. 구간 임대 발급기
+ * 계좌번호 unique 제약(uk_account_account_number) 때문에 기존 방식에서 겹친 번호는 저장에 실패하고, 실패한 건수를 충돌로 센다.
+ */
+@Slf4j
+@Tag("load")
+@DataJpaTest
+@Import(AccountNumberAllocatorConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountNumberAllocatorLoadTest {
+    private static final int THREADS = 8;
+    private static final int CREATES_PER_THREAD = 2_000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AccountUser accountUser;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAllInBatch();
+        accountUser = accountUserRepository.findById(1L).orElseThrow();
+    }
+
+    @Test
+    void createsPerSecond() throws Exception {
+        AtomicLong collisionsBefore = new AtomicLong();
+        double before = measure("findFirstByOrderByIdDesc", this::lastAccountNumberPlusOne, collisionsBefore);
+
+        accountRepository.deleteAllInBatch();
+        AtomicLong collisionsAfter = new AtomicLong();
+        double after = measure("allocator", accountNumberAllocator::nextAccountNumber, collisionsAfter);
+
+        log.info("creates/sec before={} after={} (collisions before={})",
+                String.format("%.0f", before), String.format("%.0f", after), collisionsBefore.get());
+        assertEquals(0L, collisionsAfter.get());
+        assertEquals(THREADS * CREATES_PER_THREAD, countDistinctAccountNumbers());
+    }
+
+    private String lastAccountNumberPlusOne() {
+        return accountRepository.findAll(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")))
+                .stream()
+                .findFirst()
+                .map(account -> String.valueOf(Long.parseLong(account.getAccountNumber()) + 1))
+                .orElse("1000000000");
+    }
+
+    /**
+     * @param collisions 이미 있는 계좌번호라서 저장하지 못한 건수
+     */
+    private double measure(
+            String name, Supplier<String> accountNumbers, AtomicLong collisions
+    ) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        long startedAt = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < CREATES_PER_THREAD; j++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                accountRepository.save(Account.builder()
+                                        .accountUser(accountUser)
+                                        .accountStatus(IN_USE)
+                                        .accountNumber(accountNumbers.get())
+                                        .balance(0L)
+                                        .build()));
+                    } catch (DataIntegrityViolationException e) {
+                        collisions.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        double createsPerSecond = THREADS * CREATES_PER_THREAD / (elapsedNanos / 1_000_000_000.0);
+        log.info("[{}] {} creates in {} ms", name, THREADS * CREATES_PER_THREAD, elapsedNanos / 1_000_000);
+        return createsPerSecond;
+    }
+
+    private long countDistinctAccountNumbers() {
+        return accountRepository.findAll().stream()
+                .map(Account::getAccountNumber)
+                .distinct()
+                .count();
+    }
+}
@@ -3,6 +3,7 @@ package com.account.service;
 import com.account.domain.Account;
 import com.account.domain.AccountUser;
 import com.account.dto.AccountDto;
+import com.account.dto.AccountInfo;
 import com.account.exception.AccountException;
 import com.account.repository.AccountRepository;
 import com.account.repository.AccountUserRepository;
@@ -11,6 +12,7 @@ import com.account.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -24,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -35,6 +38,16 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountLookupCache accountLookupCache;
+
+    // 잔액 확인은 기본 구현(BalanceEngine.unregister)을 그대로 쓴다.
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private BalanceEngine balanceEngine;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -45,9 +58,8 @@ class AccountServiceTest {
         user.setId(12L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountNumber("1000000012").build()));
+        given(accountNumberAllocator.nextAccountNumber())
+                .willReturn("1000000013");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(user)
@@ -67,33 +79,6 @@ class AccountServiceTest {
         assertEquals("1000000013", captor.getValue().getAccountNumber());
     }
 
-    @Test
-    void createFirstAccountSuccess() {
-        // given
-        AccountUser user = AccountUser.builder().name("Pobi").build();
-        user.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.empty());
-        given(accountRepository.save(any()))
-                .willReturn(Account.builder()
-                        .accountUser(user)
-                        .accountNumber("1000000015").build());
-
-        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
-
-        // when
-        AccountDto accountDto =
-                accountService.createAccount(1L, 100L);
-
-        // then
-        verify(accountRepository, times(1))
-                .save(captor.capture());
-        assertEquals(12L, accountDto.getUserId());
-        assertEquals("1000000000", captor.getValue().getAccountNumber());
-    }
-
     @Test
     @DisplayName("해당 유저 없음 - 계좌 생성 실패")
     void createAccount_UserNotFound() {
@@ -126,6 +111,7 @@ class AccountServiceTest {
 
         // then
         assertEquals(ErrorCode.MAX_COUNT_PER_USER, accountException.getErrorCode());
+        verify(accountNumberAllocator, never()).nextAccountNumber();
     }
 
     @Test
@@ -150,6 +136,7 @@ class AccountServiceTest {
         // then
         verify(accountRepository, times(1))
                 .save(captor.capture());
+        verify(accountLookupCache, times(1)).evictAccount("1234567890");
         assertEquals(12L, accountDto.getUserId());
         assertEquals("1000000012", captor.getValue().getAccountNumber());
         assertEquals(
@@ -268,34 +255,28 @@ class AccountServiceTest {
     @Test
     void successGetAccountsByUserId() {
         // given
-        AccountUser pobi = AccountUser.builder().name("Pobi").build();
-        pobi.setId(12L);
-
-        List<Account> accountList = Arrays.asList(
-                Account.builder()
-                        .accountUser(pobi)
+        List<AccountInfo> accountInfoList = Arrays.asList(
+                AccountInfo.builder()
                         .accountNumber("1111111111")
                         .balance(1000L)
                         .build(),
-                Account.builder()
-                        .accountUser(pobi)
+                AccountInfo.builder()
                         .accountNumber("2222222222")
                         .balance(2000L)
                         .build(),
-                Account.builder()
-                        .accountUser(pobi)
+                AccountInfo.builder()
                         .accountNumber("3333333333")
                         .balance(3000L)
                         .build()
         );
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
-        given(accountRepository.findByAccountUser(any()))
-                .willReturn(accountList);
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findInfosByAccountUserId(anyLong()))
+                .willReturn(accountInfoList);
 
         // when
-        List<AccountDto> accountDtoList = accountService.getAccountsByUserId(1L);
+        List<AccountInfo> accountDtoList = accountService.getAccountsByUserId(1L);
 
         // then
         assertEquals(3, accountDtoList.size());
@@ -310,8 +291,8 @@ class AccountServiceTest {
     @Test
     void failedToGetAccounts() {
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException accountException = assertThrows(AccountException.class,
@@ -0,0 +1,61 @@
+package com.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveLockLeaseTest {
+
+    @Test
+    @DisplayName("샘플이 모자라면 -1 (watchdog)")
+    void notEnoughSamples() {
+        // given
+        AdaptiveLockLease adaptiveLockLease = new AdaptiveLockLease(3.0, 500L, 15_000L, 100);
+
+        // when
+        for (int i = 0; i < 99; i++) {
+            adaptiveLockLease.recordHold("useBalance", TimeUnit.MILLISECONDS.toNanos(100L));
+        }
+
+        // then
+        assertEquals(-1L, adaptiveLockLease.leaseMillis("useBalance"));
+        assertEquals(-1L, adaptiveLockLease.leaseMillis("cancelBalance"));
+    }
+
+    @Test
+    @DisplayName("lease = p99 * factor")
+    void leaseFromP99() {
+        // given
+        AdaptiveLockLease adaptiveLockLease = new AdaptiveLockLease(3.0, 100L, 15_000L, 100);
+
+        // when
+        // 1 ~ 1024ms 를 한 번씩 기록하면 p99 는 1014ms
+        for (int i = 1; i <= 1024; i++) {
+            adaptiveLockLease.recordHold("useBalance", TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        // then
+        assertEquals(1014L * 3, adaptiveLockLease.leaseMillis("useBalance"));
+    }
+
+    @Test
+    @DisplayName("lease 는 min ~ max 범위로 제한")
+    void leaseIsBounded() {
+        // given
+        AdaptiveLockLease fast = new AdaptiveLockLease(3.0, 500L, 15_000L, 64);
+        AdaptiveLockLease slow = new AdaptiveLockLease(3.0, 500L, 15_000L, 64);
+
+        // when
+        for (int i = 0; i < 64; i++) {
+            fast.recordHold("useBalance", TimeUnit.MILLISECONDS.toNanos(1L));
+            slow.recordHold("useBalance", TimeUnit.SECONDS.toNanos(10L));
+        }
+
+        // then
+        assertEquals(500L, fast.leaseMillis("useBalance"));
+        assertEquals(15_000L, slow.leaseMillis("useBalance"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.account.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.function.Supplier;
+
+/**
+ * 조건부 UPDATE 방식은 계좌 lock 없이 실행한다.
+ */
+@TestPropertySource(properties = {
+        "account.balance.engine=atomic",
+        "spring.datasource.url=jdbc:h2:mem:atomic-balance;LOCK_TIMEOUT=10000"
+})
+class AtomicBalanceConcurrencyTest extends BalanceConcurrencyTest {
+    @Override
+    protected <T> T withAccountLock(String accountNumber, Supplier<T> action) {
+        return action.get();
+    }
+}
@@ -0,0 +1,240 @@
+package com.account.service;
+
+import com.account.config.BalanceEngineConfig;
+import com.account.config.TransactionIdConfig;
+import com.account.config.TransactionWriterConfig;
+import com.account.domain.Account;
+import com.account.dto.TransactionDto;
+import com.account.exception.AccountException;
+import com.account.repository.AccountJdbcRepository;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 한 계좌에 여러 스레드가 동시에 잔액 사용/취소를 했을 때 잔액과 거래 내역이 맞는지 확인
+ * 잔액 변경 방식(account.balance.engine)마다 하위 클래스에서 실행한다.
+ * 경합이 거의 없는 경우의 처리량은 ./gradlew loadTest 로 방식별로 비교한다.
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        TransactionService.class,
+        TransactionJdbcRepository.class,
+        AccountJdbcRepository.class,
+        AccountLookupCache.class,
+        BalanceEngineConfig.class,
+        TransactionWriterConfig.class,
+        TransactionIdConfig.class,
+        OptimisticRetryAspect.class,
+        BalanceConcurrencyTest.TestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class BalanceConcurrencyTest {
+    private static final AtomicLong ACCOUNT_NUMBERS = new AtomicLong(9_000_000_000L);
+    private static final int THREADS = 16;
+    private static final long AMOUNT = 100L;
+
+    @Autowired
+    protected TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+
+    @TestConfiguration
+    @EnableAspectJAutoProxy
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * 잔액 변경을 계좌 lock 안에서 실행해야 하는 방식은 여기서 lock 을 잡는다.
+     */
+    protected abstract <T> T withAccountLock(String accountNumber, Supplier<T> action);
+
+    /**
+     * account 테이블의 잔액을 읽기 전에 부른다. (잔액을 메모리에서 관리하는 방식은 여기서 저장)
+     */
+    protected void flushBalances() {
+    }
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber(String.valueOf(ACCOUNT_NUMBERS.incrementAndGet()))
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void useBalanceNeverOverdraws() throws Exception {
+        // given
+        long successLimit = 200;
+        setBalance(successLimit * AMOUNT);
+        LongAdder successes = new LongAdder();
+
+        // when
+        runConcurrently(THREADS * 50, () -> {
+            try {
+                use();
+                successes.increment();
+            } catch (AccountException e) {
+                assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, e.getErrorCode());
+            }
+        });
+
+        // then
+        assertEquals(successLimit, successes.sum());
+        assertEquals(0L, balance());
+        assertEquals(successLimit, countTransactions("USE"));
+    }
+
+    @Test
+    void useAndCancelKeepBalance() throws Exception {
+        // given
+        long initialBalance = 1_000_000L;
+        int count = 400;
+        setBalance(initialBalance);
+        Queue<String> toCancel = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < count; i++) {
+            toCancel.add(use().getTransactionId());
+        }
+
+        // when
+        runConcurrently(count * 2, () -> {
+            String transactionId = toCancel.poll();
+            if (transactionId == null) {
+                use();
+            } else {
+                withAccountLock(account.getAccountNumber(), () -> transactionService.cancelBalance(
+                        transactionId, account.getAccountNumber(), AMOUNT));
+            }
+        });
+
+        // then
+        assertEquals(initialBalance - count * AMOUNT, balance());
+        assertEquals(count * 2, countTransactions("USE"));
+        assertEquals(count, countTransactions("CANCEL"));
+    }
+
+    @Test
+    @Tag("load")
+    void uncontendedUseThroughput() throws Exception {
+        // given
+        int accounts = 256;
+        int operations = 20_000;
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            Account created = accountRepository.save(Account.builder()
+                    .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                    .accountNumber(String.valueOf(ACCOUNT_NUMBERS.incrementAndGet()))
+                    .accountStatus(AccountStatus.IN_USE)
+                    .balance(operations * AMOUNT)
+                    .registeredAt(LocalDateTime.now())
+                    .build());
+            accountNumbers.add(created.getAccountNumber());
+        }
+
+        // when
+        long startedAt = System.nanoTime();
+        runConcurrently(operations, () -> {
+            String accountNumber = accountNumbers.get(
+                    ThreadLocalRandom.current().nextInt(accounts));
+            withAccountLock(accountNumber,
+                    () -> transactionService.useBalance(1L, accountNumber, AMOUNT));
+        });
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        // then
+        log.info("{} uses/sec={}", getClass().getSimpleName(),
+                String.format("%.0f", operations / seconds));
+    }
+
+    private TransactionDto use() {
+        return withAccountLock(account.getAccountNumber(), () -> transactionService.useBalance(
+                1L, account.getAccountNumber(), AMOUNT));
+    }
+
+    private void runConcurrently(int tasks, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void setBalance(long balance) {
+        jdbcTemplate.update("update account set balance = ? where id = ?", balance, account.getId());
+    }
+
+    private long balance() {
+        flushBalances();
+        return jdbcTemplate.queryForObject(
+                "select balance from account where id = ?", Long.class, account.getId());
+    }
+
+    private long countTransactions(String transactionType) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from transaction where account_id = ? "
+                        + "and transaction_type = ? and transaction_result_type = 'S'",
+                Long.class, account.getId(), transactionType);
+    }
+}
@@ -0,0 +1,188 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.repository.AccountRepository;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 계좌 잔액 변경 방식별 잔액 사용/취소
+ * entity, optimistic 은 계좌 row 를 읽어서 바꾸므로 같은 검증을 하고, 읽는 방법만 다르다.
+ */
+@ExtendWith(MockitoExtension.class)
+class BalanceEngineTest {
+    enum RowEngine {
+        // 계좌 row lock 을 잡고 읽는다.
+        ENTITY,
+        // lock 없이 읽고 @Version 으로 충돌을 확인한다.
+        OPTIMISTIC
+    }
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AtomicBalanceEngine atomicBalanceEngine;
+
+    @BeforeEach
+    void setUp() {
+        atomicBalanceEngine = new AtomicBalanceEngine(accountRepository);
+    }
+
+    @ParameterizedTest
+    @EnumSource(RowEngine.class)
+    void successUseLoadedRow(RowEngine rowEngine) {
+        // given
+        givenLoadedRow(rowEngine, account(AccountStatus.IN_USE, 1000L));
+
+        // when
+        Account account = engine(rowEngine).useBalance(1L, "1000000012", 200L);
+
+        // then
+        assertEquals(800L, account.getBalance());
+        verifyRowRead(rowEngine);
+    }
+
+    @ParameterizedTest
+    @EnumSource(RowEngine.class)
+    @DisplayName("캐시에는 IN_USE 지만 DB 에서는 해지된 계좌 - 잔액 사용 실패")
+    void useLoadedRow_AlreadyUnregistered(RowEngine rowEngine) {
+        // given
+        Account unregistered = account(AccountStatus.UNREGISTERED, 1000L);
+        givenLoadedRow(rowEngine, unregistered);
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> engine(rowEngine).useBalance(1L, "1000000012", 200L));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, accountException.getErrorCode());
+        assertEquals(1000L, unregistered.getBalance());
+    }
+
+    @Test
+    void successUseBalance() {
+        // given
+        given(accountRepository.debitBalance(anyString(), anyLong()))
+                .willReturn(1);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account(AccountStatus.IN_USE, 800L)));
+
+        // when
+        Account account = atomicBalanceEngine.useBalance(1L, "1000000012", 200L);
+
+        // then
+        assertEquals(800L, account.getBalance());
+    }
+
+    @Test
+    void useBalance_AmountExceedBalance() {
+        // given
+        given(accountRepository.debitBalance(anyString(), anyLong()))
+                .willReturn(0);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account(AccountStatus.IN_USE, 100L)));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> atomicBalanceEngine.useBalance(1L, "1000000012", 200L));
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+    }
+
+    @Test
+    void useBalance_AlreadyUnregistered() {
+        // given
+        given(accountRepository.debitBalance(anyString(), anyLong()))
+                .willReturn(0);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account(AccountStatus.UNREGISTERED, 1000L)));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> atomicBalanceEngine.useBalance(1L, "1000000012", 200L));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, accountException.getErrorCode());
+    }
+
+    @Test
+    void useBalance_AccountNotFound() {
+        // given
+        given(accountRepository.debitBalance(anyString(), anyLong()))
+                .willReturn(0);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> atomicBalanceEngine.useBalance(1L, "1000000012", 200L));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @Test
+    void successCancelBalance() {
+        // given
+        given(accountRepository.creditBalance(anyString(), anyLong()))
+                .willReturn(1);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account(AccountStatus.IN_USE, 1200L)));
+
+        // when
+        Account account = atomicBalanceEngine.cancelBalance(
+                account(AccountStatus.IN_USE, 1000L), 200L);
+
+        // then
+        assertEquals(1200L, account.getBalance());
+    }
+
+    private BalanceEngine engine(RowEngine rowEngine) {
+        return switch (rowEngine) {
+            case ENTITY -> new EntityBalanceEngine(accountRepository);
+            case OPTIMISTIC -> new OptimisticBalanceEngine(accountRepository);
+        };
+    }
+
+    private void givenLoadedRow(RowEngine rowEngine, Account account) {
+        switch (rowEngine) {
+            case ENTITY -> given(accountRepository.findForUpdateById(anyLong())).willReturn(Optional.of(account));
+            case OPTIMISTIC -> given(accountRepository.findById(anyLong())).willReturn(Optional.of(account));
+        }
+    }
+
+    private void verifyRowRead(RowEngine rowEngine) {
+        switch (rowEngine) {
+            case ENTITY -> verify(accountRepository, never()).findById(anyLong());
+            case OPTIMISTIC -> verify(accountRepository, never()).findForUpdateById(anyLong());
+        }
+    }
+
+    private static Account account(AccountStatus accountStatus, Long balance) {
+        return Account.builder()
+                .accountStatus(accountStatus)
+                .balance(balance)
+                .accountNumber("1000000012")
+                .build();
+    }
+}
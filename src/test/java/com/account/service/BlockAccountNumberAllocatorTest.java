@@ -0,0 +1,102 @@
+package com.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockAccountNumberAllocatorTest {
+
+    @Test
+    @DisplayName("첫 번째 계좌번호는 1000000000")
+    void firstAccountNumber() {
+        // given
+        AtomicLong counter = new AtomicLong();
+        BlockAccountNumberAllocator allocator = new BlockAccountNumberAllocator(
+                counter::getAndAdd, 10
+        );
+
+        // when
+        // then
+        assertEquals("1000000000", allocator.nextAccountNumber());
+        assertEquals("1000000001", allocator.nextAccountNumber());
+    }
+
+    @Test
+    @DisplayName("구간을 다 쓴 경우에만 저장소에서 새 구간을 임대")
+    void leaseBlockOnlyWhenExhausted() {
+        // given
+        AtomicLong counter = new AtomicLong();
+        AtomicInteger leaseCount = new AtomicInteger();
+        BlockAccountNumberAllocator allocator = new BlockAccountNumberAllocator(
+                blockSize -> {
+                    leaseCount.incrementAndGet();
+                    return counter.getAndAdd(blockSize);
+                }, 10
+        );
+
+        // when
+        for (int i = 0; i < 25; i++) {
+            allocator.nextAccountNumber();
+        }
+
+        // then
+        assertEquals(3, leaseCount.get());
+        assertEquals("1000000025", allocator.nextAccountNumber());
+    }
+
+    @Test
+    @DisplayName("64개 스레드가 동시에 발급해도 계좌번호가 중복되지 않음")
+    void uniqueAcross64Threads() throws Exception {
+        // given
+        int threads = 64;
+        int perThread = 10_000;
+        AtomicLong counter = new AtomicLong();
+        BlockAccountNumberAllocator allocator = new BlockAccountNumberAllocator(
+                counter::getAndAdd, 100
+        );
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < perThread; j++) {
+                    assertTrue(issued.add(allocator.nextAccountNumber()));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(threads * perThread, issued.size());
+        assertTrue(issued.stream().allMatch(number -> number.length() == 10));
+    }
+
+    @Test
+    @DisplayName("잘못된 구간 크기 - 발급기 생성 실패")
+    void invalidBlockSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BlockAccountNumberAllocator(blockSize -> 0L, 0));
+    }
+}
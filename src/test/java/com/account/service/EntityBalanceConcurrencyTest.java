@@ -0,0 +1,26 @@
+package com.account.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.function.Supplier;
+
+/**
+ * entity 방식은 @AccountLock 처럼 계좌 lock 안에서 실행한다.
+ */
+@TestPropertySource(properties = {
+        "account.balance.engine=entity",
+        "spring.datasource.url=jdbc:h2:mem:entity-balance;LOCK_TIMEOUT=10000"
+})
+class EntityBalanceConcurrencyTest extends BalanceConcurrencyTest {
+    private final AccountLockProvider accountLockProvider = new LocalStripedLockProvider(16);
+
+    @Override
+    protected <T> T withAccountLock(String accountNumber, Supplier<T> action) {
+        accountLockProvider.accountLock(accountNumber, 10_000L, -1L);
+        try {
+            return action.get();
+        } finally {
+            accountLockProvider.accountUnLock(accountNumber);
+        }
+    }
+}
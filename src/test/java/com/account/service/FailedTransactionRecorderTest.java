@@ -0,0 +1,227 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.repository.AccountRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.type.AccountStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionType.CANCEL;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionJdbcRepository transactionJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private MeterRegistry meterRegistry;
+    private Path spillFile;
+    private List<Transaction> inserted;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spillFile = tempDir.resolve("failed-transactions.spill");
+        inserted = new ArrayList<>();
+    }
+
+    @Test
+    void writeInBatchOnShutdown() {
+        // given
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(account(1L, "1000000001", 10_000L),
+                        account(2L, "1000000002", 20_000L)));
+        captureInserts();
+        FailedTransactionRecorder recorder = recorder(100);
+
+        // when
+        recorder.start();
+        recorder.record(USE, "1000000001", 100L);
+        recorder.record(CANCEL, "1000000002", 200L);
+        recorder.record(USE, "9999999999", 300L);
+        recorder.stop();
+
+        // then
+        assertEquals(2, inserted.size());
+        Transaction use = inserted.stream()
+                .filter(transaction -> transaction.getTransactionType() == USE)
+                .findFirst().orElseThrow();
+        assertEquals(F, use.getTransactionResultType());
+        assertEquals(1L, use.getAccount().getId());
+        assertEquals(100L, use.getAmount());
+        assertEquals(10_000L, use.getBalanceSnapshot());
+        assertTrue(TransactionIdCodec.isValid(use.getTransactionId()));
+        assertEquals(2.0, meterRegistry.get("account.failed.transactions")
+                .tag("outcome", "written").counter().count());
+        // 없는 계좌
+        assertEquals(1.0, meterRegistry.get("account.failed.transactions")
+                .tag("outcome", "skipped").counter().count());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void spillWhenStopped() throws Exception {
+        // given
+        FailedTransactionRecorder recorder = recorder(1);
+
+        // when
+        // 종료 중이거나 큐가 가득 차면 파일에 남긴다.
+        recorder.record(USE, "1000000001", 100L);
+        recorder.record(USE, "1000000001", 200L);
+
+        // then
+        List<String> lines = Files.readAllLines(spillFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("USE\t1000000001\t100\t"));
+        assertEquals(2.0, meterRegistry.get("account.failed.transactions")
+                .tag("outcome", "spilled").counter().count());
+    }
+
+    @Test
+    void replaySpillOnStart() throws Exception {
+        // given
+        FailedTransactionRecorder stopped = recorder(10);
+        stopped.record(USE, "1000000001", 100L);
+        stopped.record(CANCEL, "1000000001", 200L);
+        assertEquals(2, Files.readAllLines(spillFile).size());
+
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(account(1L, "1000000001", 10_000L)));
+        captureInserts();
+        FailedTransactionRecorder recorder = recorder(10);
+
+        // when
+        recorder.start();
+        recorder.stop();
+
+        // then
+        assertEquals(2, inserted.size());
+        assertEquals(100L, inserted.get(0).getAmount());
+        assertEquals(CANCEL, inserted.get(1).getTransactionType());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void spillAndRetryWhenWriteFails() {
+        // given
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(account(1L, "1000000001", 10_000L)));
+        willThrow(new DataAccessResourceFailureException("db down"))
+                .willAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .given(transactionJdbcRepository).batchInsert(anyList());
+        FailedTransactionRecorder recorder = recorder(10);
+
+        // when
+        recorder.start();
+        recorder.record(USE, "1000000001", 100L);
+        recorder.stop();
+
+        // then
+        verify(transactionJdbcRepository, atLeastOnce()).batchInsert(anyList());
+        assertEquals(1, inserted.size());
+        assertEquals(1.0, meterRegistry.get("account.failed.transactions")
+                .tag("outcome", "spilled").counter().count());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    @DisplayName("다시 저장할 수 없는 줄은 dead-letter 파일로 옮기고 뒤의 줄은 저장")
+    void deadLetterUnrecoverableLines() throws Exception {
+        // given
+        String duplicated = TransactionIdCodec.encode(0L, 1L);
+        String written = TransactionIdCodec.encode(0L, 2L);
+        Files.write(spillFile, List.of(
+                "USE\t1000000001\t100\t" + duplicated + "\t2024-01-01T00:00",
+                "not a spilled line",
+                "USE\t1000000001\t200\t" + written + "\t2024-01-01T00:01"));
+
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(account(1L, "1000000001", 10_000L)));
+        // 이전 replay 에서 이미 저장한 거래
+        willAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            if (transactions.stream().anyMatch(transaction -> transaction.getTransactionId().equals(duplicated))) {
+                throw new DuplicateKeyException("uk_transaction_transaction_id");
+            }
+            inserted.addAll(transactions);
+            return null;
+        }).given(transactionJdbcRepository).batchInsert(anyList());
+        FailedTransactionRecorder recorder = recorder(10);
+
+        // when
+        recorder.start();
+        recorder.stop();
+
+        // then
+        assertEquals(1, inserted.size());
+        assertEquals(written, inserted.get(0).getTransactionId());
+        List<String> deadLetters = Files.readAllLines(tempDir.resolve("failed-transactions.spill.dead"));
+        assertEquals(2, deadLetters.size());
+        assertTrue(deadLetters.contains("not a spilled line"));
+        assertEquals(2.0, meterRegistry.get("account.failed.transactions")
+                .tag("outcome", "dead-lettered").counter().count());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    private FailedTransactionRecorder recorder(int queueCapacity) {
+        return new FailedTransactionRecorder(accountRepository, transactionJdbcRepository,
+                new TimeOrderedTransactionIdGenerator(0), transactionManager, meterRegistry,
+                queueCapacity, 500, 0L, 10L, 5_000L, spillFile);
+    }
+
+    private void captureInserts() {
+        willAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            inserted.addAll(transactions);
+            return null;
+        }).given(transactionJdbcRepository).batchInsert(anyList());
+    }
+
+    private static Account account(Long id, String accountNumber, Long balance) {
+        Account account = Account.builder()
+                .accountNumber(accountNumber)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(balance)
+                .build();
+        account.setId(id);
+        return account;
+    }
+}
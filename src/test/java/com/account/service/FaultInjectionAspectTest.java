@@ -0,0 +1,147 @@
+package com.account.service;
+
+import com.account.config.FaultInjectionProperties;
+import com.account.exception.AccountException;
+import com.account.type.DelayDistribution;
+import com.account.type.ErrorCode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FaultInjectionAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private FaultInjectionProperties properties;
+
+    private FaultInjectionAspect faultInjectionAspect;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FaultInjectionProperties();
+        faultInjectionAspect = new FaultInjectionAspect(properties);
+    }
+
+    private void givenHandler(String name) {
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn(name);
+    }
+
+    @Test
+    @DisplayName("설정이 없는 엔드포인트는 그대로 실행")
+    void notConfiguredEndpoint() throws Throwable {
+        // given
+        givenHandler("useBalance");
+        given(proceedingJoinPoint.proceed()).willReturn("result");
+
+        // when
+        Object result = faultInjectionAspect.injectFault(proceedingJoinPoint);
+
+        // then
+        assertEquals("result", result);
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("오류 확률 1.0 - 실행하지 않고 INTERNAL_SERVER_ERROR")
+    void injectError() throws Throwable {
+        // given
+        givenHandler("useBalance");
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setErrorRate(1.0);
+        properties.getEndpoints().put("useBalance", endpoint);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> faultInjectionAspect.injectFault(proceedingJoinPoint));
+
+        // then
+        assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("고정 지연 후 실행")
+    void injectFixedDelay() throws Throwable {
+        // given
+        givenHandler("useBalance");
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setDelay(DelayDistribution.FIXED);
+        endpoint.setDelayMillis(50L);
+        properties.getEndpoints().put("useBalance", endpoint);
+        given(proceedingJoinPoint.proceed()).willReturn("result");
+
+        // when
+        long startedAt = System.nanoTime();
+        Object result = faultInjectionAspect.injectFault(proceedingJoinPoint);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then
+        assertEquals("result", result);
+        assertTrue(elapsedMillis >= 50L);
+    }
+
+    @Test
+    @DisplayName("lock 유지 배수만큼 처리 후에 더 기다림")
+    void stretchLockHold() throws Throwable {
+        // given
+        givenHandler("useBalance");
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setLockHoldMultiplier(3.0);
+        properties.getEndpoints().put("useBalance", endpoint);
+        given(proceedingJoinPoint.proceed()).willAnswer(invocation -> {
+            Thread.sleep(20L);
+            return "result";
+        });
+
+        // when
+        long startedAt = System.nanoTime();
+        faultInjectionAspect.injectFault(proceedingJoinPoint);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then
+        assertTrue(elapsedMillis >= 60L);
+    }
+
+    @Test
+    @DisplayName("지연 분포별 샘플 범위")
+    void sampleDelayRange() {
+        // given
+        FaultInjectionProperties.Endpoint uniform = new FaultInjectionProperties.Endpoint();
+        uniform.setDelay(DelayDistribution.UNIFORM);
+        uniform.setDelayMillis(10L);
+        uniform.setMaxDelayMillis(20L);
+
+        FaultInjectionProperties.Endpoint exponential = new FaultInjectionProperties.Endpoint();
+        exponential.setDelay(DelayDistribution.EXPONENTIAL);
+        exponential.setDelayMillis(100L);
+        exponential.setMaxDelayMillis(150L);
+
+        // when
+        // then
+        for (int i = 0; i < 1_000; i++) {
+            long uniformDelay = FaultInjectionAspect.sampleDelayMillis(uniform);
+            assertTrue(uniformDelay >= 10L && uniformDelay <= 20L);
+
+            long exponentialDelay = FaultInjectionAspect.sampleDelayMillis(exponential);
+            assertTrue(exponentialDelay >= 0L && exponentialDelay <= 150L);
+        }
+        assertEquals(0L, FaultInjectionAspect.sampleDelayMillis(
+                new FaultInjectionProperties.Endpoint()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.account.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HybridRateLimiterTest {
+    private static final RateLimit RATE_LIMIT = new RateLimit(1L, 2L);
+
+    @Mock
+    private RequestRateLimiter redisRateLimiter;
+
+    private HybridRateLimiter hybridRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        hybridRateLimiter = new HybridRateLimiter(
+                new LocalTokenBucketRateLimiter(1000L, Duration.ofMinutes(1)), redisRateLimiter);
+    }
+
+    @Test
+    @DisplayName("로컬 한도를 넘은 요청은 Redis 를 거치지 않고 거절")
+    void rejectLocallyWithoutRedis() {
+        // given
+        given(redisRateLimiter.tryAcquire(anyString(), any())).willReturn(true);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            hybridRateLimiter.tryAcquire("account:1000000000", RATE_LIMIT);
+        }
+
+        // then
+        verify(redisRateLimiter, times(2)).tryAcquire("account:1000000000", RATE_LIMIT);
+    }
+
+    @Test
+    @DisplayName("로컬 한도 안이어도 Redis 의 전체 한도를 넘으면 거절")
+    void rejectWhenClusterBudgetIsExhausted() {
+        // given
+        given(redisRateLimiter.tryAcquire(anyString(), any())).willReturn(true, false);
+
+        // when
+        boolean first = hybridRateLimiter.tryAcquire("account:1000000000", RATE_LIMIT);
+        boolean second = hybridRateLimiter.tryAcquire("account:1000000000", RATE_LIMIT);
+
+        // then
+        assertTrue(first);
+        assertFalse(second);
+    }
+
+    @Test
+    @DisplayName("Redis 에서 거절되면 꺼낸 로컬 한도를 돌려줌")
+    void releaseLocalPermitWhenRedisRejects() {
+        // given
+        given(redisRateLimiter.tryAcquire(anyString(), any())).willReturn(false, false, false, true, true);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            hybridRateLimiter.tryAcquire("account:1000000000", RATE_LIMIT);
+        }
+        boolean first = hybridRateLimiter.tryAcquire("account:1000000000", RATE_LIMIT);
+        boolean second = hybridRateLimiter.tryAcquire("account:1000000000", RATE_LIMIT);
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        verify(redisRateLimiter, times(5)).tryAcquire("account:1000000000", RATE_LIMIT);
+    }
+}
@@ -0,0 +1,301 @@
+package com.account.service;
+
+import com.account.controller.TransactionController;
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+    private static final int DUPLICATES = 10_000;
+    private static final int THREADS = 16;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountLockProvider accountLockProvider;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyStore = new LocalIdempotencyStore(1000L, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void replayDuplicatesWithoutLockAndService() throws Exception {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("transactionId"));
+        TransactionController transactionController = transactionController(newAspect());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+
+        withIdempotencyKey("key-1");
+        UseBalance.Response first = transactionController.useBalance(request);
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<UseBalance.Response>> futures = new ArrayList<>();
+        for (int i = 0; i < DUPLICATES; i++) {
+            futures.add(executor.submit(() -> {
+                withIdempotencyKey("key-1");
+                try {
+                    return transactionController.useBalance(
+                            new UseBalance.Request(1L, "1000000000", 1000L));
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }));
+        }
+
+        // then
+        for (Future<UseBalance.Response> future : futures) {
+            UseBalance.Response response = future.get(10, TimeUnit.SECONDS);
+            assertEquals(first.getTransactionId(), response.getTransactionId());
+            assertEquals(first.getTransactedAt(), response.getTransactedAt());
+        }
+        executor.shutdown();
+
+        verify(transactionService, times(1)).useBalance(1L, "1000000000", 1000L);
+        verify(accountLockProvider, times(1)).accountLock(anyString(), anyLong(), anyLong());
+        assertEquals(1.0, requests("miss"));
+        assertEquals(DUPLICATES, requests("hit_local"));
+    }
+
+    @Test
+    void replayFromStoreOnOtherServer() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("transactionId"));
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+        withIdempotencyKey("key-1");
+        transactionController(newAspect()).useBalance(request);
+
+        // when
+        // 같은 저장소를 쓰는 다른 서버 (로컬 캐시는 비어 있음)
+        UseBalance.Response response = transactionController(newAspect()).useBalance(request);
+
+        // then
+        assertEquals("transactionId", response.getTransactionId());
+        verify(transactionService, times(1)).useBalance(anyLong(), anyString(), anyLong());
+        assertEquals(1.0, requests("hit_store"));
+    }
+
+    @Test
+    void rejectReusedKey() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("transactionId"));
+        TransactionController transactionController = transactionController(newAspect());
+        withIdempotencyKey("key-1");
+        transactionController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionController.useBalance(
+                        new UseBalance.Request(1L, "1000000000", 2000L)));
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+        verify(transactionService, times(1)).useBalance(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    void rejectWhileInProgress() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willAnswer(invocation -> {
+                    started.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return transactionDto("transactionId");
+                });
+        TransactionController transactionController = transactionController(newAspect());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<UseBalance.Response> first = executor.submit(() -> {
+            withIdempotencyKey("key-1");
+            return transactionController.useBalance(
+                    new UseBalance.Request(1L, "1000000000", 1000L));
+        });
+        started.await(10, TimeUnit.SECONDS);
+        withIdempotencyKey("key-1");
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionController.useBalance(
+                        new UseBalance.Request(1L, "1000000000", 1000L)));
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        release.countDown();
+        assertEquals("transactionId", first.get(10, TimeUnit.SECONDS).getTransactionId());
+        executor.shutdown();
+    }
+
+    @Test
+    void retryAfterFailure() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .willReturn(transactionDto("transactionId"));
+        TransactionController transactionController = transactionController(newAspect());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+        withIdempotencyKey("key-1");
+
+        // when
+        assertThrows(AccountException.class, () -> transactionController.useBalance(request));
+        UseBalance.Response response = transactionController.useBalance(request);
+
+        // then
+        assertEquals("transactionId", response.getTransactionId());
+        verify(transactionService, times(2)).useBalance(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    void holdKeyWhenRecordNotStored() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("transactionId"));
+        idempotencyStore = spy(idempotencyStore);
+        willThrow(new IllegalStateException("store down"))
+                .given(idempotencyStore).complete(anyString(), any());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+        withIdempotencyKey("key-1");
+        transactionController(newAspect()).useBalance(request);
+
+        // when
+        // pending-ttl 이 지난 뒤 다른 서버로 다시 요청한 경우
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionController(newAspect()).useBalance(request));
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS, exception.getErrorCode());
+        verify(idempotencyStore, times(3)).complete(anyString(), any());
+        verify(idempotencyStore).holdPending(anyString(), anyString());
+        verify(transactionService, times(1)).useBalance(anyLong(), anyString(), anyLong());
+        assertEquals(1.0, requests("store_failed"));
+    }
+
+    @Test
+    void sameKeyFromOtherUser() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("transactionId"));
+        TransactionController transactionController = transactionController(newAspect());
+        withIdempotencyKey("key-1");
+        transactionController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L));
+
+        // when
+        transactionController.useBalance(new UseBalance.Request(2L, "1000000001", 2000L));
+
+        // then
+        verify(transactionService).useBalance(1L, "1000000000", 1000L);
+        verify(transactionService).useBalance(2L, "1000000001", 2000L);
+        assertEquals(2.0, requests("miss"));
+    }
+
+    @Test
+    void proceedWithoutKey() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto("transactionId"));
+        TransactionController transactionController = transactionController(newAspect());
+        UseBalance.Request request = new UseBalance.Request(1L, "1000000000", 1000L);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // when
+        transactionController.useBalance(request);
+        transactionController.useBalance(request);
+
+        // then
+        verify(transactionService, times(2)).useBalance(anyLong(), anyString(), anyLong());
+    }
+
+    private IdempotencyAspect newAspect() {
+        return new IdempotencyAspect(idempotencyStore, objectMapper, meterRegistry, 1000L, 60_000L);
+    }
+
+    private TransactionController transactionController(IdempotencyAspect idempotencyAspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TransactionController(
+                transactionService, mock(TransactionBatchService.class),
+                mock(TransactionExportService.class), mock(FailedTransactionRecorder.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(idempotencyAspect);
+        proxyFactory.addAspect(new LockAopAspect(accountLockProvider,
+                new AdaptiveLockLease(3.0, 500L, 15_000L, 100), new SimpleMeterRegistry(), null));
+        return proxyFactory.getProxy();
+    }
+
+    private static void withIdempotencyKey(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdempotencyAspect.HEADER, key);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("account.idempotency.requests")
+                .tag("endpoint", "useBalance")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static TransactionDto transactionDto(String transactionId) {
+        return TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactionResultType(S)
+                .transactionId(transactionId)
+                .amount(1000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
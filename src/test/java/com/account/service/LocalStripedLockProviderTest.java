@@ -0,0 +1,64 @@
+package com.account.service;
+
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStripedLockProviderTest {
+    private static final long WAIT_MILLIS = 50L;
+
+    @Test
+    void lockAndUnLock() {
+        // given
+        LocalStripedLockProvider lockProvider = new LocalStripedLockProvider(16);
+
+        // when
+        // then
+        assertDoesNotThrow(() -> lockProvider.accountLock("1234567890", WAIT_MILLIS, -1L));
+        assertDoesNotThrow(() -> lockProvider.accountUnLock("1234567890"));
+    }
+
+    @Test
+    @DisplayName("다른 스레드가 잡고 있는 계좌 - ACCOUNT_TRANSACTION_LOCK")
+    void failGetLock() throws Exception {
+        // given
+        LocalStripedLockProvider lockProvider = new LocalStripedLockProvider(16);
+        lockProvider.accountLock("1234567890", WAIT_MILLIS, -1L);
+
+        // when
+        AccountException exception = CompletableFuture.supplyAsync(() ->
+                assertThrows(AccountException.class,
+                        () -> lockProvider.accountLock("1234567890", WAIT_MILLIS, -1L))
+        ).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals(
+                ErrorCode.ACCOUNT_TRANSACTION_LOCK.getDescription(),
+                exception.getErrorMessage()
+        );
+        lockProvider.accountUnLock("1234567890");
+    }
+
+    @Test
+    @DisplayName("해제된 계좌는 다른 스레드가 다시 잡을 수 있음")
+    void relockAfterUnLock() throws Exception {
+        // given
+        LocalStripedLockProvider lockProvider = new LocalStripedLockProvider(16);
+        lockProvider.accountLock("1234567890", WAIT_MILLIS, -1L);
+        lockProvider.accountUnLock("1234567890");
+
+        // when
+        // then
+        CompletableFuture.runAsync(() -> {
+            lockProvider.accountLock("1234567890", WAIT_MILLIS, -1L);
+            lockProvider.accountUnLock("1234567890");
+        }).get(5, TimeUnit.SECONDS);
+    }
+}
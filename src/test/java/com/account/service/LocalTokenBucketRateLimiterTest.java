@@ -0,0 +1,112 @@
+package com.account.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTokenBucketRateLimiterTest {
+    private static final RateLimit RATE_LIMIT = new RateLimit(10L, 20L);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private LocalTokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new LocalTokenBucketRateLimiter(1000L, Duration.ofMinutes(1), now::get);
+    }
+
+    @Test
+    @DisplayName("burst 만큼 허용한 뒤 거절")
+    void rejectAfterBurst() {
+        // when
+        int acquired = acquire("account:1000000000", 100);
+
+        // then
+        assertEquals(20, acquired);
+        assertFalse(rateLimiter.tryAcquire("account:1000000000", RATE_LIMIT));
+    }
+
+    @Test
+    @DisplayName("지난 시간만큼 다시 채워지고 burst 를 넘지 않음")
+    void refillOverTime() {
+        // given
+        acquire("account:1000000000", 100);
+
+        // when
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        int afterHalfSecond = acquire("account:1000000000", 100);
+        now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        int afterTenMinutes = acquire("account:1000000000", 100);
+
+        // then
+        assertEquals(5, afterHalfSecond);
+        assertEquals(20, afterTenMinutes);
+    }
+
+    @Test
+    @DisplayName("남은 한도 확인은 한도를 쓰지 않음")
+    void hasPermitDoesNotAcquire() {
+        // given
+        acquire("account:1000000000", 19);
+
+        // when
+        boolean hasPermit = rateLimiter.hasPermit("account:1000000000", RATE_LIMIT)
+                && rateLimiter.hasPermit("account:1000000000", RATE_LIMIT);
+
+        // then
+        assertTrue(hasPermit);
+        assertTrue(rateLimiter.tryAcquire("account:1000000000", RATE_LIMIT));
+        assertFalse(rateLimiter.hasPermit("account:1000000000", RATE_LIMIT));
+    }
+
+    @Test
+    @DisplayName("돌려준 한도는 다시 쓸 수 있고 burst 를 넘지 않음")
+    void releaseReturnsPermit() {
+        // given
+        acquire("account:1000000000", 100);
+
+        // when
+        rateLimiter.release("account:1000000000", RATE_LIMIT);
+        int afterRelease = acquire("account:1000000000", 100);
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.release("account:1000000000", RATE_LIMIT);
+        }
+        int afterOverRelease = acquire("account:1000000000", 100);
+
+        // then
+        assertEquals(1, afterRelease);
+        assertEquals(20, afterOverRelease);
+    }
+
+    @Test
+    @DisplayName("한 키가 한도를 다 써도 다른 키는 영향 없음")
+    void keysAreIndependent() {
+        // given
+        acquire("account:1000000000", 100);
+
+        // when
+        boolean other = rateLimiter.tryAcquire("account:1000000001", RATE_LIMIT);
+
+        // then
+        assertTrue(other);
+    }
+
+    private int acquire(String key, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (rateLimiter.tryAcquire(key, RATE_LIMIT)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+}
@@ -1,33 +1,67 @@
 package com.account.service;
 
+import com.account.aop.AccountLock;
 import com.account.dto.UseBalance;
 import com.account.exception.AccountException;
 import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockAopAspectTest {
     @Mock
-    RedisLockService redisLockService;
+    AccountLockProvider accountLockProvider;
 
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
-    @InjectMocks
+    @Mock
+    private Signature signature;
+
+    @Mock
+    private AccountLock accountLock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdaptiveLockLease adaptiveLockLease;
+
     private LockAopAspect lockAopAspect;
 
+    private final UseBalance.Request request = new UseBalance.Request(
+            123L,
+            "1234567890",
+            1000L
+    );
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adaptiveLockLease = new AdaptiveLockLease(3.0, 500L, 15_000L, 100);
+        lockAopAspect = new LockAopAspect(accountLockProvider, adaptiveLockLease, meterRegistry, null);
+
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+        given(accountLock.tryLockTime()).willReturn(5000L);
+    }
+
     @Test
     void lockAndUnLock() throws Throwable {
         // given
@@ -36,29 +70,138 @@ class LockAopAspectTest {
         ArgumentCaptor<String> unLockArgumentCaptor =
                 ArgumentCaptor.forClass(String.class);
 
-        UseBalance.Request request = new UseBalance.Request(
-                123L,
-                "1234567890",
-                1000L
-        );
-
+        given(accountLock.leaseTime()).willReturn(AccountLock.ADAPTIVE_LEASE);
         given(proceedingJoinPoint.proceed())
                 .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
         // when
         assertThrows(
                 AccountException.class,
-                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request)
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request)
         );
 
         // then
-        verify(redisLockService, times(1))
-                .accountLock(lockArgumentCaptor.capture());
-        verify(redisLockService, times(1))
+        verify(accountLockProvider, times(1))
+                .accountLock(lockArgumentCaptor.capture(), anyLong(), anyLong());
+        verify(accountLockProvider, times(1))
                 .accountUnLock(unLockArgumentCaptor.capture());
 
         assertEquals("1234567890", lockArgumentCaptor.getValue());
         assertEquals("1234567890", unLockArgumentCaptor.getValue());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("애노테이션의 대기/lease 시간으로 lock 을 잡음")
+    void lockWithAnnotationTimes() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(3000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        verify(accountLockProvider, times(1))
+                .accountLock("1234567890", 5000L, 3000L);
+    }
+
+    @Test
+    @DisplayName("관측 샘플이 없으면 lease 없이 lock 을 잡음 (watchdog)")
+    void adaptiveLeaseFallsBackToWatchdog() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(AccountLock.ADAPTIVE_LEASE);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        verify(accountLockProvider, times(1))
+                .accountLock("1234567890", 5000L, -1L);
+    }
+
+    @Test
+    @DisplayName("lock 획득 실패 - 실행/해제하지 않고 대기 시간만 기록")
+    void failGetLock() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(AccountLock.WATCHDOG_LEASE);
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(accountLockProvider).accountLock(anyString(), anyLong(), eq(-1L));
+
+        // when
+        AccountException exception = assertThrows(
+                AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request)
+        );
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+        verify(accountLockProvider, never()).accountUnLock(anyString());
+        assertEquals(1L, meterRegistry.get("account.lock.wait")
+                .tag("endpoint", "useBalance").tag("result", "F").timer().count());
+        assertNull(meterRegistry.find("account.lock.hold").timer());
+    }
+
+    @Test
+    @DisplayName("lock 대기/유지 시간을 엔드포인트별 히스토그램으로 기록")
+    void recordLockHistograms() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(AccountLock.WATCHDOG_LEASE);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals(2L, meterRegistry.get("account.lock.wait")
+                .tag("endpoint", "useBalance").tag("result", "S").timer().count());
+        assertEquals(2L, meterRegistry.get("account.lock.hold")
+                .tag("endpoint", "useBalance").tag("result", "S").timer().count());
+    }
+
+    @Test
+    @DisplayName("대기열을 쓰면 대기열을 거쳐 lock 을 잡고 실행")
+    void lockThroughQueue() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(3000L);
+        given(proceedingJoinPoint.proceed()).willReturn("result");
+        LockAopAspect queuedAspect = new LockAopAspect(accountLockProvider, adaptiveLockLease, meterRegistry,
+                new AccountLockQueue(accountLockProvider, 16, 5000L, 32));
+
+        // when
+        Object result = queuedAspect.aroundMethod(proceedingJoinPoint, accountLock, request);
+
+        // then
+        assertEquals("result", result);
+        verify(accountLockProvider, times(1)).accountLock("1234567890", 5000L, 3000L);
+        verify(accountLockProvider, times(1)).accountUnLock("1234567890");
+        assertEquals(1L, meterRegistry.get("account.lock.wait")
+                .tag("endpoint", "useBalance").tag("result", "S").timer().count());
+        assertEquals(1L, meterRegistry.get("account.lock.hold")
+                .tag("endpoint", "useBalance").tag("result", "S").timer().count());
+    }
+
+    @Test
+    @DisplayName("대기열에서 lock 을 못 잡으면 실행하지 않고 대기 시간만 기록")
+    void failGetLockThroughQueue() throws Throwable {
+        // given
+        given(accountLock.leaseTime()).willReturn(AccountLock.WATCHDOG_LEASE);
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(accountLockProvider).accountLock(anyString(), anyLong(), eq(-1L));
+        LockAopAspect queuedAspect = new LockAopAspect(accountLockProvider, adaptiveLockLease, meterRegistry,
+                new AccountLockQueue(accountLockProvider, 16, 5000L, 32));
+
+        // when
+        AccountException exception = assertThrows(
+                AccountException.class,
+                () -> queuedAspect.aroundMethod(proceedingJoinPoint, accountLock, request)
+        );
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, never()).proceed();
+        verify(accountLockProvider, never()).accountUnLock(anyString());
+        assertEquals(1L, meterRegistry.get("account.lock.wait")
+                .tag("endpoint", "useBalance").tag("result", "F").timer().count());
+    }
+}
@@ -0,0 +1,21 @@
+package com.account.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 lock 방식은 계좌 lock 없이 실행한다.
+ * 한 계좌에 모든 스레드가 몰리는 경우라 재시도 횟수를 넉넉하게 준다.
+ */
+@TestPropertySource(properties = {
+        "account.balance.engine=optimistic",
+        "account.balance.retry.max-attempts=1000",
+        "spring.datasource.url=jdbc:h2:mem:optimistic-balance;LOCK_TIMEOUT=10000"
+})
+class OptimisticBalanceConcurrencyTest extends BalanceConcurrencyTest {
+    @Override
+    protected <T> T withAccountLock(String accountNumber, Supplier<T> action) {
+        return action.get();
+    }
+}
@@ -0,0 +1,110 @@
+package com.account.service;
+
+import com.account.aop.OptimisticRetry;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @Mock
+    private OptimisticRetry optimisticRetry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OptimisticRetryAspect optimisticRetryAspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticRetryAspect = new OptimisticRetryAspect(meterRegistry, 3, 1L, 4L);
+
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getName()).willReturn("useBalance");
+    }
+
+    @Test
+    void retryUntilSuccess() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(conflict())
+                .willReturn("result");
+
+        // when
+        Object result = optimisticRetryAspect.retry(proceedingJoinPoint, optimisticRetry);
+
+        // then
+        assertEquals("result", result);
+        verify(proceedingJoinPoint, times(2)).proceed();
+        assertEquals(1.0, count("account.optimistic.calls"));
+        assertEquals(1.0, count("account.optimistic.conflicts"));
+        assertEquals(1.0, count("account.optimistic.retries"));
+    }
+
+    @Test
+    void retryExhausted() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(conflict());
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.retry(proceedingJoinPoint, optimisticRetry));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, accountException.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();
+        assertEquals(3.0, count("account.optimistic.conflicts"));
+        assertEquals(2.0, count("account.optimistic.retries"));
+    }
+
+    @Test
+    void notRetryAccountException() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> optimisticRetryAspect.retry(proceedingJoinPoint, optimisticRetry));
+
+        // then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void backoffDelayBounded() {
+        for (int attempt = 1; attempt <= 64; attempt++) {
+            long delay = optimisticRetryAspect.backoffDelayMillis(attempt);
+            assertTrue(delay >= 0 && delay <= 4L, "attempt " + attempt + " delay " + delay);
+        }
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Account", 1L);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("method", "useBalance").counter().count();
+    }
+}
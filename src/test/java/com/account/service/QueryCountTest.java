@@ -0,0 +1,229 @@
+package com.account.service;
+
+import com.account.config.AccountNumberAllocatorConfig;
+import com.account.config.BalanceEngineConfig;
+import com.account.config.TransactionIdConfig;
+import com.account.config.TransactionWriterConfig;
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.dto.QueryTransactionResposce;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.repository.TransactionRepository;
+import com.account.type.AccountStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 서비스 메서드(엔드포인트)마다 DB 로 보내는 SQL 수가 데이터 양과 관계없이 일정한지 확인 (N+1 방지)
+ * 연관관계(@ManyToOne)는 모두 지연 로딩이고, 필요한 곳만 fetch join(@EntityGraph)으로 함께 읽는다.
+ * 지연 로딩 프록시를 따로 조회한 횟수(entity fetch)는 항상 0 이어야 한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.account.service.SqlStatementCounter"
+})
+@Import({
+        AccountService.class,
+        TransactionService.class,
+        TransactionJdbcRepository.class,
+        AccountLookupCache.class,
+        AccountNumberAllocatorConfig.class,
+        BalanceEngineConfig.class,
+        TransactionWriterConfig.class,
+        TransactionIdConfig.class,
+        QueryCountTest.TestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryCountTest {
+    private static final AtomicLong ACCOUNT_NUMBERS = new AtomicLong(8_000_000_000L);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private AccountUser accountUser;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        accountUser = accountUserRepository.save(AccountUser.builder().name("query-count").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountUserRepository.delete(accountUser);
+    }
+
+    @Test
+    void queryTransaction() {
+        // given
+        Account account = account(10_000L);
+        String transactionId = transactionService.useBalance(
+                accountUser.getId(), account.getAccountNumber(), 1000L).getTransactionId();
+        reset();
+
+        // when
+        QueryTransactionResposce response = transactionService.queryTranscation(transactionId);
+
+        // then
+        // 거래 + 계좌 join 한 번
+        assertEquals(account.getAccountNumber(), response.getAccountNumber());
+        assertStatements(1);
+    }
+
+    @Test
+    void useBalance() {
+        // given
+        Account account = account(10_000L);
+        // 사용자/계좌 검증 캐시를 채운다.
+        transactionService.useBalance(accountUser.getId(), account.getAccountNumber(), 1000L);
+        reset();
+
+        // when
+        transactionService.useBalance(accountUser.getId(), account.getAccountNumber(), 1000L);
+
+        // then
+        // 계좌 select for update, 거래 insert, 계좌 update
+        assertStatements(3);
+    }
+
+    @Test
+    void cancelBalance() {
+        // given
+        Account account = account(10_000L);
+        String transactionId = transactionService.useBalance(
+                accountUser.getId(), account.getAccountNumber(), 1000L).getTransactionId();
+        reset();
+
+        // when
+        transactionService.cancelBalance(transactionId, account.getAccountNumber(), 1000L);
+
+        // then
+        // 거래 + 계좌 join, 계좌 조회, 거래 insert, 계좌 update
+        assertStatements(4);
+    }
+
+    @Test
+    void getAccountsByUserId() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            account(1000L);
+        }
+        reset();
+
+        // when
+        int accounts = accountService.getAccountsByUserId(accountUser.getId()).size();
+
+        // then
+        // 사용자 존재 확인, 계좌 목록 조회 (계좌 수와 관계없음)
+        assertEquals(5, accounts);
+        assertStatements(2);
+    }
+
+    @Test
+    void getAccountByAccountId() {
+        // given
+        Account account = account(1000L);
+        reset();
+
+        // when
+        accountService.getAccountByAccountId(account.getId());
+
+        // then
+        assertStatements(1);
+    }
+
+    @Test
+    void createAccount() {
+        // given
+        account(1000L);
+        reset();
+
+        // when
+        accountService.createAccount(accountUser.getId(), 1000L);
+
+        // then
+        // 사용자 조회, 계좌 수 확인, 계좌 insert (계좌번호는 JDBC 로 구간을 받는다)
+        assertStatements(3);
+    }
+
+    @Test
+    void deleteAccount() {
+        // given
+        Account account = account(0L);
+        reset();
+
+        // when
+        accountService.deleteAccount(accountUser.getId(), account.getAccountNumber());
+
+        // then
+        // 사용자 조회, 계좌 조회, 계좌 update
+        assertStatements(3);
+    }
+
+    private Account account(Long balance) {
+        return accountRepository.save(Account.builder()
+                .accountUser(accountUser)
+                .accountNumber(String.valueOf(ACCOUNT_NUMBERS.incrementAndGet()))
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(balance)
+                .registeredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void reset() {
+        statistics.clear();
+        SqlStatementCounter.reset();
+    }
+
+    private void assertStatements(int expected) {
+        assertEquals(expected, SqlStatementCounter.count());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+}
@@ -0,0 +1,318 @@
+package com.account.service;
+
+import com.account.controller.TransactionController;
+import com.account.dto.CancelBalance;
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class RateLimitAspectTest {
+    private static final int THREADS = 16;
+    private static final long FLOOD_MILLIS = 1_000L;
+    private static final long ACCOUNT_PERMITS_PER_SECOND = 20L;
+    private static final long ACCOUNT_BURST = 40L;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountLockProvider accountLockProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionController transactionController;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionController = transactionController(new RateLimitAspect(
+                new LocalTokenBucketRateLimiter(1000L, Duration.ofMinutes(1)), meterRegistry,
+                100L, 200L, ACCOUNT_PERMITS_PER_SECOND, ACCOUNT_BURST));
+    }
+
+    @Test
+    @DisplayName("계좌 한도를 넘은 요청은 lock 과 서비스를 거치지 않고 거절")
+    void rejectBeforeLock() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+        for (int i = 0; i < ACCOUNT_BURST; i++) {
+            transactionController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L));
+        }
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L)));
+
+        // then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, exception.getErrorCode());
+        verify(accountLockProvider, times((int) ACCOUNT_BURST)).accountLock(anyString(), anyLong(), anyLong());
+        verify(transactionService, times((int) ACCOUNT_BURST)).useBalance(anyLong(), anyString(), anyLong());
+        assertEquals(1.0, rejected("useBalance", "account"));
+    }
+
+    @Test
+    @DisplayName("사용자 한도는 여러 계좌에 걸쳐 함께 센다")
+    void limitUserAcrossAccounts() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+
+        // when
+        int accepted = 0;
+        for (int i = 0; i < 300; i++) {
+            try {
+                transactionController.useBalance(
+                        new UseBalance.Request(1L, String.valueOf(1_000_000_000L + i), 1000L));
+                accepted++;
+            } catch (AccountException e) {
+                assertEquals(ErrorCode.TOO_MANY_REQUESTS, e.getErrorCode());
+            }
+        }
+
+        // then
+        assertTrue(accepted >= 200 && accepted < 220, "accepted : " + accepted);
+        assertEquals(300.0 - accepted, rejected("useBalance", "user"));
+    }
+
+    @Test
+    @DisplayName("계좌 한도에 걸린 요청은 사용자 한도를 쓰지 않음")
+    void keepUserPermitWhenAccountRejected() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+        // 다른 사용자들이 계좌 한도를 다 쓴 계좌
+        for (int i = 0; i < ACCOUNT_BURST; i++) {
+            transactionController.useBalance(new UseBalance.Request(100L + i, "1000000000", 1000L));
+        }
+
+        // when
+        for (int i = 0; i < 300; i++) {
+            assertThrows(AccountException.class,
+                    () -> transactionController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L)));
+        }
+        int accepted = 0;
+        for (int i = 0; i < 200; i++) {
+            transactionController.useBalance(
+                    new UseBalance.Request(1L, String.valueOf(2_000_000_000L + i), 1000L));
+            accepted++;
+        }
+
+        // then
+        assertEquals(300.0, rejected("useBalance", "account"));
+        assertEquals(200, accepted);
+    }
+
+    @Test
+    @DisplayName("확인한 뒤 다른 요청이 계좌 한도를 꺼내 가서 거절되어도 사용자 한도를 쓰지 않음")
+    void keepUserPermitWhenAccountRaceIsLost() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+        TransactionController racingController = transactionController(new RateLimitAspect(
+                racingRateLimiter("account:1000000000"), meterRegistry,
+                100L, 200L, ACCOUNT_PERMITS_PER_SECOND, ACCOUNT_BURST));
+
+        // when
+        for (int i = 0; i < 300; i++) {
+            assertThrows(AccountException.class,
+                    () -> racingController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L)));
+        }
+        int accepted = 0;
+        for (int i = 0; i < 200; i++) {
+            racingController.useBalance(
+                    new UseBalance.Request(1L, String.valueOf(2_000_000_000L + i), 1000L));
+            accepted++;
+        }
+
+        // then
+        assertEquals(300.0, rejected("useBalance", "account"));
+        assertEquals(200, accepted);
+    }
+
+    @Test
+    @DisplayName("확인한 뒤 다른 요청이 사용자 한도를 꺼내 가서 거절되면 계좌 한도를 돌려줌")
+    void releaseAccountPermitWhenUserRaceIsLost() {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+        TransactionController racingController = transactionController(new RateLimitAspect(
+                racingRateLimiter("user:1"), meterRegistry,
+                100L, 200L, ACCOUNT_PERMITS_PER_SECOND, ACCOUNT_BURST));
+
+        // when
+        for (int i = 0; i < 300; i++) {
+            assertThrows(AccountException.class,
+                    () -> racingController.useBalance(new UseBalance.Request(1L, "1000000000", 1000L)));
+        }
+        int accepted = 0;
+        for (int i = 0; i < ACCOUNT_BURST; i++) {
+            racingController.useBalance(new UseBalance.Request(100L + i, "1000000000", 1000L));
+            accepted++;
+        }
+
+        // then
+        assertEquals(300.0, rejected("useBalance", "user"));
+        assertEquals(ACCOUNT_BURST, accepted);
+    }
+
+    @Test
+    @DisplayName("취소는 계좌 한도만 적용")
+    void limitCancelByAccount() {
+        // given
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+        for (int i = 0; i < ACCOUNT_BURST; i++) {
+            transactionController.cancelBalance(
+                    new CancelBalance.Request("transactionId", "1000000000", 1000L));
+        }
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionController.cancelBalance(
+                        new CancelBalance.Request("transactionId", "1000000000", 1000L)));
+
+        // then
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS, exception.getErrorCode());
+        assertEquals(1.0, rejected("cancelBalance", "account"));
+    }
+
+    @Test
+    @DisplayName("한 계좌에 요청을 쏟아내도 다른 계좌의 요청은 모두 처리")
+    void serveOtherAccountsUnderAbusiveClient() throws Exception {
+        // given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(transactionDto());
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // when
+        // 사용자마다 따로 요청해서 사용자 한도에는 걸리지 않는다.
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(FLOOD_MILLIS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long userId = t + 1;
+            futures.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        transactionController.useBalance(new UseBalance.Request(userId, "1000000000", 1000L));
+                        accepted.increment();
+                    } catch (AccountException e) {
+                        rejected.increment();
+                    }
+                }
+            }));
+        }
+        // 한도 안에서 요청하는 다른 계좌
+        int served = 0;
+        for (int i = 0; i < 10; i++) {
+            transactionController.useBalance(new UseBalance.Request(100L, "1000000001", 1000L));
+            served++;
+            Thread.sleep(FLOOD_MILLIS / 10);
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+
+        // then
+        log.info("abusive client accepted={} rejected={} ({} rejections/sec)",
+                accepted.sum(), rejected.sum(), String.format("%.0f", rejected.sum() / elapsedSeconds));
+        assertEquals(10, served);
+        assertTrue(accepted.sum() <= ACCOUNT_BURST + Math.ceil(ACCOUNT_PERMITS_PER_SECOND * elapsedSeconds),
+                "accepted : " + accepted.sum());
+        assertTrue(rejected.sum() > accepted.sum() * 10, "rejected : " + rejected.sum());
+        // 거절된 요청은 lock 을 기다리지 않는다.
+        verify(accountLockProvider, times((int) accepted.sum()))
+                .accountLock(eq("1000000000"), anyLong(), anyLong());
+        verify(accountLockProvider, times(10)).accountLock(eq("1000000001"), anyLong(), anyLong());
+    }
+
+    private TransactionController transactionController(RateLimitAspect rateLimitAspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TransactionController(
+                transactionService, mock(TransactionBatchService.class),
+                mock(TransactionExportService.class), mock(FailedTransactionRecorder.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(rateLimitAspect);
+        proxyFactory.addAspect(new LockAopAspect(accountLockProvider,
+                new AdaptiveLockLease(3.0, 500L, 15_000L, 100), new SimpleMeterRegistry(), null));
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * hasPermit 은 통과하지만 꺼내려 할 때는 이미 다른 요청이 가져간 것처럼 lostKey 를 거절한다.
+     */
+    private static RequestRateLimiter racingRateLimiter(String lostKey) {
+        RequestRateLimiter localRateLimiter = new LocalTokenBucketRateLimiter(1000L, Duration.ofMinutes(1));
+        return new RequestRateLimiter() {
+            @Override
+            public boolean tryAcquire(String key, RateLimit rateLimit) {
+                return !key.equals(lostKey) && localRateLimiter.tryAcquire(key, rateLimit);
+            }
+
+            @Override
+            public boolean hasPermit(String key, RateLimit rateLimit) {
+                return localRateLimiter.hasPermit(key, rateLimit);
+            }
+
+            @Override
+            public void release(String key, RateLimit rateLimit) {
+                localRateLimiter.release(key, rateLimit);
+            }
+        };
+    }
+
+    private double rejected(String endpoint, String scope) {
+        return meterRegistry.get("account.rate-limit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .counter()
+                .count();
+    }
+
+    private static TransactionDto transactionDto() {
+        return TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .amount(1000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
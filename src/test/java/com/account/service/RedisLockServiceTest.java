@@ -2,17 +2,26 @@ package com.account.service;
 
 import com.account.exception.AccountException;
 import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class RedisLockServiceTest {
@@ -22,6 +31,9 @@ class RedisLockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private RedisLockService redisLockService;
 
@@ -36,10 +48,27 @@ class RedisLockServiceTest {
         // when
         // then
         assertDoesNotThrow(
-                () -> redisLockService.accountLock("123")
+                () -> redisLockService.accountLock("123", 1_000L, 15_000L)
         );
     }
 
+    @Test
+    @DisplayName("lease 가 없으면 watchdog 으로 lock 을 잡음")
+    void successGetLockWithWatchdog() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), any()))
+                .willReturn(true);
+
+        // when
+        redisLockService.accountLock("123", 5_000L, -1L);
+
+        // then
+        verify(rLock, times(1)).tryLock(5_000L, TimeUnit.MILLISECONDS);
+        verify(rLock, never()).tryLock(anyLong(), anyLong(), any());
+    }
+
     @Test
     void failGetLock() throws InterruptedException {
         // given
@@ -51,7 +80,7 @@ class RedisLockServiceTest {
         // when
         AccountException exception = assertThrows(
                 AccountException.class,
-                () -> redisLockService.accountLock("123")
+                () -> redisLockService.accountLock("123", 1_000L, 15_000L)
         );
 
         // then
@@ -64,4 +93,36 @@ class RedisLockServiceTest {
                 exception.getErrorMessage()
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void successUnLock() {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.isHeldByCurrentThread())
+                .willReturn(true);
+
+        // when
+        redisLockService.accountUnLock("123");
+
+        // then
+        verify(rLock, times(1)).unlock();
+    }
+
+    @Test
+    @DisplayName("lease 가 끝나서 이미 풀린 lock - 예외 없이 기록만")
+    void unLockAfterLeaseExpired() {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.isHeldByCurrentThread())
+                .willReturn(false);
+
+        // when
+        assertDoesNotThrow(() -> redisLockService.accountUnLock("123"));
+
+        // then
+        verify(rLock, never()).unlock();
+        assertEquals(1.0, meterRegistry.get("account.lock.expired.leases").counter().count());
+    }
+}
@@ -0,0 +1,89 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.type.AccountStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 구간 임대는 따로 commit 하므로 테스트 트랜잭션 없이 실행한다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SequenceAccountNumberBlockSourceTest {
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountNumberBlockSource blockSource;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("update account_number_block set next_offset = 0 where id = 1");
+        blockSource = new SequenceAccountNumberBlockSource(jdbcTemplate, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("block-size 가 바뀌어도 이미 임대한 구간 다음부터 임대")
+    void noOverlapAfterBlockSizeChange() {
+        // when
+        long first = blockSource.reserveBlock(100);
+        long second = blockSource.reserveBlock(10);
+        long third = blockSource.reserveBlock(1000);
+
+        // then
+        assertEquals(0L, first);
+        assertEquals(100L, second);
+        assertEquals(110L, third);
+    }
+
+    @Test
+    @DisplayName("임대 위치가 이미 쓰인 계좌번호보다 뒤처져 있으면 그 다음부터 임대")
+    void skipUsedAccountNumbers() {
+        // given
+        // redis 저장소로 발급한 계좌
+        accountRepository.save(Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber("1000000500")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+
+        // when
+        long offset = blockSource.reserveBlock(100);
+
+        // then
+        assertEquals(501L, offset);
+    }
+}
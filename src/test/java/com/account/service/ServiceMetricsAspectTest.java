@@ -0,0 +1,66 @@
+package com.account.service;
+
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ServiceMetricsAspect serviceMetricsAspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serviceMetricsAspect = new ServiceMetricsAspect(meterRegistry);
+
+        given(proceedingJoinPoint.getSignature()).willReturn(signature);
+        given(signature.getDeclaringType()).willReturn(TransactionService.class);
+        given(signature.getName()).willReturn("useBalance");
+    }
+
+    @Test
+    @DisplayName("정상 반환은 result=S, 예외는 result=F 로 기록")
+    void recordByResult() throws Throwable {
+        // given
+        given(proceedingJoinPoint.proceed())
+                .willReturn("ok")
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        // when
+        serviceMetricsAspect.time(proceedingJoinPoint);
+        assertThrows(AccountException.class,
+                () -> serviceMetricsAspect.time(proceedingJoinPoint));
+
+        // then
+        assertEquals(1L, meterRegistry.get("account.service")
+                .tag("service", "TransactionService")
+                .tag("endpoint", "useBalance")
+                .tag("result", "S")
+                .timer().count());
+        assertEquals(1L, meterRegistry.get("account.service")
+                .tag("service", "TransactionService")
+                .tag("endpoint", "useBalance")
+                .tag("result", "F")
+                .timer().count());
+    }
+}
@@ -0,0 +1,205 @@
+package com.account.service;
+
+import com.account.config.BalanceEngineConfig;
+import com.account.config.TransactionIdConfig;
+import com.account.config.TransactionWriterConfig;
+import com.account.domain.Account;
+import com.account.domain.AccountUser;
+import com.account.exception.AccountException;
+import com.account.repository.AccountJdbcRepository;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.type.AccountStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 서블릿 스택에서 동시에 처리 중인 요청마다 드는 스레드, DB 커넥션, heap (./gradlew loadTest)
+ * reactive 모듈의 ReactiveInFlightLoadTest 와 같은 조건(계좌 수, 요청 수, lock 대기)으로 재고 결과를 로그로 비교한다.
+ * Tomcat 기본 스레드 수(200)의 풀에 요청을 한 번에 모두 넣고, 요청마다 lock 대기(Redis 왕복, sleep) 후 useBalance 를 실행한다.
+ * lock 대기는 트랜잭션 밖이라 커넥션을 잡지 않는다. 스레드 stack 은 heap 밖이라 heap 값에 들어가지 않는다.
+ * heap 은 (사용 중인 heap - 시작 전 heap) / 처리 중인 요청 수 의 중앙값이라 아직 수거되지 않은 garbage 가 섞인 근사치다.
+ */
+@Slf4j
+@Tag("load")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        TransactionService.class,
+        TransactionJdbcRepository.class,
+        AccountJdbcRepository.class,
+        AccountLookupCache.class,
+        BalanceEngineConfig.class,
+        TransactionWriterConfig.class,
+        TransactionIdConfig.class,
+        OptimisticRetryAspect.class,
+        ServletInFlightLoadTest.TestConfig.class
+})
+@TestPropertySource(properties = {
+        "account.balance.engine=atomic",
+        "spring.datasource.url=jdbc:h2:mem:servlet-in-flight;LOCK_TIMEOUT=10000",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServletInFlightLoadTest {
+    private static final int WORKER_THREADS = 200;
+    private static final int ACCOUNTS = 200;
+    private static final int REQUESTS = 20_000;
+    private static final long AMOUNT = 100L;
+    private static final long LOCK_ROUND_TRIP_MILLIS = 2L;
+    private static final long SAMPLE_MILLIS = 5L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TestConfiguration
+    @EnableAspectJAutoProxy
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void connectionsAndHeapPerInFlightRequest() throws Exception {
+        // given
+        AccountUser user = accountUserRepository.findById(1L).orElseThrow();
+        List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers.add(accountRepository.save(Account.builder()
+                            .accountUser(user)
+                            .accountNumber(String.valueOf(1_000_000_000L + i))
+                            .accountStatus(AccountStatus.IN_USE)
+                            .balance(REQUESTS * AMOUNT)
+                            .registeredAt(LocalDateTime.now())
+                            .build())
+                    .getAccountNumber());
+        }
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger maxConnections = new AtomicInteger();
+        List<Long> heapPerRequest = new ArrayList<>();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxConnections.accumulateAndGet(pool.getActiveConnections(), Math::max);
+            int current = inFlight.get();
+            if (current > 0 && current >= maxInFlight.get() / 2) {
+                heapPerRequest.add((memory.getHeapMemoryUsage().getUsed() - baselineHeap) / current);
+            }
+        }, 0L, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        LongAdder failed = new LongAdder();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS);
+        long startedAt = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String accountNumber = accountNumbers.get(i % ACCOUNTS);
+            futures.add(executor.submit(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(LOCK_ROUND_TRIP_MILLIS);
+                    transactionService.useBalance(user.getId(), accountNumber, AMOUNT);
+                } catch (AccountException e) {
+                    failed.increment();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+
+        // then
+        Result result = new Result(
+                maxInFlight.get(),
+                threads.getPeakThreadCount() - baselineThreads,
+                maxConnections.get(),
+                median(heapPerRequest) / 1024,
+                failed.sum(),
+                Math.round(REQUESTS / seconds));
+        log.info("servlet({} threads) : {}", WORKER_THREADS, result);
+        assertEquals(0L, result.failed());
+        assertTrue(result.maxConnections() <= pool.getTotalConnections());
+        // 처리 중인 요청 수는 스레드 수를 넘지 못한다.
+        assertTrue(result.maxInFlight() <= WORKER_THREADS);
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return 0L;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private record Result(
+            int maxInFlight,
+            int peakExtraThreads,
+            int maxConnections,
+            long heapKbPerInFlight,
+            long failed,
+            long requestsPerSecond
+    ) {
+    }
+}
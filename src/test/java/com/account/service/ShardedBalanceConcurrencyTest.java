@@ -0,0 +1,31 @@
+package com.account.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.function.Supplier;
+
+/**
+ * 메모리 장부 방식은 계좌 lock 없이 실행하고, 잔액은 checkpoint 로 account 테이블에 저장한 뒤 확인한다.
+ */
+@TestPropertySource(properties = {
+        "account.balance.engine=sharded",
+        "account.ledger.shards=4",
+        "account.ledger.checkpoint-interval-millis=3600000",
+        "account.ledger.dir=${java.io.tmpdir}/sharded-balance-${random.uuid}",
+        "spring.datasource.url=jdbc:h2:mem:sharded-balance;LOCK_TIMEOUT=10000"
+})
+class ShardedBalanceConcurrencyTest extends BalanceConcurrencyTest {
+    @Autowired
+    private ShardedLedger shardedLedger;
+
+    @Override
+    protected <T> T withAccountLock(String accountNumber, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    protected void flushBalances() {
+        shardedLedger.checkpoint();
+    }
+}
@@ -0,0 +1,214 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.exception.AccountException;
+import com.account.repository.AccountJdbcRepository;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 메모리 장부의 잔액 변경, checkpoint, 재시작(crash) 복구
+ * checkpoint 가 따로 commit 하므로 테스트 트랜잭션 없이 실행한다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShardedLedgerTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        account = account("1000000001", AccountStatus.IN_USE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void useCancelAndCheckpoint() {
+        // given
+        try (TransactionJournal journal = journal()) {
+            ShardedLedger ledger = ledger(journal);
+            ledger.start();
+
+            // when
+            ledger.use(account.getAccountNumber(), 1000L);
+            ledger.use(account.getAccountNumber(), 2000L);
+            Account cancelled = ledger.cancel(account.getAccountNumber(), 1000L);
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> ledger.use(account.getAccountNumber(), 20_000L));
+
+            // then
+            assertEquals(8000L, cancelled.getBalance());
+            assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+            // checkpoint 전에는 account 테이블이 그대로다.
+            assertEquals(10_000L, balance());
+            ledger.checkpoint();
+            assertEquals(8000L, balance());
+            ledger.stop();
+        }
+    }
+
+    @Test
+    void recoverAfterCrash() {
+        // given
+        // 저널에 남긴 뒤 checkpoint 전에 죽은 경우
+        try (TransactionJournal journal = journal()) {
+            ShardedLedger ledger = ledger(journal);
+            ledger.start();
+            ledger.use(account.getAccountNumber(), 1000L);
+            ledger.use(account.getAccountNumber(), 2000L);
+        }
+        assertEquals(10_000L, balance());
+
+        // when
+        try (TransactionJournal journal = journal()) {
+            ShardedLedger ledger = ledger(journal);
+            ledger.start();
+
+            // then
+            assertEquals(7000L, balance());
+            assertEquals(6000L, ledger.use(account.getAccountNumber(), 1000L).getBalance());
+            ledger.stop();
+        }
+    }
+
+    @Test
+    void revertWhenTransactionRolledBack() {
+        // given
+        try (TransactionJournal journal = journal()) {
+            ShardedLedger ledger = ledger(journal);
+            ledger.start();
+            BalanceEngine balanceEngine = new ShardedBalanceEngine(ledger);
+
+            // when
+            // 잔액 변경 후 거래 내역 저장이 실패한 경우
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                balanceEngine.useBalance(account.getId(), account.getAccountNumber(), 4000L);
+                status.setRollbackOnly();
+            });
+
+            // then
+            assertEquals(0L, ledger.use(account.getAccountNumber(), 10_000L).getBalance());
+            ledger.stop();
+        }
+    }
+
+    @Test
+    void rejectUnknownOrUnregisteredAccount() {
+        // given
+        Account unregistered = account("1000000002", AccountStatus.UNREGISTERED);
+        try (TransactionJournal journal = journal()) {
+            ShardedLedger ledger = ledger(journal);
+            ledger.start();
+
+            // when
+            AccountException notFound = assertThrows(AccountException.class,
+                    () -> ledger.use("9999999999", 1000L));
+            AccountException alreadyUnregistered = assertThrows(AccountException.class,
+                    () -> ledger.use(unregistered.getAccountNumber(), 1000L));
+
+            // then
+            assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, notFound.getErrorCode());
+            assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, alreadyUnregistered.getErrorCode());
+            ledger.stop();
+        }
+    }
+
+    @Test
+    void unregisterThroughShard() {
+        // given
+        try (TransactionJournal journal = journal()) {
+            ShardedLedger ledger = ledger(journal);
+            ledger.start();
+            BalanceEngine balanceEngine = new ShardedBalanceEngine(ledger);
+            AccountException hasBalance = assertThrows(AccountException.class,
+                    () -> ledger.unregister(account.getAccountNumber()));
+            ledger.use(account.getAccountNumber(), 10_000L);
+
+            // when
+            // account 테이블의 잔액(10,000)은 checkpoint 전이라 늦다.
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Account closing = accountRepository.findById(account.getId()).orElseThrow();
+                balanceEngine.unregister(closing);
+                closing.setAccountStatus(AccountStatus.UNREGISTERED);
+                closing.setUnRegisteredAt(LocalDateTime.now());
+            });
+
+            // then
+            assertEquals(ErrorCode.ACCOUNT_HAS_BALANCE, hasBalance.getErrorCode());
+            assertEquals(0L, balance());
+            // shard 가 가진 계좌를 버렸으므로 해지된 계좌를 다시 읽는다.
+            AccountException alreadyUnregistered = assertThrows(AccountException.class,
+                    () -> ledger.use(account.getAccountNumber(), 0L));
+            assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, alreadyUnregistered.getErrorCode());
+            ledger.stop();
+        }
+    }
+
+    private TransactionJournal journal() {
+        return new TransactionJournal(dir, SEGMENT_BYTES, 2, 100L);
+    }
+
+    private ShardedLedger ledger(TransactionJournal journal) {
+        return new ShardedLedger(journal, accountRepository::findByAccountNumber,
+                new AccountJdbcRepository(jdbcTemplate), transactionManager, new SimpleMeterRegistry(),
+                2, 1024, 64, 5000L, 3_600_000L, dir.resolve("checkpoint"));
+    }
+
+    private Account account(String accountNumber, AccountStatus accountStatus) {
+        return accountRepository.save(Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber(accountNumber)
+                .accountStatus(accountStatus)
+                .balance(10_000L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject(
+                "select balance from account where id = ?", Long.class, account.getId());
+    }
+}
@@ -0,0 +1,29 @@
+package com.account.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate 가 DB 로 보내는 SQL 수를 센다. (hibernate.session_factory.statement_inspector)
+ * id 용 시퀀스 조회는 할당 크기에 따라 나가거나 안 나가서 빼고 센다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        if (!sql.contains("next value for")) {
+            COUNT.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.account.service;
+
+import com.account.domain.TransactionIdCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedTransactionIdGeneratorTest {
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    @DisplayName("같은 ms 안에서도 발급 순서대로 증가")
+    void increasingWithinSameMillisecond() {
+        // given
+        TransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(7, now::get);
+
+        // when
+        List<String> transactionIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            transactionIds.add(generator.newTransactionId());
+        }
+
+        // then
+        for (int i = 1; i < transactionIds.size(); i++) {
+            assertTrue(transactionIds.get(i - 1).compareTo(transactionIds.get(i)) < 0);
+        }
+        assertEquals(now.get(), millis(transactionIds.get(0)));
+        assertEquals(7, nodeId(transactionIds.get(0)));
+    }
+
+    @Test
+    @DisplayName("순번을 다 쓰거나 시계가 뒤로 가도 계속 증가")
+    void increasingAfterSequenceOverflowAndClockBackwards() {
+        // given
+        TransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(0, now::get);
+        String previous = "";
+
+        // when
+        for (int i = 0; i < 65536 + 10; i++) {
+            String transactionId = generator.newTransactionId();
+            assertTrue(previous.compareTo(transactionId) < 0);
+            previous = transactionId;
+        }
+        long overflowed = millis(previous);
+        now.addAndGet(-1000L);
+        String afterClockBackwards = generator.newTransactionId();
+
+        // then
+        // 같은 ms 의 순번 65536 개를 다 쓰면 다음 ms 로 넘어간다.
+        assertEquals(now.get() + 1000L + 1, overflowed);
+        assertTrue(previous.compareTo(afterClockBackwards) < 0);
+    }
+
+    @Test
+    @DisplayName("노드 id 범위 밖이면 생성 실패")
+    void rejectInvalidNodeId() {
+        // then
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedTransactionIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedTransactionIdGenerator(65536));
+        int defaultNodeId = TimeOrderedTransactionIdGenerator.defaultNodeId();
+        assertTrue(defaultNodeId >= 0 && defaultNodeId <= 65535);
+    }
+
+    private static long millis(String transactionId) {
+        return ByteBuffer.wrap(TransactionIdCodec.decode(transactionId)).getLong() >>> 16;
+    }
+
+    private static int nodeId(String transactionId) {
+        return (int) (ByteBuffer.wrap(TransactionIdCodec.decode(transactionId)).getLong(8) >>> 48);
+    }
+}
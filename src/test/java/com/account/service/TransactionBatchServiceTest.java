@@ -0,0 +1,120 @@
+package com.account.service;
+
+import com.account.dto.TransactionDto;
+import com.account.dto.UseBalance;
+import com.account.exception.AccountException;
+import com.account.type.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.account.type.TransactionResultType.F;
+import static com.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountLockProvider accountLockProvider;
+
+    @InjectMocks
+    private TransactionBatchService transactionBatchService;
+
+    @Test
+    void useBalanceBatch_LockOncePerAccount() {
+        // given
+        given(transactionService.useBalanceGroup(anyString(), anyList()))
+                .willAnswer(invocation -> succeed(
+                        invocation.getArgument(0), invocation.getArgument(1)));
+
+        // when
+        List<TransactionDto> results = transactionBatchService.useBalanceBatch(List.of(
+                new UseBalance.Request(1L, "1111111111", 100L),
+                new UseBalance.Request(1L, "2222222222", 200L),
+                new UseBalance.Request(1L, "1111111111", 300L)
+        ));
+
+        // then
+        verify(accountLockProvider, times(1)).accountLock(eq("1111111111"), anyLong(), anyLong());
+        verify(accountLockProvider, times(1)).accountLock(eq("2222222222"), anyLong(), anyLong());
+        verify(accountLockProvider, times(1)).accountUnLock("1111111111");
+        verify(accountLockProvider, times(1)).accountUnLock("2222222222");
+        verify(transactionService, times(2)).useBalanceGroup(anyString(), anyList());
+
+        assertEquals(3, results.size());
+        assertEquals("1111111111", results.get(0).getAccountNumber());
+        assertEquals(100L, results.get(0).getAmount());
+        assertEquals("2222222222", results.get(1).getAccountNumber());
+        assertEquals(200L, results.get(1).getAmount());
+        assertEquals("1111111111", results.get(2).getAccountNumber());
+        assertEquals(300L, results.get(2).getAmount());
+    }
+
+    @Test
+    void useBalanceBatch_LockFailed() {
+        // given
+        willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK))
+                .given(accountLockProvider)
+                .accountLock(eq("1111111111"), anyLong(), anyLong());
+        given(transactionService.useBalanceGroup(eq("2222222222"), anyList()))
+                .willAnswer(invocation -> succeed(
+                        invocation.getArgument(0), invocation.getArgument(1)));
+
+        // when
+        List<TransactionDto> results = transactionBatchService.useBalanceBatch(List.of(
+                new UseBalance.Request(1L, "1111111111", 100L),
+                new UseBalance.Request(1L, "2222222222", 200L)
+        ));
+
+        // then
+        verify(transactionService, never()).useBalanceGroup(eq("1111111111"), anyList());
+        verify(accountLockProvider, never()).accountUnLock("1111111111");
+        assertEquals(F, results.get(0).getTransactionResultType());
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(S, results.get(1).getTransactionResultType());
+    }
+
+    @Test
+    void useBalanceBatch_AccountNotFound() {
+        // given
+        given(transactionService.useBalanceGroup(anyString(), anyList()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        // when
+        List<TransactionDto> results = transactionBatchService.useBalanceBatch(List.of(
+                new UseBalance.Request(1L, "1111111111", 100L),
+                new UseBalance.Request(1L, "1111111111", 200L)
+        ));
+
+        // then
+        verify(accountLockProvider, times(1)).accountUnLock("1111111111");
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(0).getErrorCode());
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, results.get(1).getErrorCode());
+    }
+
+    private static List<TransactionDto> succeed(
+            String accountNumber, List<UseBalance.Request> requests
+    ) {
+        return requests.stream()
+                .map(request -> TransactionDto.builder()
+                        .accountNumber(accountNumber)
+                        .transactionResultType(S)
+                        .amount(request.getAmount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
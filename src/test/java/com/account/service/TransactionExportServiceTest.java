@@ -0,0 +1,136 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.exception.AccountException;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionRepository;
+import com.account.type.AccountStatus;
+import com.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class TransactionExportServiceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TransactionExportService transactionExportService;
+
+    @BeforeEach
+    void setUp() {
+        // fetch size 보다 거래가 많아도 모두 내보내는지 확인하기 위해 작게 잡는다.
+        transactionExportService = new TransactionExportService(
+                new JdbcTemplate(dataSource), objectMapper, 3);
+
+        Account account = accountRepository.save(Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber("1000000001")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(0L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+        for (int i = 0; i < 10; i++) {
+            transactionRepository.save(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .amount(1000L)
+                    .balanceSnapshot(10_000L - i * 1000L)
+                    .transactionId(transactionId(i))
+                    .transactedAt(BASE.plusMinutes(i))
+                    .build());
+        }
+        transactionRepository.flush();
+    }
+
+    @Test
+    void exportTransactions() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long rows = transactionExportService.exportTransactions(
+                BASE.plusMinutes(2), BASE.plusMinutes(9), out);
+
+        // then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+
+        // [2, 9) 분
+        assertEquals(7L, rows);
+        assertEquals(7, lines.size());
+        assertEquals(transactionId(2), lines.get(0).get("transactionId").asText());
+        assertEquals(transactionId(8), lines.get(6).get("transactionId").asText());
+        assertEquals("1000000001", lines.get(0).get("accountNumber").asText());
+        assertEquals("USE", lines.get(0).get("transactionType").asText());
+        assertEquals(8000L, lines.get(0).get("balanceSnapshot").asLong());
+        assertEquals("2024-01-01T00:02", lines.get(0).get("transactedAt").asText());
+    }
+
+    @Test
+    void exportTransactions_Empty() {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long rows = transactionExportService.exportTransactions(
+                BASE.minusDays(1), BASE, out);
+
+        // then
+        assertEquals(0L, rows);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportTransactions_InvalidRange() {
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionExportService.exportTransactions(
+                        BASE, BASE, new ByteArrayOutputStream()));
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    private static String transactionId(long sequence) {
+        return TransactionIdCodec.encode(0L, sequence);
+    }
+}
@@ -0,0 +1,241 @@
+package com.account.service;
+
+import com.account.domain.Account;
+import com.account.domain.Transaction;
+import com.account.domain.TransactionIdCodec;
+import com.account.repository.AccountRepository;
+import com.account.repository.AccountUserRepository;
+import com.account.repository.TransactionJdbcRepository;
+import com.account.repository.TransactionRepository;
+import com.account.type.AccountStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.account.type.TransactionResultType.S;
+import static com.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저널에서 Transaction 테이블로 반영하는 과정의 재시작(crash) 복구
+ * applier 가 따로 commit 하므로 테스트 트랜잭션 없이 실행한다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionJournalApplierTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path dir;
+
+    private TransactionJdbcRepository transactionJdbcRepository;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        transactionJdbcRepository = new TransactionJdbcRepository(new JdbcTemplate(dataSource));
+        account = accountRepository.save(Account.builder()
+                .accountUser(accountUserRepository.findById(1L).orElseThrow())
+                .accountNumber("1000000001")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .registeredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void replayJournalAfterRestart() {
+        // given
+        // 저널에 남긴 뒤 테이블에 반영하기 전에 죽은 경우
+        try (TransactionJournal journal = journal()) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(JournalEntry.of(transaction(transactionId(i))).encode());
+            }
+        }
+        assertEquals(0, transactionRepository.count());
+
+        // when
+        try (TransactionJournal journal = journal()) {
+            TransactionJournalApplier applier = applier(journal);
+            applier.start();
+            applier.stop();
+        }
+
+        // then
+        assertEquals(10, transactionRepository.count());
+        Transaction transaction = transactionRepository.findByTransactionId(transactionId(3)).orElseThrow();
+        assertEquals(account.getId(), transaction.getAccount().getId());
+        assertEquals(1000L, transaction.getAmount());
+        assertEquals(9000L, transaction.getBalanceSnapshot());
+    }
+
+    @Test
+    void skipAppliedTransactionsWhenCheckpointIsLost() throws Exception {
+        // given
+        try (TransactionJournal journal = journal()) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(JournalEntry.of(transaction(transactionId(i))).encode());
+            }
+            applier(journal).applyPending();
+        }
+        // DB commit 후 checkpoint 를 남기기 전에 죽은 경우
+        Files.delete(dir.resolve("checkpoint"));
+
+        // when
+        try (TransactionJournal journal = journal()) {
+            TransactionJournalApplier applier = applier(journal);
+            applier.start();
+            applier.stop();
+        }
+
+        // then
+        assertEquals(10, transactionRepository.count());
+    }
+
+    @Test
+    void removeVoidedTransactions() {
+        // given
+        String applied = transactionId(1);
+        String sameBatch = transactionId(2);
+        String committed = transactionId(3);
+        try (TransactionJournal journal = journal()) {
+            TransactionJournalApplier applier = applier(journal);
+            journal.append(JournalEntry.of(transaction(applied)).encode());
+            applier.applyPending();
+
+            // 이미 반영한 거래와 같은 묶음 안의 거래가 모두 롤백된 경우
+            journal.append(JournalEntry.of(transaction(sameBatch)).encode());
+            journal.append(JournalEntry.voidOf(applied).encode());
+            journal.append(JournalEntry.voidOf(sameBatch).encode());
+            journal.append(JournalEntry.of(transaction(committed)).encode());
+
+            // when
+            applier.applyPending();
+        }
+
+        // then
+        assertFalse(transactionRepository.findByTransactionId(applied).isPresent());
+        assertFalse(transactionRepository.findByTransactionId(sameBatch).isPresent());
+        assertTrue(transactionRepository.findByTransactionId(committed).isPresent());
+    }
+
+    @Test
+    void flushPendingTransaction() {
+        // given
+        try (TransactionJournal journal = journal()) {
+            TransactionJournalApplier applier = applier(journal);
+            JournalTransactionWriter writer = new JournalTransactionWriter(journal, applier);
+            writer.write(transaction(transactionId(1)));
+
+            // when
+            boolean flushed = writer.flushPending(transactionId(1));
+
+            // then
+            assertTrue(flushed);
+            assertTrue(transactionRepository.findByTransactionId(transactionId(1)).isPresent());
+            assertFalse(writer.flushPending(transactionId(1)));
+            assertFalse(writer.flushPending("unknown"));
+        }
+    }
+
+    @Test
+    void writeAllAndApply() {
+        // given
+        try (TransactionJournal journal = journal()) {
+            TransactionJournalApplier applier = applier(journal);
+            JournalTransactionWriter writer = new JournalTransactionWriter(journal, applier);
+
+            // when
+            writer.writeAll(List.of(transaction(transactionId(1)), transaction(transactionId(2))));
+            applier.applyPending();
+
+            // then
+            assertTrue(transactionRepository.findByTransactionId(transactionId(1)).isPresent());
+            assertTrue(transactionRepository.findByTransactionId(transactionId(2)).isPresent());
+            assertFalse(applier.isPending(transactionId(1)));
+        }
+    }
+
+    @Test
+    void deleteAppliedSegments() throws Exception {
+        // given
+        try (TransactionJournal journal = journal()) {
+            TransactionJournalApplier applier = applier(journal);
+            for (int i = 0; i < 100; i++) {
+                journal.append(JournalEntry.of(transaction(transactionId(i))).encode());
+            }
+
+            // when
+            applier.applyPending();
+
+            // then
+            assertEquals(100, transactionRepository.count());
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(1, files.filter(file -> file.toString().endsWith(".log")).count());
+            }
+        }
+    }
+
+    private TransactionJournal journal() {
+        return new TransactionJournal(dir, SEGMENT_BYTES, 16, 100L);
+    }
+
+    private TransactionJournalApplier applier(TransactionJournal journal) {
+        return new TransactionJournalApplier(journal, transactionJdbcRepository, transactionManager,
+                new SimpleMeterRegistry(), 7, 10L, dir.resolve("checkpoint"));
+    }
+
+    private Transaction transaction(String transactionId) {
+        return Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String transactionId(long sequence) {
+        return TransactionIdCodec.encode(0L, sequence);
+    }
+}
@@ -0,0 +1,191 @@
+package com.account.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionJournalTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void appendAndRead() {
+        // given
+        try (TransactionJournal journal = new TransactionJournal(dir, SEGMENT_BYTES, 64, 100L)) {
+            // when
+            journal.append(bytes("tx1"));
+            journal.append(bytes("tx2"));
+            JournalPosition end = journal.append(bytes("tx3"));
+            TransactionJournal.Batch batch = journal.read(JournalPosition.START, 10);
+
+            // then
+            assertEquals(List.of("tx1", "tx2", "tx3"), strings(batch.payloads()));
+            assertEquals(end, batch.next());
+            assertEquals(end, journal.durablePosition());
+        }
+    }
+
+    @Test
+    void appendAllWithOneSync() {
+        // given
+        try (TransactionJournal journal = new TransactionJournal(dir, SEGMENT_BYTES, 64, 100_000L)) {
+            // when
+            JournalPosition end = journal.appendAll(List.of(bytes("tx1"), bytes("tx2"), bytes("tx3")));
+
+            // then
+            TransactionJournal.Batch batch = journal.read(JournalPosition.START, 10);
+            assertEquals(List.of("tx1", "tx2", "tx3"), strings(batch.payloads()));
+            assertEquals(end, batch.next());
+            assertEquals(1L, journal.syncCount());
+        }
+    }
+
+    @Test
+    void rotateSegments() throws IOException {
+        // given
+        List<String> appended = new ArrayList<>();
+        try (TransactionJournal journal = new TransactionJournal(dir, 256, 64, 100L)) {
+            // when
+            for (int i = 0; i < 20; i++) {
+                String payload = "transaction-" + i + "-".repeat(40);
+                journal.append(bytes(payload));
+                appended.add(payload);
+            }
+            TransactionJournal.Batch first = journal.read(JournalPosition.START, 7);
+            TransactionJournal.Batch rest = journal.read(first.next(), 100);
+
+            // then
+            assertTrue(segmentCount() > 1);
+            List<String> read = new ArrayList<>(strings(first.payloads()));
+            read.addAll(strings(rest.payloads()));
+            assertEquals(appended, read);
+
+            journal.deleteSegmentsBefore(rest.next().segment());
+            assertEquals(1, segmentCount());
+        }
+    }
+
+    @Test
+    void recoverTornWrite() throws IOException {
+        // given
+        JournalPosition end;
+        try (TransactionJournal journal = new TransactionJournal(dir, SEGMENT_BYTES, 64, 100L)) {
+            journal.append(bytes("tx1"));
+            end = journal.append(bytes("tx2"));
+        }
+        // 길이만 쓰고 내용/CRC 는 쓰지 못한 채로 죽은 경우
+        Path segment = dir.resolve(String.format("%020d.log", end.segment()));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 100), end.offset());
+        }
+
+        // when
+        try (TransactionJournal journal = new TransactionJournal(dir, SEGMENT_BYTES, 64, 100L)) {
+            JournalPosition recovered = journal.durablePosition();
+            journal.append(bytes("tx3"));
+
+            // then
+            assertEquals(end, recovered);
+            assertEquals(List.of("tx1", "tx2", "tx3"),
+                    strings(journal.read(JournalPosition.START, 10).payloads()));
+        }
+    }
+
+    @Test
+    void rejectCorruptedEntry() throws IOException {
+        // given
+        try (TransactionJournal journal = new TransactionJournal(dir, 256, 64, 100L)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(bytes("transaction-" + i + "-".repeat(40)));
+            }
+            JournalPosition end = journal.append(bytes("tx"));
+
+            // when
+            // 디스크에 반영된 뒤 지난 세그먼트와 마지막 세그먼트의 첫 기록 내용이 깨진 경우
+            corrupt(0L);
+            corrupt(end.segment());
+
+            // then
+            // 건너뛰거나 같은 위치를 계속 읽지 않고 실패한다.
+            assertThrows(IllegalStateException.class, () -> journal.read(JournalPosition.START, 100));
+            assertThrows(IllegalStateException.class,
+                    () -> journal.read(new JournalPosition(end.segment(), 0), 100));
+        }
+    }
+
+    @Test
+    void groupCommit() throws Exception {
+        // given
+        int threads = 16;
+        int appendsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try (TransactionJournal journal = new TransactionJournal(dir, 1 << 20, 64, 2_000L)) {
+            // when
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        journal.append(bytes(thread + "-" + i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            // then
+            // 동시에 들어온 append 는 fsync 한 번으로 함께 반영된다.
+            assertEquals(threads * appendsPerThread,
+                    journal.read(JournalPosition.START, Integer.MAX_VALUE).payloads().size());
+            assertTrue(journal.syncCount() < threads * appendsPerThread / 4,
+                    "syncs : " + journal.syncCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void corrupt(long segment) throws IOException {
+        Path file = dir.resolve(String.format("%020d.log", segment));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("?")), 8);
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<byte[]> payloads) {
+        return payloads.stream()
+                .map(payload -> new String(payload, StandardCharsets.UTF_8))
+                .toList();
+    }
+}
@@ -3,7 +3,12 @@ package com.account.service;
 import com.account.domain.Account;
 import com.account.domain.AccountUser;
 import com.account.domain.Transaction;
+import com.account.dto.AccountSnapshot;
+import com.account.dto.QueryTransactionResposce;
 import com.account.dto.TransactionDto;
+import com.account.dto.TransactionHistory;
+import com.account.dto.TransactionSummary;
+import com.account.dto.UseBalance;
 import com.account.exception.AccountException;
 import com.account.repository.AccountRepository;
 import com.account.repository.AccountUserRepository;
@@ -16,9 +21,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.account.type.TransactionResultType.F;
@@ -26,14 +34,18 @@ import static com.account.type.TransactionResultType.S;
 import static com.account.type.TransactionType.CANCEL;
 import static com.account.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
+    private static final String TRANSACTION_ID = "01J9Z3V6B2K8Q4X7M5N0PRSTWY";
+
     @Mock
     private TransactionRepository transactionRepository;
 
@@ -43,6 +55,18 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountLookupCache accountLookupCache;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private TransactionWriter transactionWriter;
+
+    @Spy
+    private TransactionIdGenerator transactionIdGenerator = new TimeOrderedTransactionIdGenerator(0);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -51,8 +75,10 @@ class TransactionServiceTest {
         // given
         AccountUser user = AccountUser.builder().name("Pobi").build();
         user.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountLookupCache.userExists(anyLong()))
+                .willReturn(true);
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(1L, 12L, AccountStatus.IN_USE)));
 
         Account account = Account.builder()
                 .accountUser(user)
@@ -60,17 +86,20 @@ class TransactionServiceTest {
                 .balance(10000L)
                 .accountNumber("1000000012").build();
 
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
+        given(balanceEngine.useBalance(anyLong(), anyString(), anyLong()))
+                .willAnswer(invocation -> {
+                    account.useBalance(invocation.getArgument(2));
+                    return account;
+                });
 
-        given(transactionRepository.save(any()))
+        given(transactionWriter.write(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
                         .transactionType(USE)
                         .transactionResultType(S)
                         .amount(1000L)
                         .balanceSnapshot(9000L)
-                        .transactionId("transactionId")
+                        .transactionId(TRANSACTION_ID)
                         .transactedAt(LocalDateTime.now())
                         .build()
                 );
@@ -80,12 +109,14 @@ class TransactionServiceTest {
 
         // when
         TransactionDto transactionDto = transactionService.useBalance(
-                1L, "10000000000", 200L
+                12L, "10000000000", 200L
         );
 
         // then
-        verify(transactionRepository, times(1))
-                .save(captor.capture());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(accountUserRepository, never()).findById(anyLong());
+        verify(transactionWriter, times(1))
+                .write(captor.capture());
         assertEquals(S, captor.getValue().getTransactionResultType());
         assertEquals(USE, captor.getValue().getTransactionType());
         assertEquals(9800L, captor.getValue().getBalanceSnapshot());
@@ -100,8 +131,8 @@ class TransactionServiceTest {
     @DisplayName("해당 유저 없음 - 잔액 사용 실패")
     void useBalance_UserNotFound() {
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountLookupCache.userExists(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException accountException = assertThrows(AccountException.class,
@@ -116,13 +147,10 @@ class TransactionServiceTest {
     @Test
     @DisplayName("해당 계좌 없음 - 잔액 사용 실패")
     void useBalance_AccountNotFound() {
-        AccountUser user = AccountUser.builder().name("Pobi").build();
-        user.setId(12L);
-
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
-        given(accountRepository.findByAccountNumber(anyString()))
+        given(accountLookupCache.userExists(anyLong()))
+                .willReturn(true);
+        given(accountLookupCache.getAccount(anyString()))
                 .willReturn(Optional.empty());
 
         // when
@@ -139,129 +167,64 @@ class TransactionServiceTest {
     @DisplayName("계좌 소유주 다름 - 잔액 사용 실패")
     void useBalance_userUnMatch() {
         // given
-        AccountUser pobi = AccountUser.builder().name("Pobi").build();
-        pobi.setId(12L);
-        AccountUser harry = AccountUser.builder().name("Harry").build();
-        harry.setId(13L);
-
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(Account.builder()
-                        .accountUser(harry)
-                        .balance(0L)
-                        .accountNumber("1000000012").build()));
+        given(accountLookupCache.userExists(anyLong()))
+                .willReturn(true);
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(1L, 13L, AccountStatus.IN_USE)));
 
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.useBalance(
-                        1L, "10000000000", 200L
+                        12L, "10000000000", 200L
                 ));
 
         // then
         assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, accountException.getErrorCode());
+        verify(balanceEngine, never()).useBalance(anyLong(), anyString(), anyLong());
     }
 
     @Test
     @DisplayName("이미 해지된 계좌 - 잔액 사용 실패")
     void useBalance_alreadyUnregistered() {
         // given
-        AccountUser pobi = AccountUser.builder().name("Pobi").build();
-        pobi.setId(12L);
-
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(Account.builder()
-                        .accountUser(pobi)
-                        .accountStatus(AccountStatus.UNREGISTERED)
-                        .balance(0L)
-                        .accountNumber("1000000012").build()));
+        given(accountLookupCache.userExists(anyLong()))
+                .willReturn(true);
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(1L, 12L, AccountStatus.UNREGISTERED)));
 
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.useBalance(
-                        1L, "10000000000", 200L
+                        12L, "10000000000", 200L
                 ));
 
 
         // then
         assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, accountException.getErrorCode());
+        verify(balanceEngine, never()).useBalance(anyLong(), anyString(), anyLong());
     }
 
     @Test
     @DisplayName("거래금액 > 잔액 - 잔액 사용 실패")
     void exceedAmount_UseBalance() {
         // given
-        AccountUser user = AccountUser.builder().name("Pobi").build();
-        user.setId(12L);
-
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
-
-        Account account = Account.builder()
-                .accountUser(user)
-                .accountStatus(AccountStatus.IN_USE)
-                .balance(100L)
-                .accountNumber("1000000012").build();
+        given(accountLookupCache.userExists(anyLong()))
+                .willReturn(true);
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(1L, 12L, AccountStatus.IN_USE)));
 
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
+        given(balanceEngine.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
 
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.useBalance(
-                        1L, "10000000000", 200L
+                        12L, "10000000000", 200L
                 ));
 
         // then
         assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
-    }
-
-    @Test
-    @DisplayName("트랜잭션 실패시 응답 및 데이터 테스트")
-    void saveFailed_UseBalance() {
-        // given
-        AccountUser user = AccountUser.builder().name("Pobi").build();
-        user.setId(12L);
-
-        Account account = Account.builder()
-                .accountUser(user)
-                .accountStatus(AccountStatus.IN_USE)
-                .balance(10000L)
-                .accountNumber("1000000012").build();
-
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
-
-        given(transactionRepository.save(any()))
-                .willReturn(Transaction.builder()
-                        .account(account)
-                        .transactionType(USE)
-                        .transactionResultType(S)
-                        .amount(1000L)
-                        .balanceSnapshot(9000L)
-                        .transactionId("transactionId")
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-                );
-
-        ArgumentCaptor<Transaction> captor =
-                ArgumentCaptor.forClass(Transaction.class);
-
-        // when
-        transactionService.saveFailedUseTransaction(
-                "10000000000",
-                200L
-        );
-
-        // then
-        verify(transactionRepository, times(1))
-                .save(captor.capture());
-        assertEquals(F, captor.getValue().getTransactionResultType());
-        assertEquals(USE, captor.getValue().getTransactionType());
-        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
-        assertEquals(200L, captor.getValue().getAmount());
+        verify(transactionWriter, never()).write(any());
     }
 
     @Test
@@ -279,7 +242,7 @@ class TransactionServiceTest {
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
 
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(
                         Transaction.builder()
                                 .account(account)
@@ -287,13 +250,19 @@ class TransactionServiceTest {
                                 .transactionResultType(S)
                                 .amount(1000L)
                                 .balanceSnapshot(9000L)
-                                .transactionId("transactionId")
+                                .transactionId(TRANSACTION_ID)
                                 .transactedAt(LocalDateTime.now())
                                 .build()
                         )
                 );
 
-        given(transactionRepository.save(any()))
+        given(balanceEngine.cancelBalance(any(), anyLong()))
+                .willAnswer(invocation -> {
+                    account.cancelBalance(invocation.getArgument(1));
+                    return account;
+                });
+
+        given(transactionWriter.write(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
                         .transactionType(CANCEL)
@@ -310,12 +279,12 @@ class TransactionServiceTest {
 
         // when
         TransactionDto transactionDto = transactionService.cancelBalance(
-                "transactionId", "10000000000", 1000L
+                TRANSACTION_ID, "10000000000", 1000L
         );
 
         // then
-        verify(transactionRepository, times(1))
-                .save(captor.capture());
+        verify(transactionWriter, times(1))
+                .write(captor.capture());
         assertEquals(S, captor.getValue().getTransactionResultType());
         assertEquals(CANCEL, captor.getValue().getTransactionType());
         assertEquals(11000L, captor.getValue().getBalanceSnapshot());
@@ -330,14 +299,14 @@ class TransactionServiceTest {
     @DisplayName("해당 계좌 없음 - 잔액 사용 취소 실패")
     void cancelBalance_AccountNotFound() {
         // given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(
                             Transaction.builder()
                                     .transactionType(CANCEL)
                                     .transactionResultType(S)
                                     .amount(1000L)
                                     .balanceSnapshot(9000L)
-                                    .transactionId("transactionId")
+                                    .transactionId(TRANSACTION_ID)
                                     .transactedAt(LocalDateTime.now())
                                     .build()
                         )
@@ -349,7 +318,7 @@ class TransactionServiceTest {
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance(
-                        "transactionId", "10000000000", 200L
+                        TRANSACTION_ID, "10000000000", 200L
                 ));
 
         // then
@@ -360,13 +329,13 @@ class TransactionServiceTest {
     @DisplayName("해당 거래 없음 - 잔액 사용 취소 실패")
     void cancelBalance_TransactionNotFound() {
         // given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance(
-                        "transactionId", "10000000000", 200L
+                        TRANSACTION_ID, "10000000000", 200L
                 ));
 
         // then
@@ -394,7 +363,7 @@ class TransactionServiceTest {
                 .accountNumber("1000000013").build();
         accountNotUse.setId(2L);
 
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(
                                 Transaction.builder()
                                         .account(account)
@@ -402,7 +371,7 @@ class TransactionServiceTest {
                                         .transactionResultType(S)
                                         .amount(1000L)
                                         .balanceSnapshot(9000L)
-                                        .transactionId("transactionId")
+                                        .transactionId(TRANSACTION_ID)
                                         .transactedAt(LocalDateTime.now())
                                         .build()
                         )
@@ -414,7 +383,7 @@ class TransactionServiceTest {
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance(
-                        "transactionId",
+                        TRANSACTION_ID,
                         "10000000000",
                         1000L
                 ));
@@ -437,7 +406,7 @@ class TransactionServiceTest {
                 .accountNumber("1000000012").build();
         account.setId(1L);
 
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(
                                 Transaction.builder()
                                         .account(account)
@@ -445,7 +414,7 @@ class TransactionServiceTest {
                                         .transactionResultType(S)
                                         .amount(2000L)
                                         .balanceSnapshot(9000L)
-                                        .transactionId("transactionId")
+                                        .transactionId(TRANSACTION_ID)
                                         .transactedAt(LocalDateTime.now())
                                         .build()
                         )
@@ -457,7 +426,7 @@ class TransactionServiceTest {
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance(
-                        "transactionId",
+                        TRANSACTION_ID,
                         "10000000000",
                         1000L
                 ));
@@ -480,7 +449,7 @@ class TransactionServiceTest {
                 .accountNumber("1000000012").build();
         account.setId(1L);
 
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findWithAccountByTransactionId(anyString()))
                 .willReturn(Optional.of(
                                 Transaction.builder()
                                         .account(account)
@@ -488,7 +457,7 @@ class TransactionServiceTest {
                                         .transactionResultType(S)
                                         .amount(1000L)
                                         .balanceSnapshot(9000L)
-                                        .transactionId("transactionId")
+                                        .transactionId(TRANSACTION_ID)
                                         .transactedAt(LocalDateTime.now()
                                                 .minusYears(1))
 //                                                .minusYears(1).minusDays(1))
@@ -502,7 +471,7 @@ class TransactionServiceTest {
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.cancelBalance(
-                        "transactionId",
+                        TRANSACTION_ID,
                         "10000000000",
                         1000L
                 ));
@@ -514,39 +483,28 @@ class TransactionServiceTest {
     @Test
     void successQueryTransaction() {
         // given
-        AccountUser user = AccountUser.builder().name("Pobi").build();
-        user.setId(12L);
-
-        Account account = Account.builder()
-                .accountUser(user)
-                .accountStatus(AccountStatus.IN_USE)
-                .balance(10000L)
-                .accountNumber("1000000012").build();
-        account.setId(1L);
-
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findResponseByTransactionId(anyString()))
                 .willReturn(Optional.of(
-                                Transaction.builder()
-                                        .account(account)
+                                QueryTransactionResposce.builder()
+                                        .accountNumber("1000000012")
                                         .transactionType(USE)
                                         .transactionResultType(S)
                                         .amount(2000L)
-                                        .balanceSnapshot(9000L)
-                                        .transactionId("transactionId")
+                                        .transactionId(TRANSACTION_ID)
                                         .transactedAt(LocalDateTime.now())
                                         .build()
                         )
                 );
 
         // when
-        TransactionDto transactionDto =
-                transactionService.queryTranscation("transactionId");
+        QueryTransactionResposce transactionDto =
+                transactionService.queryTranscation(TRANSACTION_ID);
 
         // then
         assertEquals("1000000012", transactionDto.getAccountNumber());
         assertEquals(USE, transactionDto.getTransactionType());
         assertEquals(S, transactionDto.getTransactionResultType());
-        assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals(TRANSACTION_ID, transactionDto.getTransactionId());
         assertEquals(2000L, transactionDto.getAmount());
     }
 
@@ -554,14 +512,194 @@ class TransactionServiceTest {
     @DisplayName("원거래 없음 - 거래 조회 실패")
     void queryTransaction_TransactionNotFound() {
         // given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findResponseByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.queryTranscation(TRANSACTION_ID));
+
+        // then
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("거래 id 형식 아님 - 조회하지 않고 거래 조회 실패")
+    void queryTransaction_InvalidTransactionId() {
+        // given
         // when
         AccountException accountException = assertThrows(AccountException.class,
                 () -> transactionService.queryTranscation("transactionId"));
 
         // then
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, accountException.getErrorCode());
+        verify(transactionRepository, never()).findResponseByTransactionId(anyString());
+    }
+
+    @Test
+    @DisplayName("같은 계좌 일괄 사용 - 건별 성공/실패")
+    void successUseBalanceGroup() {
+        // given
+        AccountUser user = AccountUser.builder().name("Pobi").build();
+        user.setId(12L);
+        given(accountUserRepository.findAllById(anySet()))
+                .willReturn(List.of(user));
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(1000L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.findForUpdateByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(balanceEngine.useLockedBalance(any(), anyLong()))
+                .willCallRealMethod();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> captor =
+                ArgumentCaptor.forClass(List.class);
+
+        // when
+        List<TransactionDto> results = transactionService.useBalanceGroup(
+                "1000000012",
+                List.of(
+                        new UseBalance.Request(12L, "1000000012", 300L),
+                        new UseBalance.Request(12L, "1000000012", 900L),
+                        new UseBalance.Request(99L, "1000000012", 100L),
+                        new UseBalance.Request(12L, "1000000012", 700L)
+                ));
+
+        // then
+        verify(transactionWriter, times(1)).writeAll(captor.capture());
+        verify(transactionWriter, never()).write(any());
+        List<Transaction> transactions = captor.getValue();
+        assertEquals(4, transactions.size());
+        assertEquals(700L, transactions.get(0).getBalanceSnapshot());
+        assertEquals(F, transactions.get(1).getTransactionResultType());
+        assertEquals(700L, transactions.get(1).getBalanceSnapshot());
+        assertEquals(F, transactions.get(2).getTransactionResultType());
+        assertEquals(0L, transactions.get(3).getBalanceSnapshot());
+        assertEquals(0L, account.getBalance());
+
+        assertEquals(S, results.get(0).getTransactionResultType());
+        assertNull(results.get(0).getErrorCode());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals(ErrorCode.USER_NOT_FOUND, results.get(2).getErrorCode());
+        assertEquals(S, results.get(3).getTransactionResultType());
+    }
+
+    @Test
+    @DisplayName("해당 계좌 없음 - 일괄 사용 실패")
+    void useBalanceGroup_AccountNotFound() {
+        // given
+        given(accountRepository.findForUpdateByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalanceGroup("1000000012",
+                        List.of(new UseBalance.Request(12L, "1000000012", 300L))));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+        verify(transactionWriter, never()).writeAll(anyList());
+    }
+
+    @Test
+    @DisplayName("거래 내역 조회 - 다음 페이지 있음")
+    void successGetTransactionHistory() {
+        // given
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(7L, 12L, AccountStatus.IN_USE)));
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        given(transactionRepository.findHistory(
+                anyLong(), any(), anyLong(), any(), any(), any()))
+                .willReturn(List.of(
+                        summary(30L, now),
+                        summary(20L, now.minusSeconds(1)),
+                        summary(10L, now.minusSeconds(2))
+                ));
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // when
+        TransactionHistory.Response response = transactionService.getTransactionHistory(
+                "1000000012", USE, null, null, 2);
+
+        // then
+        verify(transactionRepository).findHistory(
+                eq(7L), any(), eq(Long.MAX_VALUE), eq(USE), isNull(), pageableCaptor.capture());
+        assertEquals(3, pageableCaptor.getValue().getPageSize());
+        assertEquals(2, response.getTransactions().size());
+        assertEquals("1000000012", response.getAccountNumber());
+
+        // 다음 페이지는 마지막으로 받은 거래 다음부터
+        transactionService.getTransactionHistory(
+                "1000000012", USE, null, response.getNextCursor(), 2);
+        verify(transactionRepository).findHistory(
+                eq(7L), eq(now.minusSeconds(1)), eq(20L), eq(USE), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("거래 내역 조회 - 마지막 페이지")
+    void getTransactionHistory_LastPage() {
+        // given
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(7L, 12L, AccountStatus.IN_USE)));
+        given(transactionRepository.findHistory(
+                anyLong(), any(), anyLong(), any(), any(), any()))
+                .willReturn(List.of(summary(10L, LocalDateTime.now())));
+
+        // when
+        TransactionHistory.Response response = transactionService.getTransactionHistory(
+                "1000000012", null, null, null, 20);
+
+        // then
+        assertEquals(1, response.getTransactions().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("잘못된 cursor - 거래 내역 조회 실패")
+    void getTransactionHistory_InvalidCursor() {
+        // given
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.of(new AccountSnapshot(7L, 12L, AccountStatus.IN_USE)));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory(
+                        "1000000012", null, null, "not-a-cursor", 20));
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, accountException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("해당 계좌 없음 - 거래 내역 조회 실패")
+    void getTransactionHistory_AccountNotFound() {
+        // given
+        given(accountLookupCache.getAccount(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory(
+                        "1000000012", null, null, null, 20));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    private static TransactionSummary summary(Long id, LocalDateTime transactedAt) {
+        return TransactionSummary.builder()
+                .id(id)
+                .transactionId("transactionId" + id)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactedAt(transactedAt)
+                .build();
     }
-}
\ No newline at end of file
+}